@@ -0,0 +1,54 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Compares the AST interpreter with the bytecode interpreter on the same
+ * function bodies.
+ */
+public class InterpreterTierBenchmark extends TruffleBenchmark {
+  private static final String PROGRAM = """
+    def fib(n) {
+        if n < 2 {
+            return 1
+        }
+        return fib(n - 1) + fib(n - 2)
+    }
+
+    def loop(n) {
+        var sum = 0
+        iter var i = 0; i < n; i++ {
+            if i % 3 == 0 {
+                continue
+            }
+            sum = sum + i * 2
+        }
+        return sum
+    }
+    """;
+
+  @Param({"false", "true"})
+  public boolean bytecode;
+
+  @Override
+  public void setup() {
+    context = Context.newBuilder("blade")
+      .allowExperimentalOptions(true)
+      .option("blade.Bytecode", String.valueOf(bytecode))
+      .build();
+
+    context.eval("blade", PROGRAM);
+  }
+
+  @Benchmark
+  public int fibonacci() {
+    return context.eval("blade", "fib(20)").asInt();
+  }
+
+  @Benchmark
+  public long loop() {
+    return context.eval("blade", "loop(10000)").asLong();
+  }
+}
@@ -0,0 +1,75 @@
+package org.blade;
+
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs a script on a {@link BladeServer}. The client starts no engine; it
+ * forwards its working directory, arguments and standard input and copies
+ * what the server sends back to its own standard streams.
+ */
+public final class BladeClient {
+  private BladeClient() {
+  }
+
+  /**
+   * @return the exit status of the script
+   */
+  public static int run(Path socket, List<String> arguments) throws IOException {
+    try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+      DataOutputStream request = new DataOutputStream(new BufferedOutputStream(BladeServer.outputStream(channel)));
+      DataInputStream response = new DataInputStream(new BufferedInputStream(BladeServer.inputStream(channel)));
+
+      request.writeUTF(Path.of("").toAbsolutePath().toString());
+      request.writeInt(arguments.size());
+      for (String argument : arguments) {
+        request.writeUTF(argument);
+      }
+      request.flush();
+
+      Thread input = new Thread(() -> forwardInput(request), "blade-client-input");
+      input.setDaemon(true);
+      input.start();
+
+      byte[] buffer = new byte[8192];
+      while (true) {
+        byte kind = response.readByte();
+        if (kind == BladeServer.EXIT) {
+          System.out.flush();
+          return response.readInt();
+        }
+
+        PrintStream target = kind == BladeServer.STDERR ? System.err : System.out;
+        int remaining = response.readInt();
+        while (remaining > 0) {
+          int count = response.read(buffer, 0, Math.min(buffer.length, remaining));
+          if (count < 0) {
+            throw new EOFException();
+          }
+          target.write(buffer, 0, count);
+          remaining -= count;
+        }
+        target.flush();
+      }
+    }
+  }
+
+  private static void forwardInput(DataOutputStream request) {
+    byte[] buffer = new byte[8192];
+    try {
+      int count;
+      while ((count = System.in.read(buffer)) > 0) {
+        request.writeInt(count);
+        request.write(buffer, 0, count);
+        request.flush();
+      }
+      request.writeInt(0);
+      request.flush();
+    } catch (IOException e) {
+      // the script has ended and the server closed the connection
+    }
+  }
+}
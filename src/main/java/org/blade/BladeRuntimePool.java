@@ -0,0 +1,274 @@
+package org.blade;
+
+import org.blade.language.BladeLanguage;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A pool of ready-to-use Blade contexts for services that embed the language.
+ * <p>
+ * Every context of the pool belongs to one {@link Engine}, so code is parsed,
+ * translated and compiled once and stays warm for the lifetime of the pool.
+ * Each context has already evaluated the setup source and resolved the entry
+ * points, so a request only pays for calling them.
+ * <p>
+ * A context is used by one request at a time. When it is released, it is
+ * closed and a fresh context is prepared in the background, so no global
+ * state leaks from one request to the next while the compiled code is
+ * reused. Contexts are prepared on several threads; a context whose
+ * preparation failed is prepared again by the next request that finds
+ * none ready.
+ *
+ * <pre>{@code
+ * try (BladeRuntimePool pool = new BladeRuntimePool(setup, 4, "handle")) {
+ *   long result = pool.run(lease -> lease.entryPoint("handle").execute(42).asLong());
+ * }
+ * }</pre>
+ */
+public final class BladeRuntimePool implements AutoCloseable {
+  private final Engine engine;
+  private final Source setup;
+  private final String[] entryPoints;
+  private final BlockingQueue<Lease> ready;
+  private final List<Lease> leases = Collections.synchronizedList(new ArrayList<>());
+  private final ExecutorService preparer;
+  // contexts whose preparation failed and that are not yet replaced
+  private final AtomicInteger missing = new AtomicInteger();
+
+  private volatile boolean closed;
+
+  /**
+   * @param setup       evaluated once in every context, usually to declare
+   *                    the entry points
+   * @param size        the number of contexts kept ready
+   * @param entryPoints the names of the globals resolved in every context
+   */
+  public BladeRuntimePool(Source setup, int size, String... entryPoints) {
+    this(Map.of(), setup, size, entryPoints);
+  }
+
+  /**
+   * @param options language and engine options, e.g.
+   *                <code>blade.Assertions=false</code>
+   */
+  public BladeRuntimePool(Map<String, String> options, Source setup, int size, String... entryPoints) {
+    this(options, setup, size, Math.min(size, Runtime.getRuntime().availableProcessors()), entryPoints);
+  }
+
+  /**
+   * @param preparers the number of threads that close released contexts
+   *                  and prepare their replacements
+   */
+  public BladeRuntimePool(Map<String, String> options, Source setup, int size, int preparers, String... entryPoints) {
+    if (size < 1) {
+      throw new IllegalArgumentException("A pool needs at least one context");
+    } else if (preparers < 1) {
+      throw new IllegalArgumentException("A pool needs at least one preparer");
+    }
+
+    this.engine = Engine.newBuilder(BladeLanguage.ID)
+      .allowExperimentalOptions(true)
+      .options(options)
+      .build();
+    this.setup = setup;
+    this.entryPoints = entryPoints.clone();
+    this.ready = new ArrayBlockingQueue<>(size);
+    this.preparer = Executors.newFixedThreadPool(preparers, runnable -> {
+      Thread thread = new Thread(runnable, "blade-pool");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    List<Future<Lease>> initial = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      initial.add(preparer.submit(this::prepare));
+    }
+
+    try {
+      for (Future<Lease> lease : initial) {
+        ready.add(lease.get());
+      }
+    } catch (ExecutionException e) {
+      close();
+      throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      close();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while preparing the pool", e);
+    }
+  }
+
+  /**
+   * Take a context from the pool, waiting until one is ready. The lease
+   * must be closed to return its context.
+   */
+  public Lease acquire() throws InterruptedException {
+    while (true) {
+      if (closed) {
+        throw new IllegalStateException("The pool is closed");
+      }
+
+      Lease lease = ready.poll();
+      if (lease != null) {
+        return lease;
+      }
+
+      // replace a context that failed to prepare on this thread, so that
+      // the failure is reported to the caller and the pool recovers once
+      // preparing succeeds again
+      if (missing.getAndUpdate(count -> Math.max(count - 1, 0)) > 0) {
+        try {
+          return prepare();
+        } catch (RuntimeException e) {
+          missing.incrementAndGet();
+          throw e;
+        }
+      }
+
+      lease = ready.poll(100, TimeUnit.MILLISECONDS);
+      if (lease != null) {
+        return lease;
+      }
+    }
+  }
+
+  /**
+   * Run an action with a leased context and release it afterwards.
+   */
+  public <T> T run(Function<Lease, T> action) throws InterruptedException {
+    try (Lease lease = acquire()) {
+      return action.apply(lease);
+    }
+  }
+
+  public Engine getEngine() {
+    return engine;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    preparer.shutdownNow();
+    try {
+      preparer.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    synchronized (leases) {
+      for (Lease lease : leases) {
+        lease.context.close(true);
+      }
+      leases.clear();
+    }
+    ready.clear();
+    engine.close();
+  }
+
+  private Lease prepare() {
+    Context context = Context.newBuilder(BladeLanguage.ID)
+      .engine(engine)
+      .build();
+
+    try {
+      context.eval(setup);
+
+      Value bindings = context.getBindings(BladeLanguage.ID);
+      Map<String, Value> resolved = new HashMap<>();
+      for (String name : entryPoints) {
+        Value value = bindings.getMember(name);
+        if (value == null) {
+          throw new IllegalArgumentException("Entry point '" + name + "' is not defined by " + setup.getName());
+        }
+        resolved.put(name, value);
+      }
+
+      Lease lease = new Lease(context, resolved);
+      leases.add(lease);
+      return lease;
+    } catch (RuntimeException e) {
+      context.close(true);
+      throw e;
+    }
+  }
+
+  private void release(Lease lease) {
+    try {
+      preparer.execute(() -> {
+        lease.context.close(true);
+        leases.remove(lease);
+        if (closed) {
+          return;
+        }
+
+        try {
+          ready.add(prepare());
+        } catch (RuntimeException e) {
+          if (!closed) {
+            missing.incrementAndGet();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the pool is closed and closes the context itself
+    }
+  }
+
+  /**
+   * A context taken from the pool. Values obtained from it must not be used
+   * after it is closed.
+   */
+  public final class Lease implements AutoCloseable {
+    private final Context context;
+    private final Map<String, Value> entryPoints;
+    private boolean released;
+
+    private Lease(Context context, Map<String, Value> entryPoints) {
+      this.context = context;
+      this.entryPoints = entryPoints;
+    }
+
+    /**
+     * Returns a global resolved when the context was prepared.
+     *
+     * @throws IllegalArgumentException if the pool was not created with it
+     */
+    public Value entryPoint(String name) {
+      Value value = entryPoints.get(name);
+      if (value == null) {
+        throw new IllegalArgumentException("'" + name + "' is not an entry point of this pool");
+      }
+      return value;
+    }
+
+    public Context getContext() {
+      return context;
+    }
+
+    @Override
+    public void close() {
+      if (!released) {
+        released = true;
+        release(this);
+      }
+    }
+  }
+}
@@ -0,0 +1,286 @@
+package org.blade;
+
+import org.blade.language.BladeLanguage;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+
+import jdk.net.ExtendedSocketOptions;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs scripts sent by {@link BladeClient} on a long-lived engine, so that a
+ * script run through the server pays neither JVM startup nor warm-up. Every
+ * run gets a new context with the client's working directory, arguments and
+ * standard streams, while parsed sources, translated modules and compiled
+ * code stay cached in the shared engine.
+ * <p>
+ * A client connects to a Unix domain socket and sends its working directory
+ * and arguments, the first of which is the script path. Its standard input
+ * follows in frames of a length and as many bytes; an empty frame ends it.
+ * The server answers with frames of a kind, a length and as many bytes,
+ * for standard output and standard error, and ends with the exit status.
+ * <p>
+ * Scripts run with the access of the launcher's user, so only that user may
+ * connect: the socket and any directory created for it are private to the
+ * owner, and clients of another user are turned away where the platform
+ * reports the peer of a connection.
+ */
+public final class BladeServer {
+  static final byte STDOUT = 1;
+  static final byte STDERR = 2;
+  static final byte EXIT = 3;
+
+  private static final Set<PosixFilePermission> OWNER_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+  private static final Set<PosixFilePermission> OWNER_SOCKET = PosixFilePermissions.fromString("rw-------");
+
+  private BladeServer() {
+  }
+
+  public static Path defaultSocket() {
+    return Path.of(System.getProperty("user.home"), ".cache", "blade", "server.sock");
+  }
+
+  /**
+   * Serve clients until the process is stopped.
+   *
+   * @param options engine and language options shared by every run
+   */
+  public static void serve(Path socket, Map<String, String> options) throws IOException {
+    boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    Path directory = socket.toAbsolutePath().getParent();
+    if (posix && !Files.isDirectory(directory)) {
+      Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_DIRECTORY));
+      Files.setPosixFilePermissions(directory, OWNER_DIRECTORY);
+    } else {
+      Files.createDirectories(directory);
+    }
+    Files.deleteIfExists(socket);
+
+    try (
+      Engine engine = Engine.newBuilder(BladeLanguage.ID)
+        .allowExperimentalOptions(true)
+        .options(options)
+        .build();
+      ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+      ExecutorService runs = Executors.newVirtualThreadPerTaskExecutor()
+    ) {
+      server.bind(UnixDomainSocketAddress.of(socket));
+      socket.toFile().deleteOnExit();
+      if (posix) {
+        Files.setPosixFilePermissions(socket, OWNER_SOCKET);
+      }
+      // the socket was just created by this process, so it has its user
+      UserPrincipal owner = Files.getOwner(socket);
+      System.err.println("(Blade): serving on " + socket);
+
+      while (true) {
+        SocketChannel client = server.accept();
+        if (isOwner(client, owner)) {
+          runs.execute(() -> serveClient(engine, client));
+        } else {
+          client.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * Clients that connected before the socket was made private are rejected
+   * by their credentials, where the platform provides them.
+   */
+  private static boolean isOwner(SocketChannel client, UserPrincipal owner) {
+    try {
+      return client.getOption(ExtendedSocketOptions.SO_PEERCRED).user().equals(owner);
+    } catch (UnsupportedOperationException | IOException e) {
+      return true;
+    }
+  }
+
+  private static void serveClient(Engine engine, SocketChannel client) {
+    try (client) {
+      DataInputStream request = new DataInputStream(new BufferedInputStream(inputStream(client)));
+      DataOutputStream response = new DataOutputStream(outputStream(client));
+
+      Path cwd = Path.of(request.readUTF());
+      String[] arguments = new String[request.readInt()];
+      for (int i = 0; i < arguments.length; i++) {
+        arguments[i] = request.readUTF();
+      }
+
+      PrintStream out = new PrintStream(new FrameOutputStream(response, STDOUT), false);
+      PrintStream err = new PrintStream(new FrameOutputStream(response, STDERR), true);
+      int status = run(engine, cwd, arguments, new FrameInputStream(request), out, err);
+
+      out.flush();
+      synchronized (response) {
+        response.writeByte(EXIT);
+        response.writeInt(status);
+        response.flush();
+      }
+    } catch (IOException e) {
+      // the client went away; nothing is left to report to
+    }
+  }
+
+  private static int run(Engine engine, Path cwd, String[] arguments, InputStream in, PrintStream out, PrintStream err) {
+    if (arguments.length == 0) {
+      err.println("(Blade): no script given");
+      return 1;
+    }
+
+    Source source;
+    try {
+      source = Source.newBuilder(BladeLanguage.ID, cwd.resolve(arguments[0]).toFile()).build();
+    } catch (NoSuchFileException e) {
+      err.printf("""
+          (Blade):
+            Launch aborted for %s
+            Reason: No such file or directory%n""", arguments[0]);
+      return 1;
+    } catch (IOException e) {
+      err.println(e.getMessage());
+      return 1;
+    }
+
+    try (
+      Context context = Main.scriptAccess(Context.newBuilder(BladeLanguage.ID))
+        .engine(engine)
+        .in(in)
+        .out(out)
+        .err(err)
+        .currentWorkingDirectory(cwd)
+        .arguments(BladeLanguage.ID, arguments)
+        .build()
+    ) {
+      return Main.runSource(context, source, false, out, err);
+    }
+  }
+
+  static InputStream inputStream(SocketChannel channel) {
+    // Channels.newInputStream would serialize reads with the writes of
+    // the other direction, so the channel is read directly
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+      }
+
+      @Override
+      public int read(byte[] bytes, int offset, int length) throws IOException {
+        return length == 0 ? 0 : channel.read(ByteBuffer.wrap(bytes, offset, length));
+      }
+    };
+  }
+
+  static OutputStream outputStream(SocketChannel channel) {
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] bytes, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    };
+  }
+
+  /**
+   * Writes everything as frames of one kind. Standard output and standard
+   * error share the connection, so frames are written whole.
+   */
+  private static final class FrameOutputStream extends OutputStream {
+    private final DataOutputStream sink;
+    private final byte kind;
+
+    FrameOutputStream(DataOutputStream sink, byte kind) {
+      this.sink = sink;
+      this.kind = kind;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return;
+      }
+      synchronized (sink) {
+        sink.writeByte(kind);
+        sink.writeInt(length);
+        sink.write(bytes, offset, length);
+        sink.flush();
+      }
+    }
+  }
+
+  /**
+   * Reads the standard input frames of a client. Frames are only read when
+   * the script reads its input.
+   */
+  private static final class FrameInputStream extends InputStream {
+    private final DataInputStream source;
+    private int remaining;
+    private boolean ended;
+
+    FrameInputStream(DataInputStream source) {
+      this.source = source;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+
+      while (remaining == 0) {
+        if (ended) {
+          return -1;
+        }
+        remaining = source.readInt();
+        ended = remaining == 0;
+      }
+
+      int count = source.read(bytes, offset, Math.min(length, remaining));
+      if (count < 0) {
+        ended = true;
+        remaining = 0;
+        return -1;
+      }
+      remaining -= count;
+      return count;
+    }
+  }
+}
@@ -1,11 +1,15 @@
 package org.blade;
 
 import org.graalvm.polyglot.*;
+import org.graalvm.polyglot.io.IOAccess;
 import org.blade.language.BladeLanguage;
 
 import java.io.*;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Main {
@@ -13,23 +17,47 @@ public class Main {
 //    System.out.println(ProcessHandle.current().pid());
 
     Map<String, String> options = new HashMap<>();
-    String file = null;
+    List<String> arguments = new ArrayList<>();
     for (String arg : args) {
       if (!parseOption(options, arg)) {
-        if (file == null) {
-          file = arg;
-        }
+        arguments.add(arg);
       }
     }
+    String file = arguments.isEmpty() ? null : arguments.get(0);
+
+    // --server keeps a warm engine running for clients started with --connect
+    String server = options.remove("server");
+    String connect = options.remove("connect");
+    if (server != null) {
+      options.putIfAbsent(
+        BladeLanguage.ID + ".ParseCache",
+        Path.of(System.getProperty("user.home"), ".cache", "blade").toString()
+      );
+      BladeServer.serve(socketPath(server), options);
+      return;
+    } else if (connect != null) {
+      System.exit(BladeClient.run(socketPath(connect), arguments));
+    }
+
+    // the REPL should show output as soon as a line is complete
+    if (file == null) {
+      options.putIfAbsent(BladeLanguage.ID + ".Interactive", "true");
+    } else {
+      // skip lexing and parsing of unchanged files on later runs
+      options.putIfAbsent(
+        BladeLanguage.ID + ".ParseCache",
+        Path.of(System.getProperty("user.home"), ".cache", "blade").toString()
+      );
+    }
 
     try(
-      Context defaultContext = Context.newBuilder(BladeLanguage.ID)
+      Context defaultContext = scriptAccess(Context.newBuilder(BladeLanguage.ID))
         .in(System.in)
         .out(System.out)
         .err(System.err)
         .allowExperimentalOptions(true)
-        .allowAllAccess(true)
         .options(options)
+        .arguments(BladeLanguage.ID, arguments.toArray(new String[0]))
 //        .logHandler(new OutputStream(){
 //          @Override
 //          public void write(int b) throws IOException {
@@ -65,6 +93,17 @@ public class Main {
     }
   }
 
+  /**
+   * Grants what a script run by the launcher may use: files, threads and
+   * workers. Host classes, native access, processes and other languages
+   * stay closed.
+   */
+  static Context.Builder scriptAccess(Context.Builder builder) {
+    return builder
+      .allowIO(IOAccess.ALL)
+      .allowCreateThread(true);
+  }
+
   private static Source getSource(String path) throws IOException {
     return Source.newBuilder(BladeLanguage.ID, new File(path)).build();
   }
@@ -74,33 +113,43 @@ public class Main {
   }
 
   private static int runSource(Context context, Source source, boolean isRepl) {
+    return runSource(context, source, isRepl, System.out, System.err);
+  }
+
+  static int runSource(Context context, Source source, boolean isRepl, PrintStream out, PrintStream err) {
     try {
       try {
         Value value = context.eval(source);
         if (isRepl) {
           if(value.isString()) {
-            System.out.println("'" + value.asString() + "'");
+            out.println("'" + value.asString() + "'");
           } else {
-            System.out.println(value);
+            out.println(value);
           }
         }
 
         return 0;
       } catch (PolyglotException e) {
-        if (e.isInternalError()) {
+        if (e.isExit()) {
+          return e.getExitStatus();
+        } else if (e.isInternalError()) {
 //           for internal errors we print the full stack trace
-          e.printStackTrace();
+          e.printStackTrace(err);
         } else {
-          printStackTrace(e.getMessage(), e.getStackTrace());
+          printStackTrace(err, e.getMessage(), e.getStackTrace());
         }
       }
     } catch (IllegalArgumentException e) {
-      System.err.println(e.getMessage());
+      err.println(e.getMessage());
     }
 
     return 1;
   }
 
+  private static Path socketPath(String value) {
+    return value.equals("true") ? BladeServer.defaultSocket() : Path.of(value);
+  }
+
   private static boolean parseOption(Map<String, String> options, String arg) {
     if (arg.length() <= 2 || !arg.startsWith("--")) {
       return false;
@@ -128,8 +177,8 @@ public class Main {
     return true;
   }
 
-  private static void printStackTrace(String message, StackTraceElement[] elements) {
-    System.err.println(message);
+  private static void printStackTrace(PrintStream err, String message, StackTraceElement[] elements) {
+    err.println(message);
     for (StackTraceElement element : elements) {
       if(element.getClassName().equals("<" + BladeLanguage.ID+ ">")) {
         String fileName = element.getFileName();
@@ -139,7 +188,7 @@ public class Main {
         }
         int lineNo = element.getLineNumber();
 
-        System.err.println("\tat "+fileName+":"+lineNo+" -> "+funcName+"()");
+        err.println("\tat "+fileName+":"+lineNo+" -> "+funcName+"()");
       }
     }
   }
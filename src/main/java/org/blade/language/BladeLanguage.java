@@ -2,6 +2,8 @@ package org.blade.language;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Option;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Bind;
@@ -20,6 +22,8 @@ import org.blade.language.builtins.*;
 import org.blade.language.builtins.ListMethods;
 import org.blade.language.builtins.ObjectMethods;
 import org.blade.language.nodes.NBlockRootNode;
+import org.blade.language.nodes.NGlobalScopeObjectNode;
+import org.blade.language.nodes.NScriptRootNode;
 import org.blade.language.nodes.expressions.NSetPropertyNodeGen;
 import org.blade.language.nodes.functions.NBuiltinFunctionNode;
 import org.blade.language.nodes.functions.NFunctionRootNode;
@@ -28,6 +32,7 @@ import org.blade.language.nodes.literals.NSelfLiteralNode;
 import org.blade.language.nodes.statements.NBlockStmtNode;
 import org.blade.language.nodes.statements.NExprStmtNode;
 import org.blade.language.nodes.string.NStringLiteralNode;
+import org.blade.language.parser.AstCache;
 import org.blade.language.parser.Lexer;
 import org.blade.language.parser.Parser;
 import org.blade.language.parser.ast.Stmt;
@@ -35,12 +40,19 @@ import org.blade.language.runtime.*;
 import org.blade.language.shared.BuiltinClassesModel;
 import org.blade.language.shared.ErrorsModel;
 import org.blade.language.translator.BladeTranslator;
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionDescriptors;
+import org.graalvm.options.OptionKey;
+import org.graalvm.options.OptionStability;
+import org.graalvm.options.OptionValues;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @TruffleLanguage.Registration(
   id = BladeLanguage.ID,
@@ -61,7 +73,25 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
   public static final String MIME_TYPE = "application/x-blade-lang";
   public final static TruffleString.Encoding ENCODING = TruffleString.Encoding.UTF_8;
   private static final LanguageReference<BladeLanguage> REFERENCE = LanguageReference.create(BladeLanguage.class);
-  private final Assumption assumption = Truffle.getRuntime().createAssumption("Single Blade context.");
+  // values of a context may only be cached in nodes while this holds
+  public final Assumption singleContext = Truffle.getRuntime().createAssumption("Single Blade context.");
+  // shared runtime structures only take locks once a second thread has started
+  public final Assumption singleThreaded = Truffle.getRuntime().createAssumption("Single Blade thread.");
+
+  @Option(help = "Flush the output on every newline instead of when the buffer is full.", category = OptionCategory.USER, stability = OptionStability.STABLE)
+  public static final OptionKey<Boolean> Interactive = new OptionKey<>(false);
+
+  @Option(help = "Directory in which parsed source files are cached. Caching is disabled when empty.", category = OptionCategory.USER, stability = OptionStability.STABLE)
+  public static final OptionKey<String> ParseCache = new OptionKey<>("");
+
+  @Option(help = "Run function bodies on the bytecode interpreter when they only use constructs it supports.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)
+  public static final OptionKey<Boolean> Bytecode = new OptionKey<>(false);
+
+  @Option(help = "Check assert statements. When disabled they are dropped during translation.", category = OptionCategory.USER, stability = OptionStability.STABLE)
+  public static final OptionKey<Boolean> Assertions = new OptionKey<>(true);
+
+  @Option(help = "Library files, separated by the path separator, evaluated before any script. A native image evaluates them at build time.", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL)
+  public static final OptionKey<String> Preload = new OptionKey<>("");
 
   // Shapes
   public final Shape rootShape = Shape.newBuilder().build();
@@ -70,11 +100,38 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
   private final BObject objectClass = new BObject(rootShape);
   private final BladeClass functionClass = new BladeClass(rootShape, "Function", objectClass);
   public final BuiltinClassesModel builtinObjects = createBuiltinClasses();
+  // builtins are described once and translated on their first call; the
+  // function objects and their call targets are shared by every context
+  private final Map<Class<? extends BaseBuiltinDeclaration>, List<BuiltinDescriptor>> builtinDescriptors = new ConcurrentHashMap<>();
+  private final Map<NodeFactory<?>, CallTarget> builtinTargets = new ConcurrentHashMap<>();
+  private CallTarget emptyTarget;
+  // valid while no scope of any context has rebound the builtin function of
+  // the name; calls that read the builtin from a global embed it under this
+  private final Map<String, Assumption> builtinBindings = new ConcurrentHashMap<>();
+  // modules
+  private final AtomicInteger moduleIds = new AtomicInteger();
+  private final Map<String, CachedModule> moduleCache = new ConcurrentHashMap<>();
+
+  public record CachedModule(int id, CallTarget callTarget) {
+  }
+
+  private record BuiltinDescriptor(String name, FunctionObject function) {
+  }
 
   public static BladeLanguage get(Node node) {
     return REFERENCE.get(node);
   }
 
+  /**
+   * Returns the assumption that no global of any context has been rebound
+   * from the builtin function of the given name, or null when no builtin
+   * function has that name.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public Assumption builtinBinding(String name) {
+    return builtinBindings.get(name);
+  }
+
   private Shape createShape(Class<? extends BladeObject> layout) {
     return Shape.newBuilder()
       .allowImplicitCastIntToLong(true)
@@ -82,24 +139,27 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
       .build();
   }
 
+  @Override
+  protected OptionDescriptors getOptionDescriptors() {
+    return new BladeLanguageOptionDescriptors();
+  }
+
+  @Override
+  protected boolean areOptionsCompatible(OptionValues firstOptions, OptionValues newOptions) {
+    // translated code is shared by every context of the engine
+    return firstOptions.get(Bytecode).equals(newOptions.get(Bytecode))
+      && firstOptions.get(Assertions).equals(newOptions.get(Assertions));
+  }
+
   @Override
   protected BladeContext createContext(Env env) {
     DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+    initializeBuiltinClasses(objectLibrary);
     return new BladeContext(
       env,
       createGlobalScope(objectLibrary),
       builtinObjects,
-      new FunctionObject(
-        rootShape,
-        functionClass,
-        "<>",
-        new NBlockRootNode(
-          this,
-          FrameDescriptor.newBuilder().build(),
-          new NBlockStmtNode(Collections.emptyList()),
-          "@new"
-        ).getCallTarget(),
-        0)
+      new FunctionObject(rootShape, functionClass, "<>", emptyTarget, 0)
     );
   }
 
@@ -111,52 +171,57 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
       functionClass,
       new BladeClass(rootShape, "List", objectClass),
       new BladeClass(rootShape, "String", objectClass),
+      new BladeClass(rootShape, "Bytes", objectClass),
+      new BladeClass(rootShape, "LineIterator", objectClass),
       createErrorsModel()
     );
   }
 
   private ErrorsModel createErrorsModel() {
+    BladeClass errorClass = new BladeClass(rootShape, "Error", objectClass);
+
     return new ErrorsModel(
-      new BladeClass(rootShape, "Error", objectClass),
-      new BladeClass(rootShape, "TypeError", objectClass),
-      new BladeClass(rootShape, "ArgumentError", objectClass),
-      new BladeClass(rootShape, "ValueError", objectClass)
+      errorClass,
+      new BladeClass(rootShape, "TypeError", errorClass),
+      new BladeClass(rootShape, "ArgumentError", errorClass),
+      new BladeClass(rootShape, "ValueError", errorClass)
     );
   }
 
-  private DynamicObject createGlobalScope(DynamicObjectLibrary objectLibrary) {
-
-
-    GlobalScopeObject globalScope = new GlobalScopeObject(rootShape);
-
-    // built-in functions
-    BuiltinDeclarationAccessor.get(BuiltinFunctions.class).forEach((factory) -> {
-      defineBuiltinFunction(objectLibrary, globalScope, factory.key(), factory.value(), factory.regulator());
-    });
+  /**
+   * Define the methods of the builtin classes. The classes belong to the
+   * language rather than to a context, so this only happens for the first
+   * context; defining them again would replace constants that compiled code
+   * has already folded.
+   */
+  private synchronized void initializeBuiltinClasses(DynamicObjectLibrary objectLibrary) {
+    if (emptyTarget != null) {
+      return;
+    }
 
     // Object class
-    BuiltinDeclarationAccessor.get(ObjectMethods.class).forEach((factory) -> {
-      defineBuiltinMethod(objectLibrary, objectClass, factory.key(), factory.value());
-    });
+    for (BuiltinDescriptor method : describeBuiltins(ObjectMethods.class, false)) {
+      defineBuiltinMethod(objectLibrary, objectClass, method);
+    }
 
     // List class
-    BuiltinDeclarationAccessor.get(ListMethods.class).forEach((factory) -> {
-      defineBuiltinMethod(objectLibrary, builtinObjects.listObject, factory.key(), factory.value());
-    });
+    for (BuiltinDescriptor method : describeBuiltins(ListMethods.class, false)) {
+      defineBuiltinMethod(objectLibrary, builtinObjects.listObject, method);
+    }
 
     // String class
-    BuiltinDeclarationAccessor.get(StringMethods.class).forEach((factory) -> {
-      defineBuiltinMethod(objectLibrary, builtinObjects.stringObject, factory.key(), factory.value());
-    });
+    for (BuiltinDescriptor method : describeBuiltins(StringMethods.class, false)) {
+      defineBuiltinMethod(objectLibrary, builtinObjects.stringObject, method);
+    }
 
-    // global classes
-    objectLibrary.putConstant(globalScope, "Object", objectClass, 0);
-    objectLibrary.putConstant(globalScope, "String", builtinObjects.stringObject, 0);
-    objectLibrary.putConstant(globalScope, "List", builtinObjects.listObject, 0);
+    // Bytes class
+    for (BuiltinDescriptor method : describeBuiltins(BytesMethods.class, false)) {
+      defineBuiltinMethod(objectLibrary, builtinObjects.bytesObject, method);
+    }
 
-    // add all built-in class prototypes to the global scope
-    for (Map.Entry<String, BladeClass> entry : builtinObjects.builtinClasses.entrySet()) {
-      objectLibrary.putConstant(globalScope, entry.getKey(), entry.getValue(), 0);
+    // LineIterator class
+    for (BuiltinDescriptor method : describeBuiltins(LineIteratorMethods.class, false)) {
+      defineBuiltinMethod(objectLibrary, builtinObjects.lineIteratorObject, method);
     }
 
     // add a constructor to all Error types
@@ -167,7 +232,7 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
           rootShape,
           functionClass,
           entry.getKey(),
-          new NBlockRootNode(
+          new LazyCallTarget(() -> new NBlockRootNode(
             this,
             FrameDescriptor.newBuilder().build(),
             new NBlockStmtNode(List.of(
@@ -185,72 +250,164 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
               ))
             )),
             "@new"
-          ).getCallTarget(),
-          1),
+          ).getCallTarget()),
+          1,
+          false),
         0);
     }
 
+    emptyTarget = new NBlockRootNode(
+      this,
+      FrameDescriptor.newBuilder().build(),
+      new NBlockStmtNode(Collections.emptyList()),
+      "@new"
+    ).getCallTarget();
+  }
+
+  private DynamicObject createGlobalScope(DynamicObjectLibrary objectLibrary) {
+    GlobalScopeObject globalScope = new GlobalScopeObject(rootShape);
+
+    // built-in functions
+    for (BuiltinDescriptor function : describeBuiltins(BuiltinFunctions.class, true)) {
+      defineBuiltinFunction(objectLibrary, globalScope, function);
+    }
+
+    // io module
+    ModuleObject ioModule = new ModuleObject(rootShape, objectClass, "io");
+    for (BuiltinDescriptor function : describeBuiltins(IOModule.class, true)) {
+      defineModuleFunction(objectLibrary, ioModule, function);
+    }
+    objectLibrary.putConstant(globalScope, "io", ioModule, 0);
+
+    // thread module
+    ModuleObject threadModule = new ModuleObject(rootShape, objectClass, "thread");
+    for (BuiltinDescriptor function : describeBuiltins(ThreadModule.class, true)) {
+      defineModuleFunction(objectLibrary, threadModule, function);
+    }
+    objectLibrary.putConstant(globalScope, "thread", threadModule, 0);
+
+    // worker module
+    ModuleObject workerModule = new ModuleObject(rootShape, objectClass, "worker");
+    for (BuiltinDescriptor function : describeBuiltins(WorkerModule.class, true)) {
+      defineModuleFunction(objectLibrary, workerModule, function);
+    }
+    objectLibrary.putConstant(globalScope, "worker", workerModule, 0);
+
+    // global classes
+    objectLibrary.putConstant(globalScope, "Object", objectClass, 0);
+    objectLibrary.putConstant(globalScope, "String", builtinObjects.stringObject, 0);
+    objectLibrary.putConstant(globalScope, "List", builtinObjects.listObject, 0);
+    objectLibrary.putConstant(globalScope, "Bytes", builtinObjects.bytesObject, 0);
+
+    // add all built-in class prototypes to the global scope
+    for (Map.Entry<String, BladeClass> entry : builtinObjects.builtinClasses.entrySet()) {
+      objectLibrary.putConstant(globalScope, entry.getKey(), entry.getValue(), 0);
+    }
+
     return globalScope;
   }
 
   private void defineBuiltinFunction(
-    DynamicObjectLibrary objectLibrary, GlobalScopeObject globalScope, String name,
-    NodeFactory<? extends NBuiltinFunctionNode> factory, boolean variadic
+    DynamicObjectLibrary objectLibrary, GlobalScopeObject globalScope, BuiltinDescriptor function
   ) {
-    objectLibrary.putConstant(
-      globalScope,
-      name,
-      new FunctionObject(rootShape, functionClass, name, createCallTarget(factory, true), factory.getExecutionSignature().size(), variadic),
-      0
+    builtinBindings.computeIfAbsent(
+      function.name(),
+      name -> Truffle.getRuntime().createAssumption("Builtin " + name + " not rebound.")
     );
+    objectLibrary.putConstant(globalScope, function.name(), function.function(), GlobalScopeObject.BUILTIN);
   }
 
-  private void defineBuiltinFunction(
-    DynamicObjectLibrary objectLibrary, GlobalScopeObject globalScope, String name,
-    NodeFactory<? extends NBuiltinFunctionNode> factory
+  private void defineModuleFunction(
+    DynamicObjectLibrary objectLibrary, ModuleObject module, BuiltinDescriptor function
   ) {
-    defineBuiltinFunction(objectLibrary, globalScope, name, factory, false);
+    // module functions are called like methods, so the module itself is
+    // passed as the receiver and skipped by the arguments.
+    objectLibrary.putConstant(module, function.name(), function.function(), 0);
   }
 
   private void defineBuiltinMethod(
-    DynamicObjectLibrary objectLibrary, BladeClass classObject, String name,
-    NodeFactory<? extends NBuiltinFunctionNode> factory
+    DynamicObjectLibrary objectLibrary, BladeClass classObject, BuiltinDescriptor method
   ) {
-    objectLibrary.putConstant(
-      classObject,
-      name,
-      new FunctionObject(rootShape, functionClass, name, createCallTarget(factory, false), factory.getExecutionSignature().size() - 1),
-      0
-    );
+    objectLibrary.putConstant(classObject, method.name(), method.function(), 0);
   }
 
-  private CallTarget createCallTarget(NodeFactory<? extends NBuiltinFunctionNode> factory, boolean offset) {
-    int argumentCount = factory.getExecutionSignature().size();
-
-    NReadFunctionArgsExprNode[] arguments = IntStream.range(0, argumentCount)
-      .mapToObj(i -> new NReadFunctionArgsExprNode(offset ? i + 1 : i, "arg"+i))
-      .toArray(NReadFunctionArgsExprNode[]::new);
-
-    NFunctionRootNode rootNode = new NFunctionRootNode(this, factory.createNode((Object) arguments));
+  /**
+   * Returns the builtins of a declaration. The declaration is only read the
+   * first time, and the function object of each builtin is created then and
+   * shared by every context, so a context only pays for the properties of
+   * its global scope and modules. The nodes of a builtin are not created
+   * until it is first called.
+   *
+   * @param offset whether the builtin skips a receiver it is not declared with
+   */
+  private List<BuiltinDescriptor> describeBuiltins(Class<? extends BaseBuiltinDeclaration> declaration, boolean offset) {
+    return builtinDescriptors.computeIfAbsent(declaration, (key) -> {
+      List<BuiltinDescriptor> descriptors = new ArrayList<>();
+      BuiltinDeclarationAccessor.get(key).forEach((entry) -> {
+        NodeFactory<? extends NBuiltinFunctionNode> factory = entry.value();
+        int argumentCount = factory.getExecutionSignature().size();
+        descriptors.add(new BuiltinDescriptor(entry.key(), new FunctionObject(
+          rootShape,
+          functionClass,
+          entry.key(),
+          new LazyCallTarget(() -> createCallTarget(factory, offset)),
+          offset ? argumentCount : argumentCount - 1,
+          entry.regulator()
+        )));
+      });
+      return List.copyOf(descriptors);
+    });
+  }
 
-    return rootNode.getCallTarget();
+  private CallTarget createCallTarget(NodeFactory<? extends NBuiltinFunctionNode> factory, boolean offset) {
+    // a factory is only ever declared as one kind of builtin, so the offset
+    // is the same every time it is seen
+    return builtinTargets.computeIfAbsent(factory, (key) -> new NFunctionRootNode(this, factory, offset).getCallTarget());
   }
 
   @Override
   protected CallTarget parse(ParsingRequest request) throws Exception {
-    Source source = request.getSource();
+    return translate(BladeContext.get(null), request.getSource(), NGlobalScopeObjectNode.SCRIPT, "@.script");
+  }
 
-    Parser parser = new Parser(new Lexer(source));
-    List<Stmt> statements = parser.parse();
+  private CallTarget translate(BladeContext context, Source source, int moduleId, String name) {
+    // without a parse cache, function bodies are parsed on their first call
+    List<Stmt> statements = context.astCache == null
+      ? new Parser(new Lexer(source), true).parse()
+      : context.astCache.parse(source);
 
-    var visitor = new BladeTranslator(parser, builtinObjects);
+    OptionValues options = context.env.getOptions();
+    var visitor = new BladeTranslator(source, builtinObjects, moduleId, options.get(Bytecode), options.get(Assertions));
     var parseResult = visitor.translate(statements);
-    return new NBlockRootNode(
+    return new NScriptRootNode(
       this, parseResult.frameDescriptor, parseResult.node,
-      "@.script", visitor.getRootSourceSection()
+      name, visitor.getRootSourceSection()
     ).getCallTarget();
   }
 
+  /**
+   * Returns the translated code of a module, parsing it only the first time
+   * the engine sees this content at this path. Translated modules do not
+   * reference any context state, so every context that imports the same
+   * file shares the same call target and its compiled code.
+   *
+   * @param context the importing context
+   * @param source the module source, named by its canonical path
+   * @param content the bytes the source was read from
+   */
+  @CompilerDirectives.TruffleBoundary
+  public CachedModule loadModule(BladeContext context, Source source, byte[] content) {
+    return moduleCache.computeIfAbsent(source.getPath() + '#' + AstCache.hash(content), key -> {
+      int id = moduleIds.getAndIncrement();
+      return new CachedModule(id, translate(context, source, id, "@." + source.getName()));
+    });
+  }
+
+  @Override
+  protected void initializeContext(BladeContext context) {
+    context.preloadLibraries();
+  }
+
   @Override
   protected Object getScope(BladeContext context) {
     return context.globalScope;
@@ -264,7 +421,17 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
 
   @Override
   protected void initializeMultipleContexts() {
-    assumption.invalidate();
+    singleContext.invalidate();
+  }
+
+  @Override
+  protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
+    return true;
+  }
+
+  @Override
+  protected void initializeMultiThreading(BladeContext context) {
+    singleThreaded.invalidate();
   }
 
   @Override
@@ -276,5 +443,14 @@ public class BladeLanguage extends TruffleLanguage<BladeContext> {
   public void exitContext(BladeContext context, ExitMode exitMode, int exitCode) {
     // Shutdown hooks should always be run irrespective of the exit code.
     context.runShutdownHooks();
+    context.closeFiles();
+    context.flushOutput();
+  }
+
+  @Override
+  protected void finalizeContext(BladeContext context) {
+    context.joinThreads();
+    context.closeFiles();
+    context.flushOutput();
   }
 }
@@ -7,8 +7,10 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.strings.TruffleString;
 import org.blade.language.BaseBuiltinDeclaration;
+import org.blade.language.BladeLanguage;
 import org.blade.language.nodes.functions.NBuiltinFunctionNode;
 import org.blade.language.runtime.*;
+import org.blade.language.shared.BuiltinClassesModel;
 import org.blade.utility.RegulatedMap;
 
 import java.time.Instant;
@@ -26,6 +28,10 @@ public final class BuiltinFunctions implements BaseBuiltinDeclaration {
       add("chr", false, BuiltinFunctionsFactory.ChrFunctionNodeFactory.getInstance());
       add("hex", false, BuiltinFunctionsFactory.HexFunctionNodeFactory.getInstance());
       add("id", false, BuiltinFunctionsFactory.IdFunctionNodeFactory.getInstance());
+      add("readline", false, BuiltinFunctionsFactory.ReadLineFunctionNodeFactory.getInstance());
+      add("read_lines", false, BuiltinFunctionsFactory.ReadLinesFunctionNodeFactory.getInstance());
+      add("read_all", false, BuiltinFunctionsFactory.ReadAllFunctionNodeFactory.getInstance());
+      add("bytes", false, BuiltinFunctionsFactory.BytesFunctionNodeFactory.getInstance());
     }};
   }
 
@@ -46,7 +52,7 @@ public final class BuiltinFunctions implements BaseBuiltinDeclaration {
     @Specialization
     public Object doList(ListObject object,
                          @CachedLibrary(limit = "3") InteropLibrary interopLibrary,
-                         @Cached(value = "languageContext()", neverDefault = false) BladeContext context) {
+                         @Bind BladeContext context) {
       print(context, interopLibrary, object.items);
       return BladeNil.SINGLETON;
     }
@@ -71,8 +77,6 @@ public final class BuiltinFunctions implements BaseBuiltinDeclaration {
       if (arguments[length - 1] != BladeNil.SINGLETON) {
         context.print(BString.fromObject(interopLibrary, arguments[length - 1]));
       }
-
-      context.flushOutput();
     }
   }
 
@@ -161,4 +165,55 @@ public final class BuiltinFunctions implements BaseBuiltinDeclaration {
       return object.hashCode();
     }
   }
+
+  public abstract static class ReadLineFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doAny(@Bind BladeContext context) {
+      TruffleString line = context.input.readLine();
+      return line == null ? BladeNil.SINGLETON : line;
+    }
+  }
+
+  public abstract static class ReadLinesFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doAny(@Bind BladeContext context,
+                           @Cached(value = "objectsModel()", neverDefault = true) BuiltinClassesModel classesModel) {
+      return new LineIteratorObject(classesModel.rootShape, classesModel.lineIteratorObject, context.input);
+    }
+  }
+
+  public abstract static class ReadAllFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected TruffleString doAny(@Bind BladeContext context) {
+      return context.input.readAll();
+    }
+  }
+
+  public abstract static class BytesFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected BytesObject doSize(long size,
+                                 @Cached(value = "objectsModel()", neverDefault = true) @Cached.Shared("classesModel") BuiltinClassesModel classesModel) {
+      if (size < 0 || size > Integer.MAX_VALUE - 8) {
+        throw BladeRuntimeError.valueError(this, "invalid Bytes size");
+      }
+      return new BytesObject(classesModel.rootShape, classesModel.bytesObject, new byte[(int) size]);
+    }
+
+    @Specialization
+    protected BytesObject doString(TruffleString string,
+                                   @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                                   @Cached TruffleString.CopyToByteArrayNode copyToByteArrayNode,
+                                   @Cached(value = "objectsModel()", neverDefault = true) @Cached.Shared("classesModel") BuiltinClassesModel classesModel) {
+      byte[] data = copyToByteArrayNode.execute(
+        switchEncodingNode.execute(string, BladeLanguage.ENCODING),
+        BladeLanguage.ENCODING
+      );
+      return new BytesObject(classesModel.rootShape, classesModel.bytesObject, data);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object object) {
+      throw BladeRuntimeError.argumentError(this, "bytes", object);
+    }
+  }
 }
@@ -0,0 +1,251 @@
+package org.blade.language.builtins;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import org.blade.language.BaseBuiltinDeclaration;
+import org.blade.language.nodes.functions.NBuiltinFunctionNode;
+import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.BytesObject;
+import org.blade.utility.RegulatedMap;
+
+/**
+ * Methods of the Bytes class. Multibyte reads and writes take a byte offset and
+ * an optional <code>little_endian</code> flag; without it, big-endian order is
+ * used.
+ */
+public final class BytesMethods implements BaseBuiltinDeclaration {
+  @Override
+  public RegulatedMap<String, Boolean, NodeFactory<? extends NBuiltinFunctionNode>> getDeclarations() {
+    return new RegulatedMap<>() {{
+      add("read_int8", false, BytesMethodsFactory.NBytesReadInt8MethodNodeFactory.getInstance());
+      add("read_uint8", false, BytesMethodsFactory.NBytesReadUInt8MethodNodeFactory.getInstance());
+      add("read_int16", false, BytesMethodsFactory.NBytesReadInt16MethodNodeFactory.getInstance());
+      add("read_uint16", false, BytesMethodsFactory.NBytesReadUInt16MethodNodeFactory.getInstance());
+      add("read_int32", false, BytesMethodsFactory.NBytesReadInt32MethodNodeFactory.getInstance());
+      add("read_uint32", false, BytesMethodsFactory.NBytesReadUInt32MethodNodeFactory.getInstance());
+      add("read_int64", false, BytesMethodsFactory.NBytesReadInt64MethodNodeFactory.getInstance());
+      add("read_float32", false, BytesMethodsFactory.NBytesReadFloat32MethodNodeFactory.getInstance());
+      add("read_float64", false, BytesMethodsFactory.NBytesReadFloat64MethodNodeFactory.getInstance());
+      add("write_int8", false, BytesMethodsFactory.NBytesWriteInt8MethodNodeFactory.getInstance());
+      add("write_int16", false, BytesMethodsFactory.NBytesWriteInt16MethodNodeFactory.getInstance());
+      add("write_int32", false, BytesMethodsFactory.NBytesWriteInt32MethodNodeFactory.getInstance());
+      add("write_int64", false, BytesMethodsFactory.NBytesWriteInt64MethodNodeFactory.getInstance());
+      add("write_float32", false, BytesMethodsFactory.NBytesWriteFloat32MethodNodeFactory.getInstance());
+      add("write_float64", false, BytesMethodsFactory.NBytesWriteFloat64MethodNodeFactory.getInstance());
+      add("slice", false, BytesMethodsFactory.NBytesSliceMethodNodeFactory.getInstance());
+    }};
+  }
+
+  static boolean isLittleEndian(Object value) {
+    return value instanceof Boolean littleEndian && littleEndian;
+  }
+
+  public abstract static class NBytesReadInt8MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return (long) self.data[self.index(this, offset, 1)];
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_int8", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadUInt8MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return (long) Byte.toUnsignedInt(self.data[self.index(this, offset, 1)]);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_uint8", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadInt16MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return (long) BytesObject.support(isLittleEndian(littleEndian)).getShort(self.data, self.index(this, offset, 2));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_int16", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadUInt16MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return (long) Short.toUnsignedInt(BytesObject.support(isLittleEndian(littleEndian)).getShort(self.data, self.index(this, offset, 2)));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_uint16", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadInt32MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return (long) BytesObject.support(isLittleEndian(littleEndian)).getInt(self.data, self.index(this, offset, 4));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_int32", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadUInt32MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return Integer.toUnsignedLong(BytesObject.support(isLittleEndian(littleEndian)).getInt(self.data, self.index(this, offset, 4)));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_uint32", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadInt64MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doRead(BytesObject self, long offset, Object littleEndian) {
+      return BytesObject.support(isLittleEndian(littleEndian)).getLong(self.data, self.index(this, offset, 8));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_int64", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadFloat32MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected double doRead(BytesObject self, long offset, Object littleEndian) {
+      return (double) BytesObject.support(isLittleEndian(littleEndian)).getFloat(self.data, self.index(this, offset, 4));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_float32", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesReadFloat64MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected double doRead(BytesObject self, long offset, Object littleEndian) {
+      return BytesObject.support(isLittleEndian(littleEndian)).getDouble(self.data, self.index(this, offset, 8));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.read_float64", offset, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesWriteInt8MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doWrite(BytesObject self, long offset, long value, Object littleEndian) {
+      self.data[self.index(this, offset, 1)] = (byte) value;
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object value, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.write_int8", offset, value, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesWriteInt16MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doWrite(BytesObject self, long offset, long value, Object littleEndian) {
+      BytesObject.support(isLittleEndian(littleEndian)).putShort(self.data, self.index(this, offset, 2), (short) value);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object value, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.write_int16", offset, value, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesWriteInt32MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doWrite(BytesObject self, long offset, long value, Object littleEndian) {
+      BytesObject.support(isLittleEndian(littleEndian)).putInt(self.data, self.index(this, offset, 4), (int) value);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object value, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.write_int32", offset, value, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesWriteInt64MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doWrite(BytesObject self, long offset, long value, Object littleEndian) {
+      BytesObject.support(isLittleEndian(littleEndian)).putLong(self.data, self.index(this, offset, 8), value);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object value, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.write_int64", offset, value, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesWriteFloat32MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doWrite(BytesObject self, long offset, double value, Object littleEndian) {
+      BytesObject.support(isLittleEndian(littleEndian)).putFloat(self.data, self.index(this, offset, 4), (float) value);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object value, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.write_float32", offset, value, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesWriteFloat64MethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doWrite(BytesObject self, long offset, double value, Object littleEndian) {
+      BytesObject.support(isLittleEndian(littleEndian)).putDouble(self.data, self.index(this, offset, 8), value);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object offset, Object value, Object littleEndian) {
+      throw BladeRuntimeError.argumentError(this, "bytes.write_float64", offset, value, littleEndian);
+    }
+  }
+
+  public abstract static class NBytesSliceMethodNode extends NBuiltinFunctionNode {
+    @Specialization(guards = "isNil(end)")
+    protected BytesObject doSliceToEnd(BytesObject self, long start, Object end) {
+      return self.slice(this, start, self.length);
+    }
+
+    @Specialization
+    protected BytesObject doSlice(BytesObject self, long start, long end) {
+      return self.slice(this, start, end);
+    }
+
+    protected boolean isNil(Object o) {
+      return o == BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self, Object start, Object end) {
+      throw BladeRuntimeError.argumentError(this, "bytes.slice", start, end);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package org.blade.language.builtins;
+
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.BaseBuiltinDeclaration;
+import org.blade.language.nodes.functions.NBuiltinFunctionNode;
+import org.blade.language.runtime.*;
+import org.blade.language.shared.BuiltinClassesModel;
+import org.blade.utility.RegulatedMap;
+
+public final class IOModule implements BaseBuiltinDeclaration {
+  @Override
+  public RegulatedMap<String, Boolean, NodeFactory<? extends NBuiltinFunctionNode>> getDeclarations() {
+    return new RegulatedMap<>() {{
+      add("open", false, IOModuleFactory.OpenFunctionNodeFactory.getInstance());
+      add("read", false, IOModuleFactory.ReadFunctionNodeFactory.getInstance());
+      add("read_bytes", false, IOModuleFactory.ReadBytesFunctionNodeFactory.getInstance());
+      add("write", false, IOModuleFactory.WriteFunctionNodeFactory.getInstance());
+      add("lines", false, IOModuleFactory.LinesFunctionNodeFactory.getInstance());
+      add("close", false, IOModuleFactory.CloseFunctionNodeFactory.getInstance());
+    }};
+  }
+
+  public abstract static class OpenFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected FileObject doOpen(TruffleString path, Object mode,
+                                @Bind BladeContext context) {
+      String fileMode = mode == BladeNil.SINGLETON ? "r" : BString.toString(mode);
+      FileObject file = FileObject.open(this, context.env, BString.toString(path), fileMode);
+      if (file.isWritable()) {
+        context.registerFile(file);
+      }
+      return file;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object path, Object mode) {
+      throw BladeRuntimeError.argumentError(this, "io.open", path, mode);
+    }
+  }
+
+  public abstract static class ReadFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected TruffleString doRead(FileObject file) {
+      return file.read(this);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object file) {
+      throw BladeRuntimeError.argumentError(this, "io.read", file);
+    }
+  }
+
+  public abstract static class ReadBytesFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected BytesObject doRead(FileObject file,
+                                 @Cached(value = "objectsModel()", neverDefault = true) BuiltinClassesModel classesModel) {
+      return new BytesObject(classesModel.rootShape, classesModel.bytesObject, file.readBytes(this));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object file) {
+      throw BladeRuntimeError.argumentError(this, "io.read_bytes", file);
+    }
+  }
+
+  public abstract static class WriteFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doString(FileObject file, TruffleString data,
+                              @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                              @Cached TruffleString.GetInternalByteArrayNode byteArrayNode) {
+      file.writer(this).write(data, switchEncodingNode, byteArrayNode);
+      return BladeNil.SINGLETON;
+    }
+
+    @Specialization
+    protected Object doBytes(FileObject file, BytesObject data) {
+      file.writer(this).write(data.data, data.offset, data.length);
+      return BladeNil.SINGLETON;
+    }
+
+    @Specialization
+    protected Object doObject(FileObject file, Object data) {
+      file.writer(this).print(data);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object file, Object data) {
+      throw BladeRuntimeError.argumentError(this, "io.write", file, data);
+    }
+  }
+
+  public abstract static class LinesFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected LineIteratorObject doLines(FileObject file) {
+      return file.lines(this);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object file) {
+      throw BladeRuntimeError.argumentError(this, "io.lines", file);
+    }
+  }
+
+  public abstract static class CloseFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doClose(FileObject file,
+                             @Bind BladeContext context) {
+      file.close();
+      context.unregisterFile(file);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object file) {
+      throw BladeRuntimeError.argumentError(this, "io.close", file);
+    }
+  }
+}
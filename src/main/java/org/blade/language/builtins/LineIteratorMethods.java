@@ -0,0 +1,52 @@
+package org.blade.language.builtins;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.BaseBuiltinDeclaration;
+import org.blade.language.nodes.functions.NBuiltinFunctionNode;
+import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.LineIteratorObject;
+import org.blade.utility.RegulatedMap;
+
+/**
+ * Methods of the LineIterator class returned by <code>read_lines()</code> and
+ * <code>io.lines()</code>. <code>next()</code> returns nil once there are no
+ * more lines.
+ */
+public final class LineIteratorMethods implements BaseBuiltinDeclaration {
+  @Override
+  public RegulatedMap<String, Boolean, NodeFactory<? extends NBuiltinFunctionNode>> getDeclarations() {
+    return new RegulatedMap<>() {{
+      add("has_next", false, LineIteratorMethodsFactory.NLineIteratorHasNextMethodNodeFactory.getInstance());
+      add("next", false, LineIteratorMethodsFactory.NLineIteratorNextMethodNodeFactory.getInstance());
+    }};
+  }
+
+  public abstract static class NLineIteratorHasNextMethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected boolean doHasNext(LineIteratorObject self) {
+      return self.hasNext();
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self) {
+      throw BladeRuntimeError.argumentError(this, "lines.has_next", self);
+    }
+  }
+
+  public abstract static class NLineIteratorNextMethodNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doNext(LineIteratorObject self) {
+      TruffleString line = self.next();
+      return line == null ? BladeNil.SINGLETON : line;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object self) {
+      throw BladeRuntimeError.argumentError(this, "lines.next", self);
+    }
+  }
+}
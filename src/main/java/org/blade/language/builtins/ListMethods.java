@@ -31,6 +31,11 @@ public final class ListMethods implements BaseBuiltinDeclaration {
       // strings only have the 'length' item
       try {
         ListObject list = (ListObject) self;
+        if (!isSingleThreaded()) {
+          list.appendShared(item);
+          return item;
+        }
+
         long size = list.getArraySize();
         list.resize(size + 1, objectLibrary);
         interopLibrary.writeArrayElement(self, size, item);
@@ -0,0 +1,139 @@
+package org.blade.language.builtins;
+
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import org.blade.language.BaseBuiltinDeclaration;
+import org.blade.language.nodes.functions.NBuiltinFunctionNode;
+import org.blade.language.runtime.*;
+import org.blade.utility.RegulatedMap;
+
+public final class ThreadModule implements BaseBuiltinDeclaration {
+  @Override
+  public RegulatedMap<String, Boolean, NodeFactory<? extends NBuiltinFunctionNode>> getDeclarations() {
+    return new RegulatedMap<>() {{
+      add("spawn", false, ThreadModuleFactory.SpawnFunctionNodeFactory.getInstance());
+      add("join", false, ThreadModuleFactory.JoinFunctionNodeFactory.getInstance());
+      add("lock", false, ThreadModuleFactory.LockFunctionNodeFactory.getInstance());
+      add("acquire", false, ThreadModuleFactory.AcquireFunctionNodeFactory.getInstance());
+      add("release", false, ThreadModuleFactory.ReleaseFunctionNodeFactory.getInstance());
+      add("atomic", false, ThreadModuleFactory.AtomicFunctionNodeFactory.getInstance());
+      add("add", false, ThreadModuleFactory.AddFunctionNodeFactory.getInstance());
+      add("load", false, ThreadModuleFactory.LoadFunctionNodeFactory.getInstance());
+      add("store", false, ThreadModuleFactory.StoreFunctionNodeFactory.getInstance());
+    }};
+  }
+
+  public abstract static class SpawnFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected ThreadObject doSpawn(FunctionObject function,
+                                   @Bind BladeContext context) {
+      return ThreadObject.spawn(this, context, function);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object function) {
+      throw BladeRuntimeError.argumentError(this, "thread.spawn", function);
+    }
+  }
+
+  public abstract static class JoinFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doJoin(ThreadObject thread) {
+      return thread.join(this);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object thread) {
+      throw BladeRuntimeError.argumentError(this, "thread.join", thread);
+    }
+  }
+
+  public abstract static class LockFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected LockObject doLock() {
+      return new LockObject();
+    }
+  }
+
+  public abstract static class AcquireFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doAcquire(LockObject lock) {
+      lock.acquire(this);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object lock) {
+      throw BladeRuntimeError.argumentError(this, "thread.acquire", lock);
+    }
+  }
+
+  public abstract static class ReleaseFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doRelease(LockObject lock) {
+      lock.release(this);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object lock) {
+      throw BladeRuntimeError.argumentError(this, "thread.release", lock);
+    }
+  }
+
+  public abstract static class AtomicFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected AtomicObject doLong(long value) {
+      return new AtomicObject(value);
+    }
+
+    @Specialization
+    protected AtomicObject doNil(BladeNil value) {
+      return new AtomicObject(0);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object value) {
+      throw BladeRuntimeError.argumentError(this, "thread.atomic", value);
+    }
+  }
+
+  public abstract static class AddFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doAdd(AtomicObject atomic, long delta) {
+      return atomic.value.addAndGet(delta);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object atomic, Object delta) {
+      throw BladeRuntimeError.argumentError(this, "thread.add", atomic, delta);
+    }
+  }
+
+  public abstract static class LoadFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doLoad(AtomicObject atomic) {
+      return atomic.value.get();
+    }
+
+    @Fallback
+    protected Object doInvalid(Object atomic) {
+      throw BladeRuntimeError.argumentError(this, "thread.load", atomic);
+    }
+  }
+
+  public abstract static class StoreFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected long doStore(AtomicObject atomic, long value) {
+      atomic.value.set(value);
+      return value;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object atomic, Object value) {
+      throw BladeRuntimeError.argumentError(this, "thread.store", atomic, value);
+    }
+  }
+}
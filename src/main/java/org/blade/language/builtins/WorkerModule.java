@@ -0,0 +1,137 @@
+package org.blade.language.builtins;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.BaseBuiltinDeclaration;
+import org.blade.language.nodes.functions.NBuiltinFunctionNode;
+import org.blade.language.runtime.*;
+import org.blade.utility.RegulatedMap;
+
+import java.util.Arrays;
+
+public final class WorkerModule implements BaseBuiltinDeclaration {
+  @Override
+  public RegulatedMap<String, Boolean, NodeFactory<? extends NBuiltinFunctionNode>> getDeclarations() {
+    return new RegulatedMap<>() {{
+      add("start", false, WorkerModuleFactory.StartFunctionNodeFactory.getInstance());
+      add("join", false, WorkerModuleFactory.JoinFunctionNodeFactory.getInstance());
+      add("channel", false, WorkerModuleFactory.ChannelFunctionNodeFactory.getInstance());
+      add("channels", false, WorkerModuleFactory.ChannelsFunctionNodeFactory.getInstance());
+      add("send", false, WorkerModuleFactory.SendFunctionNodeFactory.getInstance());
+      add("receive", false, WorkerModuleFactory.ReceiveFunctionNodeFactory.getInstance());
+      add("close", false, WorkerModuleFactory.CloseFunctionNodeFactory.getInstance());
+    }};
+  }
+
+  public abstract static class StartFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected WorkerObject doStart(TruffleString path, Object channels,
+                                   @Bind BladeContext context) {
+      return WorkerObject.start(this, context, BString.toString(path), toChannels(channels));
+    }
+
+    @Fallback
+    protected Object doInvalid(Object path, Object channels) {
+      throw BladeRuntimeError.argumentError(this, "worker.start", path, channels);
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private ChannelObject[] toChannels(Object value) {
+      if (value == BladeNil.SINGLETON) {
+        return new ChannelObject[0];
+      } else if (value instanceof ChannelObject channel) {
+        return new ChannelObject[]{channel};
+      } else if (value instanceof ListObject list) {
+        ChannelObject[] channels = new ChannelObject[list.items.length];
+        for (int i = 0; i < channels.length; i++) {
+          if (!(list.items[i] instanceof ChannelObject channel)) {
+            throw BladeRuntimeError.typeError(this, "workers can only be given channels");
+          }
+          channels[i] = channel;
+        }
+        return channels;
+      }
+      throw BladeRuntimeError.typeError(this, "workers can only be given channels");
+    }
+  }
+
+  public abstract static class JoinFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doJoin(WorkerObject worker) {
+      worker.join(this);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object worker) {
+      throw BladeRuntimeError.argumentError(this, "worker.join", worker);
+    }
+  }
+
+  public abstract static class ChannelFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected ChannelObject doCapacity(long capacity) {
+      if (capacity < 1 || capacity > Integer.MAX_VALUE) {
+        throw BladeRuntimeError.valueError(this, "invalid channel capacity");
+      }
+      return new ChannelObject((int) capacity);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object capacity) {
+      throw BladeRuntimeError.argumentError(this, "worker.channel", capacity);
+    }
+  }
+
+  public abstract static class ChannelsFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected ListObject doChannels(@Bind BladeContext context) {
+      ChannelObject[] given = context.getChannels();
+      Object[] channels = Arrays.copyOf(given, given.length, Object[].class);
+      return new ListObject(context.objectsModel.listShape, context.objectsModel.listObject, channels);
+    }
+  }
+
+  public abstract static class SendFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doSend(ChannelObject channel, Object value) {
+      channel.send(this, value);
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object channel, Object value) {
+      throw BladeRuntimeError.argumentError(this, "worker.send", channel, value);
+    }
+  }
+
+  public abstract static class ReceiveFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doReceive(ChannelObject channel,
+                               @Bind BladeContext context) {
+      return channel.receive(this, context);
+    }
+
+    @Fallback
+    protected Object doInvalid(Object channel) {
+      throw BladeRuntimeError.argumentError(this, "worker.receive", channel);
+    }
+  }
+
+  public abstract static class CloseFunctionNode extends NBuiltinFunctionNode {
+    @Specialization
+    protected Object doClose(ChannelObject channel) {
+      channel.close();
+      return BladeNil.SINGLETON;
+    }
+
+    @Fallback
+    protected Object doInvalid(Object channel) {
+      throw BladeRuntimeError.argumentError(this, "worker.close", channel);
+    }
+  }
+}
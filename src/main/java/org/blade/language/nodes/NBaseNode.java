@@ -2,11 +2,37 @@ package org.blade.language.nodes;
 
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.nodes.Node;
+import org.blade.language.BladeLanguage;
 import org.blade.language.runtime.BladeContext;
+import org.blade.language.shared.BuiltinClassesModel;
 
 @TypeSystemReference(BladeTypes.class)
 public abstract class NBaseNode extends Node {
   protected final BladeContext languageContext() {
     return BladeContext.get(this);
   }
+
+  /**
+   * The builtin classes belong to the language, so unlike the context they
+   * are the same for every context that runs this node.
+   */
+  protected final BuiltinClassesModel objectsModel() {
+    return BladeLanguage.get(this).builtinObjects;
+  }
+
+  /**
+   * True until the engine creates a second context. Values of a context may
+   * only be cached in a node while it holds.
+   */
+  protected final boolean isSingleContext() {
+    return BladeLanguage.get(this).singleContext.isValid();
+  }
+
+  /**
+   * True until a script starts a second thread. Shared runtime structures
+   * skip their locks while it holds.
+   */
+  protected final boolean isSingleThreaded() {
+    return BladeLanguage.get(this).singleThreaded.isValid();
+  }
 }
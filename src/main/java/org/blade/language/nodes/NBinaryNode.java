@@ -6,6 +6,12 @@ import com.oracle.truffle.api.dsl.NodeChild;
 @NodeChild("leftNode")
 @NodeChild("rightNode")
 public abstract class NBinaryNode extends NNode {
+  /**
+   * Applies the operator to operands that are already evaluated, for nodes
+   * that update a value in place.
+   */
+  public abstract Object executeEvaluated(Object left, Object right);
+
   protected static boolean isDouble(Object object) {
     return object instanceof Double;
   }
@@ -3,11 +3,12 @@ package org.blade.language.nodes;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import org.blade.language.BladeLanguage;
 import org.blade.language.nodes.statements.NBlockStmtNode;
 
-public final class NBlockRootNode extends RootNode {
+public final class NBlockRootNode extends RootNode implements NSourceRoot {
   @SuppressWarnings("FieldMayBeFinal")
   @Child private NBlockStmtNode block;
 
@@ -49,4 +50,9 @@ public final class NBlockRootNode extends RootNode {
   public SourceSection getSourceSection() {
     return sourceSection == null ? block.getSourceSection() : sourceSection;
   }
+
+  @Override
+  public Source getSource() {
+    return sourceSection == null ? null : sourceSection.getSource();
+  }
 }
@@ -0,0 +1,203 @@
+package org.blade.language.nodes;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.bytecode.BytecodeRootNode;
+import com.oracle.truffle.api.bytecode.GenerateBytecode;
+import com.oracle.truffle.api.bytecode.Operation;
+import com.oracle.truffle.api.bytecode.OperationProxy;
+import com.oracle.truffle.api.bytecode.ShortCircuitOperation;
+import com.oracle.truffle.api.bytecode.Variadic;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Property;
+import org.blade.language.BladeLanguage;
+import org.blade.language.nodes.expressions.arithemetic.*;
+import org.blade.language.nodes.expressions.logical.*;
+import org.blade.language.nodes.functions.NFunctionCallExprNode;
+import org.blade.language.nodes.functions.NFunctionDispatchNode;
+import org.blade.language.runtime.BladeContext;
+import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.FunctionObject;
+import org.blade.language.runtime.GlobalScopeObject;
+
+/**
+ * Root of a function body run by the bytecode interpreter. The arithmetic
+ * and comparison operations are proxies of the AST nodes, so both tiers
+ * share the same specializations. The operations declared here cover what
+ * {@link org.blade.language.translator.BytecodeTranslator} can translate.
+ */
+@GenerateBytecode(
+  languageClass = BladeLanguage.class,
+  boxingEliminationTypes = {long.class, double.class, boolean.class}
+)
+@TypeSystemReference(BladeTypes.class)
+@OperationProxy(value = NAddNode.class, name = "Add")
+@OperationProxy(value = NSubtractNode.class, name = "Subtract")
+@OperationProxy(value = NMultiplyNode.class, name = "Multiply")
+@OperationProxy(value = NDivideNode.class, name = "Divide")
+@OperationProxy(value = NFloorDivideNode.class, name = "FloorDivide")
+@OperationProxy(value = NModuloNode.class, name = "Modulo")
+@OperationProxy(value = NPowNode.class, name = "Pow")
+@OperationProxy(value = NNegateNode.class, name = "Negate")
+@OperationProxy(value = NEqualNode.class, name = "Equal")
+@OperationProxy(value = NNotEqualNode.class, name = "NotEqual")
+@OperationProxy(value = NLessThanNode.class, name = "LessThan")
+@OperationProxy(value = NLessThanOrEqualNode.class, name = "LessThanOrEqual")
+@OperationProxy(value = NGreaterThanNode.class, name = "GreaterThan")
+@OperationProxy(value = NGreaterThanOrEqualNode.class, name = "GreaterThanOrEqual")
+@OperationProxy(value = NLogicalNotNode.class, name = "LogicalNot")
+@ShortCircuitOperation(
+  name = "LogicalAnd",
+  operator = ShortCircuitOperation.Operator.AND_RETURN_CONVERTED,
+  booleanConverter = NBytecodeRootNode.ToBoolean.class
+)
+@ShortCircuitOperation(
+  name = "LogicalOr",
+  operator = ShortCircuitOperation.Operator.OR_RETURN_CONVERTED,
+  booleanConverter = NBytecodeRootNode.ToBoolean.class
+)
+public abstract class NBytecodeRootNode extends RootNode implements BytecodeRootNode {
+  private String name = "";
+
+  protected NBytecodeRootNode(BladeLanguage language, FrameDescriptor frameDescriptor) {
+    super(language, frameDescriptor);
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Operation
+  public static final class ToBoolean {
+    @Specialization
+    public static boolean doBoolean(boolean value) {
+      return value;
+    }
+
+    @Fallback
+    public static boolean doOthers(Object value) {
+      return NNode.evaluateBoolean(value);
+    }
+  }
+
+  /**
+   * Same as {@link NGlobalScopeObjectNode}.
+   */
+  @Operation
+  public static final class GlobalScope {
+    @Specialization
+    public static DynamicObject doScope(int moduleId, @Bind BladeContext context) {
+      return moduleId == NGlobalScopeObjectNode.SCRIPT
+        ? context.globalScope
+        : context.getModuleScope(moduleId);
+    }
+  }
+
+  @Operation
+  public static final class ReadGlobal {
+    @Specialization(limit = "3")
+    public static Object doRead(DynamicObject scope, String name,
+                                @CachedLibrary("scope") DynamicObjectLibrary objectLibrary) {
+      Object value = objectLibrary.getOrDefault(scope, name, null);
+      if (value == null) {
+        throw BladeRuntimeError.create("'", name, "' is not defined in this scope");
+      }
+      return value;
+    }
+  }
+
+  @Operation
+  public static final class WriteGlobal {
+    @Specialization(limit = "3")
+    public static Object doWrite(DynamicObject scope, String name, Object value,
+                                 @Bind BladeLanguage language,
+                                 @CachedLibrary("scope") DynamicObjectLibrary objectLibrary) {
+      Property property = objectLibrary.getProperty(scope, name);
+      if (property == null) {
+        throw BladeRuntimeError.create("'", name, "' is not defined in this scope");
+      } else if (property.getFlags() == 1) {
+        throw BladeRuntimeError.create("Assignment to constant variable '", name, "'");
+      } else if (property.getFlags() == GlobalScopeObject.BUILTIN) {
+        CompilerDirectives.transferToInterpreter();
+        GlobalScopeObject.unbindBuiltin(scope, name);
+      }
+
+      if (language.singleThreaded.isValid()) {
+        objectLibrary.put(scope, name, value);
+      } else {
+        GlobalScopeObject.putShared(scope, name, value, 0);
+      }
+      return value;
+    }
+  }
+
+  @Operation
+  public static final class StoreArgument {
+    @Specialization
+    public static Object doStore(VirtualFrame frame, int index, Object value) {
+      frame.getArguments()[index] = value;
+      return value;
+    }
+  }
+
+  @Operation
+  public static final class GetProperty {
+    @Specialization
+    public static Object doRead(Object target, String name,
+                                @Cached NSharedPropertyReaderNode propertyReader) {
+      return propertyReader.executeRead(target, name);
+    }
+  }
+
+  @Operation
+  public static final class SetProperty {
+    @Specialization
+    public static Object doWrite(Object target, String name, Object value,
+                                 @Cached NSharedPropertyWriterNode propertyWriter) {
+      return propertyWriter.executeWrite(target, name, value);
+    }
+  }
+
+  /**
+   * Calls a function. The first argument is the receiver, which is always
+   * nil for plain function calls.
+   */
+  @Operation
+  public static final class Call {
+    @Specialization
+    public static Object doFunction(FunctionObject function, @Variadic Object[] arguments,
+                                    @Bind BladeContext context,
+                                    @Cached NFunctionDispatchNode dispatchNode) {
+      return dispatchNode.executeDispatch(function, NFunctionCallExprNode.arrangeArguments(context, function, arguments));
+    }
+
+    @Fallback
+    public static Object doOthers(Object function, @Variadic Object[] arguments) {
+      throw BladeRuntimeError.create("'", function, "' is not a callable function");
+    }
+  }
+
+  @Operation
+  public static final class Echo {
+    @Specialization
+    public static Object doEcho(Object value, @Bind BladeContext context) {
+      context.println(value);
+      return BladeNil.SINGLETON;
+    }
+  }
+}
@@ -3,19 +3,27 @@ package org.blade.language.nodes;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
 import org.blade.language.BladeLanguage;
 import org.blade.language.nodes.functions.NFunctionBodyNode;
 
-public final class NFunctionRootNode extends RootNode {
+public final class NFunctionRootNode extends RootNode implements NSourceRoot {
   @SuppressWarnings("FieldMayBeFinal")
   @Child private NFunctionBodyNode block;
 
   private final String name;
 
+  private final Source source;
+
   public NFunctionRootNode(BladeLanguage language, FrameDescriptor frameDescriptor, NFunctionBodyNode block, String name) {
+    this(language, frameDescriptor, block, name, null);
+  }
+
+  public NFunctionRootNode(BladeLanguage language, FrameDescriptor frameDescriptor, NFunctionBodyNode block, String name, Source source) {
     super(language, frameDescriptor);
     this.block = block;
     this.name = name;
+    this.source = source;
   }
 
   @Override
@@ -32,4 +40,9 @@ public final class NFunctionRootNode extends RootNode {
   public String getName() {
     return name;
   }
+
+  @Override
+  public Source getSource() {
+    return source;
+  }
 }
@@ -1,12 +1,29 @@
 package org.blade.language.nodes;
 
+import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 
+/**
+ * Evaluates to the scope that holds the globals of the code it belongs to:
+ * the context global scope for scripts and the module object for imported
+ * modules. Modules are identified by an engine-wide id so that translated
+ * module code can be shared by every context.
+ */
 @SuppressWarnings("truffle-inlining")
+@NodeField(name = "moduleId", type = int.class)
 public abstract class NGlobalScopeObjectNode extends NNode {
-  @Specialization
+  public static final int SCRIPT = -1;
+
+  protected abstract int getModuleId();
+
+  @Specialization(guards = "getModuleId() == SCRIPT")
   protected DynamicObject getGlobalScope() {
     return languageContext().globalScope;
   }
+
+  @Specialization(guards = "getModuleId() != SCRIPT")
+  protected DynamicObject getModuleScope() {
+    return languageContext().getModuleScope(getModuleId());
+  }
 }
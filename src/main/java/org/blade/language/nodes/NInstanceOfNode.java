@@ -0,0 +1,54 @@
+package org.blade.language.nodes;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import org.blade.language.runtime.BladeClass;
+import org.blade.language.runtime.BladeObject;
+
+/**
+ * Tests whether a value is an instance of a class or any of its subclasses.
+ * The hierarchy walk is cached per (instance class, target class) pair so that
+ * a monomorphic check compiles down to two identity comparisons.
+ */
+@SuppressWarnings("truffle-inlining")
+public abstract class NInstanceOfNode extends NBaseNode {
+  public abstract boolean executeCheck(Object value, Object classObject);
+
+  @Specialization(guards = {
+    "value.classObject == cachedValueClass",
+    "classObject == cachedClass"
+  }, limit = "3")
+  protected boolean doCached(@SuppressWarnings("unused") BladeObject value,
+                             @SuppressWarnings("unused") BladeClass classObject,
+                             @Cached("value.classObject") DynamicObject cachedValueClass,
+                             @Cached("classObject") BladeClass cachedClass,
+                             @Cached(value = "isSubclass(cachedValueClass, cachedClass)", neverDefault = false) boolean isInstance) {
+    return isInstance;
+  }
+
+  @Specialization(replaces = "doCached")
+  protected boolean doUncached(BladeObject value, BladeClass classObject) {
+    return isSubclass(value.classObject, classObject);
+  }
+
+  @Fallback
+  protected boolean doNotInstance(@SuppressWarnings("unused") Object value,
+                                  @SuppressWarnings("unused") Object classObject) {
+    return false;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  protected static boolean isSubclass(DynamicObject candidate, BladeClass target) {
+    DynamicObject current = candidate;
+    while (current instanceof BladeClass bladeClass) {
+      if (bladeClass == target) {
+        return true;
+      }
+      current = bladeClass.classObject;
+    }
+    return false;
+  }
+}
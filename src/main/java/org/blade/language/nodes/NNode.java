@@ -1,8 +1,10 @@
 package org.blade.language.nodes;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.api.strings.TruffleString;
 import org.blade.language.runtime.ListObject;
@@ -10,7 +12,10 @@ import org.blade.language.runtime.BladeNil;
 
 @TypeSystemReference(BladeTypes.class)
 public abstract class NNode extends NBaseNode {
-  private SourceSection sourceSection = null;
+  private static final long NO_SOURCE = -1L;
+
+  // the start index in the high and the length in the low 32 bits
+  private long sourceSpan = NO_SOURCE;
 
   public abstract Object execute(VirtualFrame frame);
 
@@ -34,7 +39,7 @@ public abstract class NNode extends NBaseNode {
     return execute(frame);
   }
 
-  public boolean evaluateBoolean(Object value) {
+  public static boolean evaluateBoolean(Object value) {
     if (value == BladeNil.SINGLETON) {
       return false;
     } else if (value instanceof Boolean b) {
@@ -60,13 +65,38 @@ public abstract class NNode extends NBaseNode {
     return true;
   }
 
-  public NNode setSourceSection(SourceSection sourceSection) {
-    this.sourceSection = sourceSection;
+  public NNode setSourceSection(int charIndex, int length) {
+    this.sourceSpan = ((long) charIndex << 32) | (length & 0xFFFFFFFFL);
     return this;
   }
 
+  public NNode copySourceSection(NNode node) {
+    this.sourceSpan = node.sourceSpan;
+    return this;
+  }
+
+  public final boolean hasSourceSection() {
+    return sourceSpan != NO_SOURCE;
+  }
+
+  /**
+   * Creates the section of this node on demand. Sections are only needed for
+   * errors, stack traces and instruments, so they are not kept on the node.
+   */
+  @CompilerDirectives.TruffleBoundary
   @Override
   public SourceSection getSourceSection() {
-    return sourceSection;
+    if (sourceSpan == NO_SOURCE || !(getRootNode() instanceof NSourceRoot root)) {
+      return null;
+    }
+
+    Source source = root.getSource();
+    if (source == null) {
+      return null;
+    }
+
+    int charIndex = Math.min((int) (sourceSpan >>> 32), source.getLength());
+    int length = Math.min((int) sourceSpan, source.getLength() - charIndex);
+    return source.createSection(charIndex, length);
   }
 }
@@ -0,0 +1,59 @@
+package org.blade.language.nodes;
+
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import org.blade.language.BladeLanguage;
+import org.blade.language.nodes.statements.NBlockStmtNode;
+import org.blade.language.runtime.BladeContext;
+
+/**
+ * Root of a parsed source. Output written by the script is flushed once the
+ * evaluation completes, whether it completes normally or with an error.
+ */
+public final class NScriptRootNode extends RootNode implements NSourceRoot {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NBlockStmtNode block;
+
+  private final String name;
+
+  private final SourceSection sourceSection;
+
+  public NScriptRootNode(BladeLanguage language, FrameDescriptor frameDescriptor, NBlockStmtNode block, String name, SourceSection sourceSection) {
+    super(language, frameDescriptor);
+    this.block = block;
+    this.name = name;
+    this.sourceSection = sourceSection;
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    try {
+      return block.execute(frame);
+    } finally {
+      BladeContext.get(this).flushOutput();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return block.getDescription();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public SourceSection getSourceSection() {
+    return sourceSection == null ? block.getSourceSection() : sourceSection;
+  }
+
+  @Override
+  public Source getSource() {
+    return sourceSection == null ? null : sourceSection.getSource();
+  }
+}
@@ -40,7 +40,7 @@ public abstract class NSharedPropertyReaderNode extends NBaseNode {
     Object target, Object property,
     @CachedLibrary("target") InteropLibrary interopLibrary,
     @CachedLibrary(limit = "3") @Cached.Shared("objectLibrary") DynamicObjectLibrary objectLibrary,
-    @Cached(value = "languageContext().objectsModel", neverDefault = false) BuiltinClassesModel classesModel
+    @Cached(value = "objectsModel()", neverDefault = true) BuiltinClassesModel classesModel
   ) {
     throw BladeRuntimeError.typeError(this, BString.concatString("Cannot read properties of nil (reading '", property, "')"));
   }
@@ -49,7 +49,7 @@ public abstract class NSharedPropertyReaderNode extends NBaseNode {
   protected Object doUnknown(
     @SuppressWarnings("unused") Object target,
     @SuppressWarnings("unused") Object property,
-    @Cached(value = "languageContext().objectsModel.objectObject", neverDefault = false) BObject objectObject,
+    @Cached(value = "objectsModel().objectObject", neverDefault = true) BObject objectObject,
     @CachedLibrary(limit = "3") @Cached.Shared("objectLibrary") DynamicObjectLibrary objectLibrary
   ) {
     return objectLibrary.getOrDefault(objectObject, BString.toString(property), BladeNil.SINGLETON);
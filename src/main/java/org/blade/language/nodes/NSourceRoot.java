@@ -0,0 +1,15 @@
+package org.blade.language.nodes;
+
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Implemented by root nodes of translated code. Nodes only store the offset
+ * and length of their source span and resolve it against the source of
+ * their root when a section is requested.
+ */
+public interface NSourceRoot {
+  /**
+   * @return the source of the root or <code>null</code> if it has none
+   */
+  Source getSource();
+}
@@ -0,0 +1,48 @@
+package org.blade.language.nodes.expressions;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import org.blade.language.nodes.NBinaryNode;
+import org.blade.language.nodes.NNode;
+import org.blade.language.nodes.NSharedPropertyReaderNode;
+import org.blade.language.nodes.NSharedPropertyReaderNodeGen;
+import org.blade.language.nodes.NSharedPropertyWriterNode;
+import org.blade.language.nodes.NSharedPropertyWriterNodeGen;
+
+/**
+ * Applies an operator to a property in place, as in <code>a.b += c</code>.
+ * The target is evaluated once and the property is read before the value
+ * is evaluated.
+ */
+public final class NCompoundSetPropertyNode extends NNode {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode targetNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode valueNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NBinaryNode operatorNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NSharedPropertyReaderNode propertyReader = NSharedPropertyReaderNodeGen.create();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NSharedPropertyWriterNode propertyWriter = NSharedPropertyWriterNodeGen.create();
+
+  private final String name;
+
+  public NCompoundSetPropertyNode(NNode targetNode, String name, NBinaryNode operatorNode, NNode valueNode) {
+    this.targetNode = targetNode;
+    this.name = name;
+    this.operatorNode = operatorNode;
+    this.valueNode = valueNode;
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    Object target = targetNode.execute(frame);
+    Object current = propertyReader.executeRead(target, name);
+    Object result = operatorNode.executeEvaluated(current, valueNode.execute(frame));
+    return propertyWriter.executeWrite(target, name, result);
+  }
+}
@@ -1,5 +1,6 @@
 package org.blade.language.nodes.expressions;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -10,6 +11,7 @@ import com.oracle.truffle.api.object.Property;
 import org.blade.language.nodes.NGlobalScopeObjectNode;
 import org.blade.language.nodes.NNode;
 import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.GlobalScopeObject;
 
 @NodeChild(value = "globalScopeNode", type = NGlobalScopeObjectNode.class)
 @NodeChild(value = "expr")
@@ -27,9 +29,16 @@ public abstract class NGlobalAssignExprNode extends NNode {
       throw BladeRuntimeError.create("'", name, "' is not defined in this scope");
     } else if (property.getFlags() == 1) {
       throw BladeRuntimeError.create("Assignment to constant variable '", name, "'");
+    } else if (property.getFlags() == GlobalScopeObject.BUILTIN) {
+      CompilerDirectives.transferToInterpreter();
+      GlobalScopeObject.unbindBuiltin(globalScope, name);
     }
 
-    objectLibrary.put(globalScope, name, value);
+    if (isSingleThreaded()) {
+      objectLibrary.put(globalScope, name, value);
+    } else {
+      GlobalScopeObject.putShared(globalScope, name, value, 0);
+    }
     return value;
   }
 }
@@ -13,7 +13,7 @@ import org.blade.language.runtime.BladeRuntimeError;
 @NodeChild(value = "globalScopeNode", type = NGlobalScopeObjectNode.class)
 @NodeField(name = "name", type = String.class)
 public abstract class NGlobalVarRefExprNode extends NNode {
-  protected abstract String getName();
+  public abstract String getName();
 
   @Specialization(limit = "3")
   protected Object read(DynamicObject globalScope,
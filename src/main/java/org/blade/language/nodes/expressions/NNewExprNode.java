@@ -36,7 +36,7 @@ public abstract class NNewExprNode extends NNode {
   @Specialization(limit = "3")
   protected Object doObject(VirtualFrame frame, BladeClass classObject,
                             @CachedLibrary("classObject") InteropLibrary interopLibrary) {
-    BladeObject object = new BladeObject(languageContext().objectsModel.rootShape, classObject);
+    BladeObject object = new BladeObject(objectsModel().rootShape, classObject);
     Object constructor = null;
     try {
       constructor = interopLibrary.readMember(classObject, "@new");
@@ -1,14 +1,18 @@
 package org.blade.language.nodes.expressions.arithemetic;
 
+import com.oracle.truffle.api.bytecode.OperationProxy;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 import org.blade.language.nodes.NBinaryNode;
 import org.blade.language.runtime.BladeRuntimeError;
 
+@OperationProxy.Proxyable
 public abstract class NDivideNode extends NBinaryNode {
 
   @Specialization(rewriteOn = ArithmeticException.class, guards = "right > 0")
-  protected long doLongs(long left, long right) {
+  protected static long doLongs(long left, long right) {
     if(left % right == 0) {
       return left / right;
     }
@@ -16,33 +20,33 @@ public abstract class NDivideNode extends NBinaryNode {
   }
 
   @Specialization(rewriteOn = ArithmeticException.class, guards = "left > 0")
-  protected long doLongs2(long left, long right) {
+  protected static long doLongs2(long left, long right) {
     return doLongs(left, right);
   }
 
   @Specialization(rewriteOn = ArithmeticException.class, guards = "isCornerCase(left, right)")
-  protected long doLongs3(long left, long right) {
+  protected static long doLongs3(long left, long right) {
     return doLongs(left, right);
   }
 
   @Specialization(guards = {"isDouble(left)", "isLong(right)"})
-  protected double doDoubleLong(double left, long right) {
+  protected static double doDoubleLong(double left, long right) {
     return left / right;
   }
 
   @Specialization(guards = {"isLong(left)", "isDouble(right)"})
-  protected double doLongDouble(long left, double right) {
+  protected static double doLongDouble(long left, double right) {
     return (double)left / right;
   }
 
   @Specialization(replaces = {"doLongs", "doLongs2", "doLongs3"})
-  protected double doDoubles(double left, double right) {
+  protected static double doDoubles(double left, double right) {
     return left / right;
   }
 
   @Fallback
-  protected double doUnsupported(Object left, Object right) {
-    throw BladeRuntimeError.argumentError(this,"/", left, right);
+  protected static double doUnsupported(Object left, Object right, @Bind Node node) {
+    throw BladeRuntimeError.argumentError(node, "/", left, right);
   }
 
   protected static boolean isCornerCase(long a, long b) {
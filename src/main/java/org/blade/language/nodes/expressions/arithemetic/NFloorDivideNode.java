@@ -1,24 +1,28 @@
 package org.blade.language.nodes.expressions.arithemetic;
 
+import com.oracle.truffle.api.bytecode.OperationProxy;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 import org.blade.language.nodes.NBinaryNode;
 import org.blade.language.runtime.BladeRuntimeError;
 
+@OperationProxy.Proxyable
 public abstract class NFloorDivideNode extends NBinaryNode {
 
   @Specialization(rewriteOn = ArithmeticException.class)
-  protected long doLongs(long left, long right) {
+  protected static long doLongs(long left, long right) {
     return Math.divideExact(left, right);
   }
 
   @Specialization(replaces = "doLongs")
-  protected double doDoubles(double left, double right) {
+  protected static double doDoubles(double left, double right) {
     return Math.floor(left / right);
   }
 
   @Fallback
-  protected double doUnsupported(Object left, Object right) {
-    throw BladeRuntimeError.argumentError(this,"//", left, right);
+  protected static double doUnsupported(Object left, Object right, @Bind Node node) {
+    throw BladeRuntimeError.argumentError(node, "//", left, right);
   }
 }
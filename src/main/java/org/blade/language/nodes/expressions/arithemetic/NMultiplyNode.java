@@ -1,10 +1,13 @@
 package org.blade.language.nodes.expressions.arithemetic;
 
+import com.oracle.truffle.api.bytecode.OperationProxy;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.strings.TruffleString;
 import org.blade.language.BladeLanguage;
 import org.blade.language.nodes.NBinaryNode;
@@ -14,27 +17,29 @@ import org.blade.language.runtime.BladeRuntimeError;
 import org.blade.language.shared.BuiltinClassesModel;
 
 @ImportStatic(Integer.class)
+@OperationProxy.Proxyable
 public abstract class NMultiplyNode extends NBinaryNode {
 
   @Specialization(rewriteOn = ArithmeticException.class)
-  protected long doLongs(long left, long right) {
+  protected static long doLongs(long left, long right) {
     return Math.multiplyExact(left, right);
   }
 
   @Specialization(replaces = {"doLongs"})
-  protected double doDoubles(double left, double right) {
+  protected static double doDoubles(double left, double right) {
     return left * right;
   }
 
   @Specialization
-  protected TruffleString doStringMultiplication(TruffleString string, long count,
-                                                 @Cached TruffleString.RepeatNode repeatNode) {
+  protected static TruffleString doStringMultiplication(TruffleString string, long count,
+                                                        @Cached TruffleString.RepeatNode repeatNode) {
     return repeatNode.execute(string, (int)count, BladeLanguage.ENCODING);
   }
 
   @Specialization(guards = "count <= MAX_VALUE")
-  protected ListObject doListMultiplication(ListObject list, long count) {
-    BuiltinClassesModel objectModel = BladeContext.get(this).objectsModel;
+  protected static ListObject doListMultiplication(ListObject list, long count,
+                                                  @Bind BladeContext context) {
+    BuiltinClassesModel objectModel = context.objectsModel;
     return new ListObject(
       objectModel.listShape,
       objectModel.listObject,
@@ -43,12 +48,12 @@ public abstract class NMultiplyNode extends NBinaryNode {
   }
 
   @Specialization(guards = "count > MAX_VALUE")
-  protected ListObject doListMultiplicationOutOfBound(ListObject list, long count) {
+  protected static ListObject doListMultiplicationOutOfBound(ListObject list, long count) {
     throw BladeRuntimeError.create("List multiplication count out of bounds (", count, " > ", Integer.MAX_VALUE, ")");
   }
 
   @ExplodeLoop
-  private Object[] repeatList(ListObject list, long count) {
+  private static Object[] repeatList(ListObject list, long count) {
     int size = (int) list.getArraySize();
     int finalSize = (int)(size * count);
 
@@ -62,7 +67,7 @@ public abstract class NMultiplyNode extends NBinaryNode {
   }
 
   @Fallback
-  protected double doUnsupported(Object left, Object right) {
-    throw BladeRuntimeError.argumentError(this, "*", left, right);
+  protected static double doUnsupported(Object left, Object right, @Bind Node node) {
+    throw BladeRuntimeError.argumentError(node, "*", left, right);
   }
 }
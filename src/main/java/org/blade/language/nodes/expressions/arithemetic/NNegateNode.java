@@ -1,24 +1,28 @@
 package org.blade.language.nodes.expressions.arithemetic;
 
+import com.oracle.truffle.api.bytecode.OperationProxy;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 import org.blade.language.nodes.NUnaryNode;
 import org.blade.language.runtime.BladeRuntimeError;
 
+@OperationProxy.Proxyable
 public abstract class NNegateNode extends NUnaryNode {
 
   @Specialization(rewriteOn = ArithmeticException.class)
-  protected long doLong(long value) {
+  protected static long doLong(long value) {
     return -value;
   }
 
   @Specialization(replaces = "doLong")
-  protected double doDouble(double value) {
+  protected static double doDouble(double value) {
     return -value;
   }
 
   @Fallback
-  protected double doUnsupported(Object value) {
-    throw BladeRuntimeError.argumentError(this,"-", value);
+  protected static double doUnsupported(Object value, @Bind Node node) {
+    throw BladeRuntimeError.argumentError(node, "-", value);
   }
 }
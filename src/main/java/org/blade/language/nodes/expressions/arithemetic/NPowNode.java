@@ -1,14 +1,18 @@
 package org.blade.language.nodes.expressions.arithemetic;
 
+import com.oracle.truffle.api.bytecode.OperationProxy;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 import org.blade.language.nodes.NBinaryNode;
 import org.blade.language.runtime.BladeRuntimeError;
 
+@OperationProxy.Proxyable
 public abstract class NPowNode extends NBinaryNode {
 
   @Specialization(rewriteOn = ArithmeticException.class)
-  protected long doLongs(long left, long right) {
+  protected static long doLongs(long left, long right) {
     double result = Math.pow(left, right);
     if(result < Long.MIN_VALUE || result > Long.MAX_VALUE) {
       throw new ArithmeticException();
@@ -18,22 +22,22 @@ public abstract class NPowNode extends NBinaryNode {
   }
 
   @Specialization(guards = {"isDouble(left)", "isLong(right)"})
-  protected double doDoubleLong(double left, long right) {
+  protected static double doDoubleLong(double left, long right) {
     return Math.pow(left, (double) right);
   }
 
   @Specialization(guards = {"isLong(left)", "isDouble(right)"})
-  protected double doLongDouble(long left, double right) {
+  protected static double doLongDouble(long left, double right) {
     return Math.pow((double) left, right);
   }
 
   @Specialization(replaces = "doLongs")
-  protected double doDoubles(double left, double right) {
+  protected static double doDoubles(double left, double right) {
     return Math.pow(left, right);
   }
 
   @Fallback
-  protected double doUnsupported(Object left, Object right) {
-    throw BladeRuntimeError.argumentError(this,"**", left, right);
+  protected static double doUnsupported(Object left, Object right, @Bind Node node) {
+    throw BladeRuntimeError.argumentError(node, "**", left, right);
   }
 }
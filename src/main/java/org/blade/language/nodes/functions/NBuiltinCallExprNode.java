@@ -0,0 +1,65 @@
+package org.blade.language.nodes.functions;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import org.blade.language.nodes.NNode;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A call of a builtin function read from a global, which embeds the node of
+ * the builtin. The builtin evaluates the arguments itself, the call needs no
+ * frame and the specializations of the builtin only see the values of this
+ * call site.
+ * <p>
+ * The global is not read while no scope has rebound the builtin, so the
+ * check folds away in compiled code. Once one does, the call site becomes a
+ * regular call.
+ */
+public final class NBuiltinCallExprNode extends NNode {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child
+  private NNode builtin;
+
+  private final Assumption binding;
+
+  // the call this node was made from, which is restored when the global is rebound
+  private final NFunctionCallExprNode call;
+
+  NBuiltinCallExprNode(NNode builtin, Assumption binding, NFunctionCallExprNode call) {
+    this.builtin = builtin;
+    this.binding = binding;
+    this.call = call;
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    if (binding.isValid()) {
+      return builtin.execute(frame);
+    }
+
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    return restoreCall().execute(frame);
+  }
+
+  /**
+   * Executes the builtin once the call has already evaluated the callee.
+   */
+  Object executeBuiltin(VirtualFrame frame) {
+    return builtin.execute(frame);
+  }
+
+  private NFunctionCallExprNode restoreCall() {
+    Lock lock = getLock();
+    lock.lock();
+    try {
+      if (call.getParent() == null) {
+        replace(call, "builtin rebound");
+      }
+      return call;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
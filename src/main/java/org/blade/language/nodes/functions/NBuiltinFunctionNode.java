@@ -4,7 +4,9 @@ import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeChild;
 import org.blade.language.nodes.NNode;
 
-@NodeChild(value = "arguments", type = NReadFunctionArgsExprNode[].class)
+// the arguments are read from the frame when the builtin is called, or
+// evaluated in place when a call site embeds it
+@NodeChild(value = "arguments", type = NNode[].class)
 @GenerateNodeFactory
 public abstract class NBuiltinFunctionNode extends NNode {
 }
@@ -1,16 +1,20 @@
 package org.blade.language.nodes.functions;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Executed;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import org.blade.language.BladeLanguage;
 import org.blade.language.nodes.NNode;
+import org.blade.language.nodes.expressions.NGlobalVarRefExprNode;
 import org.blade.language.runtime.*;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 public abstract class NFunctionCallExprNode extends NNode {
 
@@ -25,6 +29,9 @@ public abstract class NFunctionCallExprNode extends NNode {
   @SuppressWarnings("FieldMayBeFinal")
   @Child
   private NFunctionDispatchNode dispatchNode = NFunctionDispatchNodeGen.create();
+  // only the first call with the same number of arguments may embed a builtin
+  @CompilerDirectives.CompilationFinal
+  private boolean inlineBuiltins = true;
 
   public NFunctionCallExprNode(NNode target, List<NNode> arguments) {
     this.target = target;
@@ -32,37 +39,41 @@ public abstract class NFunctionCallExprNode extends NNode {
     argsMinus1 = this.arguments.length - 1;
   }
 
+  public abstract Object executeWith(VirtualFrame frame, Object function);
+
   @Specialization(guards = {"function.argumentsCount == argsMinus1", "!function.variadic"})
-  protected Object doSameSize(VirtualFrame frame, FunctionObject function,
-                              @Cached("function") FunctionObject cachedFunction) {
-    return dispatchNode.executeDispatch(cachedFunction, consumeArguments(frame));
+  protected Object doSameSize(VirtualFrame frame, FunctionObject function) {
+    if (inlineBuiltins) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      NBuiltinCallExprNode builtinCall = inlineBuiltin(function);
+      if (builtinCall != null) {
+        return builtinCall.executeBuiltin(frame);
+      }
+    }
+    return dispatchNode.executeDispatch(function, consumeArguments(frame));
   }
 
   @Specialization(guards = {"function.variadic", "arguments.length < function.argumentsCount"})
   protected Object doVariableLessSize(VirtualFrame frame, FunctionObject function,
-                                      @Cached("function") FunctionObject cachedFunction,
-                                      @Cached(value = "languageContext()", neverDefault = false) @Cached.Shared("group") BladeContext context) {
-    return dispatchNode.executeDispatch(cachedFunction, expandLessVarArguments(context, cachedFunction, consumeArguments(frame)));
+                                      @Bind BladeContext context) {
+    return dispatchNode.executeDispatch(function, expandLessVarArguments(context, function, consumeArguments(frame)));
   }
 
   @Specialization(guards = {"function.variadic", "arguments.length >= function.argumentsCount", "function.argumentsCount > 1"})
   protected Object doVariableMoreSize(VirtualFrame frame, FunctionObject function,
-                                      @Cached("function") FunctionObject cachedFunction,
-                                      @Cached(value = "languageContext()", neverDefault = false) @Cached.Shared("group") BladeContext context) {
-    return dispatchNode.executeDispatch(cachedFunction, expandMoreVarArguments(context, cachedFunction, consumeArguments(frame)));
+                                      @Bind BladeContext context) {
+    return dispatchNode.executeDispatch(function, expandMoreVarArguments(context, function, consumeArguments(frame)));
   }
 
   @Specialization(guards = {"function.variadic", "arguments.length >= function.argumentsCount", "function.argumentsCount == 1"})
   protected Object doVariableNoSize(VirtualFrame frame, FunctionObject function,
-                                    @Cached("function") FunctionObject cachedFunction,
-                                    @Cached(value = "languageContext()", neverDefault = false) @Cached.Shared("group") BladeContext context) {
-    return dispatchNode.executeDispatch(cachedFunction, expandNoVarArguments(context, cachedFunction, consumeArguments(frame)));
+                                    @Bind BladeContext context) {
+    return dispatchNode.executeDispatch(function, expandNoVarArguments(context, function, consumeArguments(frame)));
   }
 
   @Specialization(replaces = "doSameSize")
-  protected Object doNotSameSize(VirtualFrame frame, FunctionObject function,
-                                 @Cached("function") FunctionObject cachedFunction) {
-    return dispatchNode.executeDispatch(cachedFunction, extendArguments(cachedFunction, consumeArguments(frame)));
+  protected Object doNotSameSize(VirtualFrame frame, FunctionObject function) {
+    return dispatchNode.executeDispatch(function, extendArguments(function, consumeArguments(frame)));
   }
 
   @Fallback
@@ -71,6 +82,62 @@ public abstract class NFunctionCallExprNode extends NNode {
     throw BladeRuntimeError.create("'", object, "' is not a callable function");
   }
 
+  /**
+   * Replaces this call with one that embeds the node of the builtin it
+   * calls, when the callee is a global that still holds the builtin. The
+   * arguments of this call move to the builtin, and a copy of this call is
+   * kept in case the global is rebound.
+   *
+   * @return the new call, or null when the callee is not such a global
+   */
+  private NBuiltinCallExprNode inlineBuiltin(FunctionObject function) {
+    Lock lock = getLock();
+    lock.lock();
+    try {
+      if (!inlineBuiltins) {
+        return null;
+      }
+      inlineBuiltins = false;
+
+      if (!(target instanceof NGlobalVarRefExprNode global) || getParent() == null) {
+        return null;
+      }
+
+      Assumption binding = BladeLanguage.get(this).builtinBinding(global.getName());
+      NFunctionRootNode root = NFunctionRootNode.of(function.getCallTarget());
+      if (binding == null || !binding.isValid() || root == null) {
+        return null;
+      }
+
+      NFunctionCallExprNode call = (NFunctionCallExprNode) deepCopy();
+      // the arguments start with the nil receiver of a function call
+      NBuiltinCallExprNode builtinCall = new NBuiltinCallExprNode(root.inline(arguments), binding, call);
+      builtinCall.copySourceSection(this);
+      return replace(builtinCall, "inlined builtin " + function.name);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Arranges evaluated arguments for a call to the given function the same
+   * way the specializations above do. Used where the call site cannot
+   * specialize on the function, such as the bytecode interpreter.
+   */
+  public static Object[] arrangeArguments(BladeContext context, FunctionObject function, Object[] values) {
+    if (!function.variadic) {
+      return function.argumentsCount == values.length - 1 ? values : extendArguments(function, values);
+    } else if (function.argumentsCount == 0) {
+      return extendArguments(function, values);
+    } else if (values.length < function.argumentsCount) {
+      return expandLessVarArguments(context, function, values);
+    } else if (function.argumentsCount > 1) {
+      return expandMoreVarArguments(context, function, values);
+    }
+
+    return expandNoVarArguments(context, function, values);
+  }
+
   @ExplodeLoop
   private Object[] consumeArguments(VirtualFrame frame) {
     Object[] values = new Object[arguments.length];
@@ -81,7 +148,7 @@ public abstract class NFunctionCallExprNode extends NNode {
   }
 
   @ExplodeLoop
-  private Object[] extendArguments(FunctionObject function, Object[] arguments) {
+  private static Object[] extendArguments(FunctionObject function, Object[] arguments) {
     Object[] ret = new Object[function.argumentsCount];
 
     if (arguments.length > 0) {
@@ -99,7 +166,7 @@ public abstract class NFunctionCallExprNode extends NNode {
    * Specially used for variadic functions
    */
   @ExplodeLoop
-  private Object[] expandLessVarArguments(BladeContext context, FunctionObject function, Object[] arguments) {
+  private static Object[] expandLessVarArguments(BladeContext context, FunctionObject function, Object[] arguments) {
     int finalLength = function.argumentsCount + 1;
     Object[] ret = new Object[finalLength];
 
@@ -124,7 +191,7 @@ public abstract class NFunctionCallExprNode extends NNode {
    * Specially used for variadic functions
    */
   @ExplodeLoop
-  private Object[] expandMoreVarArguments(BladeContext context, FunctionObject function, Object[] arguments) {
+  private static Object[] expandMoreVarArguments(BladeContext context, FunctionObject function, Object[] arguments) {
     int finalLength = function.argumentsCount + 1;
     Object[] ret = new Object[finalLength];
 
@@ -147,7 +214,7 @@ public abstract class NFunctionCallExprNode extends NNode {
    * Specially used for variadic functions
    */
   @ExplodeLoop
-  private Object[] expandNoVarArguments(BladeContext context, FunctionObject function, Object[] arguments) {
+  private static Object[] expandNoVarArguments(BladeContext context, FunctionObject function, Object[] arguments) {
     Object[] ret = new Object[2];
 
     Object[] variadic = new Object[arguments.length - 1];
@@ -2,6 +2,7 @@ package org.blade.language.nodes.functions;
 
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.DirectCallNode;
 import com.oracle.truffle.api.nodes.IndirectCallNode;
@@ -9,14 +10,15 @@ import com.oracle.truffle.api.nodes.Node;
 import org.blade.language.runtime.FunctionObject;
 import org.blade.language.runtime.BladeRuntimeError;
 
+@ImportStatic(NFunctionRootNode.class)
 @SuppressWarnings("truffle-inlining")
 public abstract class NFunctionDispatchNode extends Node {
   public abstract Object executeDispatch(Object function, Object[] values);
 
-  @Specialization(guards = "function.callTarget == callNode.getCallTarget()", limit = "3")
+  @Specialization(guards = "function.getCallTarget() == callNode.getCallTarget()", limit = "3")
   protected Object directDispatch(
     FunctionObject function, Object[] arguments,
-    @Cached("create(function.callTarget)") DirectCallNode callNode
+    @Cached("createCallNode(function.getCallTarget())") DirectCallNode callNode
   ) {
     return callNode.call(arguments);
   }
@@ -24,10 +26,9 @@ public abstract class NFunctionDispatchNode extends Node {
   @Specialization(replaces = "directDispatch")
   protected Object indirectDispatch(
     FunctionObject function, Object[] arguments,
-    @Cached("function") FunctionObject cachedFunction,
     @Cached IndirectCallNode callNode
   ) {
-    return callNode.call(cachedFunction.callTarget, arguments);
+    return callNode.call(function.getCallTarget(), arguments);
   }
 
   @Fallback
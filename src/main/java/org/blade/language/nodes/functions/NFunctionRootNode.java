@@ -1,21 +1,91 @@
 package org.blade.language.nodes.functions;
 
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
 import com.oracle.truffle.api.nodes.RootNode;
 import org.blade.language.BladeLanguage;
 import org.blade.language.nodes.NNode;
 
+import java.util.Arrays;
+
+/**
+ * The root of a builtin function. A call site either embeds the builtin
+ * node itself or calls a copy of this root made for it, so that the
+ * specializations of a builtin only see the values of one call site.
+ */
 public class NFunctionRootNode extends RootNode {
   @SuppressWarnings("FieldMayBeFinal")
   @Child private NNode body;
 
-  public NFunctionRootNode(BladeLanguage language, NNode functionBody) {
+  private final NodeFactory<? extends NBuiltinFunctionNode> factory;
+
+  // whether the arguments start after the receiver
+  private final boolean offset;
+
+  public NFunctionRootNode(BladeLanguage language, NodeFactory<? extends NBuiltinFunctionNode> factory, boolean offset) {
     super(language);
-    this.body = functionBody;
+    this.factory = factory;
+    this.offset = offset;
+
+    NReadFunctionArgsExprNode[] arguments = new NReadFunctionArgsExprNode[factory.getExecutionSignature().size()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = new NReadFunctionArgsExprNode(offset ? i + 1 : i, "arg" + i);
+    }
+    this.body = factory.createNode((Object) arguments);
   }
 
   @Override
   public Object execute(VirtualFrame frame) {
     return body.execute(frame);
   }
+
+  /**
+   * Creates a new node of this builtin that evaluates the arguments of a
+   * call itself instead of reading them from the frame.
+   *
+   * @param arguments the arguments of a call, the first of which is the
+   *                  receiver, with as many as the builtin accepts
+   */
+  public NNode inline(NNode[] arguments) {
+    return factory.createNode((Object) (offset ? Arrays.copyOfRange(arguments, 1, arguments.length) : arguments.clone()));
+  }
+
+  @Override
+  public boolean isCloningAllowed() {
+    return true;
+  }
+
+  @Override
+  protected boolean isCloneUninitializedSupported() {
+    return true;
+  }
+
+  @Override
+  protected RootNode cloneUninitialized() {
+    return new NFunctionRootNode(getLanguage(BladeLanguage.class), factory, offset);
+  }
+
+  /**
+   * Returns the builtin root of a call target, or null for any other function.
+   */
+  public static NFunctionRootNode of(CallTarget target) {
+    return target instanceof RootCallTarget rootTarget && rootTarget.getRootNode() instanceof NFunctionRootNode root
+      ? root
+      : null;
+  }
+
+  /**
+   * Creates the call node of a call site, which calls its own copy of the
+   * target when it is a builtin.
+   */
+  public static DirectCallNode createCallNode(CallTarget target) {
+    DirectCallNode callNode = DirectCallNode.create(target);
+    if (of(target) != null) {
+      callNode.cloneCallTarget();
+    }
+    return callNode;
+  }
 }
@@ -4,49 +4,61 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.instrumentation.Tag;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.source.SourceSection;
-import org.blade.language.BladeLanguage;
-import org.blade.language.nodes.NFunctionRootNode;
 import org.blade.language.nodes.NNode;
 import org.blade.language.nodes.NStmtNode;
 import org.blade.language.runtime.BladeNil;
 import org.blade.language.runtime.FunctionObject;
+import org.blade.language.runtime.GlobalScopeObject;
+import org.blade.language.runtime.LazyCallTarget;
 import org.blade.language.shared.BuiltinClassesModel;
 
 @NodeChild(value = "containerNode", type = NNode.class)
 @NodeField(name = "name", type = String.class)
-@NodeField(name = "frameDescriptor", type = FrameDescriptor.class)
-@NodeField(name = "body", type = NFunctionBodyNode.class)
+@NodeField(name = "callTarget", type = LazyCallTarget.class)
 @NodeField(name = "argumentCount", type = int.class)
 @NodeField(name = "isVariadic", type = int.class)
 public abstract class NFunctionStmtNode extends NStmtNode {
   protected abstract String getName();
-  protected abstract FrameDescriptor getFrameDescriptor();
-  protected abstract NFunctionBodyNode getBody();
+  protected abstract LazyCallTarget getCallTarget();
   protected abstract int getArgumentCount();
   protected abstract int getIsVariadic();
 
+  // only used while the engine has a single context
   @CompilerDirectives.CompilationFinal
   private FunctionObject cachedFunction = null;
 
   @Specialization(limit = "3")
   public Object declare(DynamicObject container,
                         @CachedLibrary("container") DynamicObjectLibrary objectLibrary) {
+    if (objectLibrary.getPropertyFlags(container, getName(), 0) == GlobalScopeObject.BUILTIN) {
+      CompilerDirectives.transferToInterpreter();
+      GlobalScopeObject.unbindBuiltin(container, getName());
+    }
+    objectLibrary.putConstant(container, getName(), function(), 0);
+    return BladeNil.SINGLETON;
+  }
+
+  private FunctionObject function() {
+    // a function object belongs to the context that declared it
+    if (!isSingleContext()) {
+      return createFunction();
+    }
+
     if (cachedFunction == null) {
       CompilerDirectives.transferToInterpreterAndInvalidate();
-
-      NFunctionRootNode function = new NFunctionRootNode(BladeLanguage.get(this), getFrameDescriptor(), getBody(), getName());
-      BuiltinClassesModel classesModel = languageContext().objectsModel;
-      cachedFunction = new FunctionObject(classesModel.rootShape, classesModel.functionObject, getName(), function.getCallTarget(), getArgumentCount(), getIsVariadic() == 1);
+      cachedFunction = createFunction();
     }
+    return cachedFunction;
+  }
 
-    objectLibrary.putConstant(container, getName(), cachedFunction, 0);
-    return BladeNil.SINGLETON;
+  private FunctionObject createFunction() {
+    BuiltinClassesModel classesModel = objectsModel();
+    return new FunctionObject(classesModel.rootShape, classesModel.functionObject, getName(), getCallTarget(), getArgumentCount(), getIsVariadic() == 1);
   }
 
   @Override
@@ -9,26 +9,25 @@ import org.blade.language.runtime.FunctionObject;
 import org.blade.language.runtime.BladeNil;
 import org.blade.language.runtime.BladeRuntimeError;
 
+@ImportStatic(NFunctionRootNode.class)
 @SuppressWarnings("truffle-inlining")
 public abstract class NMethodDispatchNode extends Node {
   public abstract Object executeDispatch(Object function, Object receiver, Object[] values);
 
-  @Specialization(guards = "function.callTarget == callNode.getCallTarget()", limit = "3")
+  @Specialization(guards = "function.getCallTarget() == callNode.getCallTarget()", limit = "3")
   protected Object directDispatch(
     FunctionObject function, Object receiver, Object[] arguments,
-    @Cached("function") FunctionObject cachedFunction,
-    @Cached("create(function.callTarget)") DirectCallNode callNode
+    @Cached("createCallNode(function.getCallTarget())") DirectCallNode callNode
   ) {
-    return callNode.call(extendArguments(cachedFunction, receiver, arguments));
+    return callNode.call(extendArguments(function, receiver, arguments));
   }
 
   @Specialization(replaces = "directDispatch")
   protected Object indirectDispatch(
     FunctionObject function, Object receiver, Object[] arguments,
-    @Cached("function") FunctionObject cachedFunction,
     @Cached IndirectCallNode callNode
   ) {
-    return callNode.call(cachedFunction.callTarget, extendArguments(cachedFunction, receiver, arguments));
+    return callNode.call(function.getCallTarget(), extendArguments(function, receiver, arguments));
   }
 
   @Fallback
@@ -0,0 +1,46 @@
+package org.blade.language.nodes.list;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import org.blade.language.nodes.NBinaryNode;
+import org.blade.language.nodes.NNode;
+
+/**
+ * Applies an operator to an element in place, as in <code>a[i] += b</code>.
+ * The list and index are evaluated once and the element is read before the
+ * value is evaluated.
+ */
+public final class NCompoundIndexWriteNode extends NNode {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode listNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode indexNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode valueNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NBinaryNode operatorNode;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NListIndexReadNode.InnerNode readNode = NListIndexReadNodeGen.InnerNodeGen.create();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NListIndexWriteNode writeNode = NListIndexWriteNodeGen.create(null, null, null);
+
+  public NCompoundIndexWriteNode(NNode listNode, NNode indexNode, NBinaryNode operatorNode, NNode valueNode) {
+    this.listNode = listNode;
+    this.indexNode = indexNode;
+    this.operatorNode = operatorNode;
+    this.valueNode = valueNode;
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    Object list = listNode.execute(frame);
+    Object index = indexNode.execute(frame);
+    Object current = readNode.executeRead(list, index);
+    Object result = operatorNode.executeEvaluated(current, valueNode.execute(frame));
+    return writeNode.executeWrite(list, index, result);
+  }
+}
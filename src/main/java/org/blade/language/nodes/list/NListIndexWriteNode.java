@@ -17,6 +17,8 @@ import org.blade.language.runtime.BladeRuntimeError;
 @NodeChild("valueExpr")
 @ImportStatic(BString.class)
 public abstract class NListIndexWriteNode extends NNode {
+  public abstract Object executeWrite(Object list, Object index, Object value);
+
   @Specialization(guards = "listLibrary.isArrayElementWritable(list, index)", limit = "3")
   protected Object doLong(Object list, long index, Object value,
                           @CachedLibrary("list") InteropLibrary listLibrary) {
@@ -3,7 +3,6 @@ package org.blade.language.nodes.list;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import org.blade.language.nodes.NNode;
-import org.blade.language.runtime.BladeContext;
 import org.blade.language.runtime.ListObject;
 import org.blade.language.shared.BuiltinClassesModel;
 
@@ -25,7 +24,7 @@ public final class NListLiteralNode extends NNode {
       objects[i] = items[i].execute(frame);
     }
 
-    BuiltinClassesModel classesModel = BladeContext.get(this).objectsModel;
+    BuiltinClassesModel classesModel = objectsModel();
     return new ListObject(classesModel.listShape, classesModel.listObject, objects);
   }
 
@@ -0,0 +1,49 @@
+package org.blade.language.nodes.statements;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import org.blade.language.nodes.NNode;
+import org.blade.language.nodes.NStmtNode;
+import org.blade.language.runtime.BString;
+import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeRuntimeError;
+
+/**
+ * Raises an error when its condition is falsy. The message is only
+ * evaluated once the assertion has failed, so a passing assertion costs
+ * no more than its condition.
+ */
+public final class NAssertStmtNode extends NStmtNode {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode condition;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode message;
+
+  private final BranchProfile failed = BranchProfile.create();
+
+  public NAssertStmtNode(NNode condition, NNode message) {
+    this.condition = condition;
+    this.message = message;
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    if (!condition.executeBoolean(frame)) {
+      failed.enter();
+      throw fail(message == null ? null : message.execute(frame));
+    }
+
+    return BladeNil.SINGLETON;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private AbstractTruffleException fail(Object value) {
+    if (value == null) {
+      return BladeRuntimeError.error(this, "assertion failed");
+    }
+    return BladeRuntimeError.error(this, "assertion failed: ", BString.toString(value));
+  }
+}
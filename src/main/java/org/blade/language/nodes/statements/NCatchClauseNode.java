@@ -0,0 +1,45 @@
+package org.blade.language.nodes.statements;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import org.blade.language.nodes.NBaseNode;
+import org.blade.language.nodes.NInstanceOfNode;
+import org.blade.language.nodes.NInstanceOfNodeGen;
+import org.blade.language.nodes.NNode;
+
+public final class NCatchClauseNode extends NBaseNode {
+  // null for an untyped `catch e` clause.
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child
+  private NNode errorClass;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child
+  private NInstanceOfNode instanceOfNode;
+
+  // NOTE: Intentionally not compilation final!
+  private final int slot;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child
+  private NNode body;
+
+  public NCatchClauseNode(NNode errorClass, int slot, NNode body) {
+    this.errorClass = errorClass;
+    this.instanceOfNode = errorClass == null ? null : NInstanceOfNodeGen.create();
+    this.slot = slot;
+    this.body = body;
+  }
+
+  public boolean matches(VirtualFrame frame, Object error) {
+    if (errorClass == null) {
+      return true;
+    }
+
+    return instanceOfNode.executeCheck(error, errorClass.execute(frame));
+  }
+
+  public Object execute(VirtualFrame frame, Object error) {
+    frame.setObject(slot, error);
+    return body.execute(frame);
+  }
+}
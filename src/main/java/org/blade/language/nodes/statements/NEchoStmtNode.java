@@ -1,23 +1,46 @@
 package org.blade.language.nodes.statements;
 
-import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Executed;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
 import org.blade.language.nodes.NNode;
 import org.blade.language.nodes.NStmtNode;
-import org.blade.language.runtime.BladeContext;
+import org.blade.language.runtime.BString;
 import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeOutput;
 
-public final class NEchoStmtNode extends NStmtNode {
+public abstract class NEchoStmtNode extends NStmtNode {
   @SuppressWarnings("FieldMayBeFinal")
-  @Child private NNode object;
+  @Executed
+  @Child protected NNode object;
 
   public NEchoStmtNode(NNode object) {
     this.object = object;
   }
 
-  @Override
-  public Object execute(VirtualFrame frame) {
-    Object value = object.execute(frame);
-    BladeContext.get(this).println(value);
+  @Specialization
+  protected Object doString(TruffleString value,
+                            @Cached @Cached.Shared("switchEncoding") TruffleString.SwitchEncodingNode switchEncodingNode,
+                            @Cached @Cached.Shared("byteArray") TruffleString.GetInternalByteArrayNode byteArrayNode) {
+    BladeOutput output = languageContext().output;
+    output.write(value, switchEncodingNode, byteArrayNode);
+    output.newline();
+    return BladeNil.SINGLETON;
+  }
+
+  @Specialization
+  protected Object doLong(long value,
+                          @Cached TruffleString.FromLongNode fromLongNode,
+                          @Cached @Cached.Shared("switchEncoding") TruffleString.SwitchEncodingNode switchEncodingNode,
+                          @Cached @Cached.Shared("byteArray") TruffleString.GetInternalByteArrayNode byteArrayNode) {
+    return doString(BString.fromLong(fromLongNode, value), switchEncodingNode, byteArrayNode);
+  }
+
+  @Fallback
+  protected Object doObject(Object value) {
+    languageContext().println(value);
     return BladeNil.SINGLETON;
   }
 }
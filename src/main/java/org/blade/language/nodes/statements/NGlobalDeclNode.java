@@ -12,6 +12,7 @@ import org.blade.language.nodes.NGlobalScopeObjectNode;
 import org.blade.language.nodes.NNode;
 import org.blade.language.nodes.NStmtNode;
 import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.GlobalScopeObject;
 
 @NodeChild(value = "globalScopeNode", type = NGlobalScopeObjectNode.class)
 @NodeChild(value = "value", type = NNode.class)
@@ -21,24 +22,26 @@ public abstract class NGlobalDeclNode extends NStmtNode {
   protected abstract String getName();
   protected abstract boolean getIsConst();
 
-  @CompilerDirectives.CompilationFinal
-  private boolean exists = true;
-
   @Specialization(limit = "3")
   protected Object create(DynamicObject globalScope, Object value,
                           @CachedLibrary("globalScope") DynamicObjectLibrary objectLibrary) {
     String name = getName();
 
-    if (exists) {
-      CompilerDirectives.transferToInterpreterAndInvalidate();
-      exists = false;
-
-      if (objectLibrary.containsKey(globalScope, name)) {
-        throw BladeRuntimeError.create("'", name, "' already declared in this scope");
-      }
+    // the node is shared by every context, and runs again when its source
+    // is evaluated again, so the scope is checked on each execution
+    if (objectLibrary.getPropertyFlags(globalScope, name, 0) == GlobalScopeObject.BUILTIN) {
+      CompilerDirectives.transferToInterpreter();
+      GlobalScopeObject.unbindBuiltin(globalScope, name);
+    } else if (objectLibrary.containsKey(globalScope, name)) {
+      CompilerDirectives.transferToInterpreter();
+      throw BladeRuntimeError.create("'", name, "' already declared in this scope");
     }
 
-    objectLibrary.putWithFlags(globalScope, name, value, getIsConst() ? 1 : 0);
+    if (isSingleThreaded()) {
+      objectLibrary.putWithFlags(globalScope, name, value, getIsConst() ? 1 : 0);
+    } else {
+      GlobalScopeObject.putShared(globalScope, name, value, getIsConst() ? 1 : 0);
+    }
     return value;
   }
 
@@ -47,6 +50,6 @@ public abstract class NGlobalDeclNode extends NStmtNode {
     // Global variables representing class declarations don't provide a SourceSection,
     // since we don't want the debugger to stop on them.
     // For that reason, make sure to return the standard Statement tag only if we have a SourceSection
-    return this.getSourceSection() != null && super.hasTag(tag);
+    return hasSourceSection() && super.hasTag(tag);
   }
 }
@@ -0,0 +1,74 @@
+package org.blade.language.nodes.statements;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import org.blade.language.nodes.NGlobalScopeObjectNode;
+import org.blade.language.nodes.NStmtNode;
+import org.blade.language.runtime.BladeContext;
+import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.GlobalScopeObject;
+import org.blade.language.runtime.ModuleObject;
+
+public final class NImportStmtNode extends NStmtNode {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child
+  private NGlobalScopeObjectNode scopeNode;
+
+  // null when the importing source has no path, e.g. in the REPL
+  private final String importerPath;
+  private final String modulePath;
+
+  @CompilerDirectives.CompilationFinal(dimensions = 1)
+  private final String[] names;
+
+  private final boolean importsAll;
+
+  public NImportStmtNode(NGlobalScopeObjectNode scopeNode, String importerPath, String modulePath, String[] names, boolean importsAll) {
+    this.scopeNode = scopeNode;
+    this.importerPath = importerPath;
+    this.modulePath = modulePath;
+    this.names = names;
+    this.importsAll = importsAll;
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    DynamicObject scope = (DynamicObject) scopeNode.execute(frame);
+    bind(languageContext().importModule(this, importerPath, modulePath), scope);
+    return BladeNil.SINGLETON;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private void bind(ModuleObject module, DynamicObject scope) {
+    DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+    BladeContext context = languageContext();
+
+    if (importsAll) {
+      for (Object key : objectLibrary.getKeyArray(module)) {
+        if (!context.isBuiltinName(key)) {
+          put(objectLibrary, scope, key, objectLibrary.getOrDefault(module, key, BladeNil.SINGLETON));
+        }
+      }
+    } else if (names.length > 0) {
+      for (String name : names) {
+        Object value = objectLibrary.getOrDefault(module, name, null);
+        if (value == null) {
+          throw BladeRuntimeError.create("'", name, "' is not defined in module ", module.name);
+        }
+        put(objectLibrary, scope, name, value);
+      }
+    } else {
+      put(objectLibrary, scope, module.name, module);
+    }
+  }
+
+  private static void put(DynamicObjectLibrary objectLibrary, DynamicObject scope, Object name, Object value) {
+    if (objectLibrary.getPropertyFlags(scope, name, 0) == GlobalScopeObject.BUILTIN) {
+      GlobalScopeObject.unbindBuiltin(scope, (String) name);
+    }
+    objectLibrary.put(scope, name, value);
+  }
+}
@@ -3,6 +3,7 @@ package org.blade.language.nodes.statements;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import org.blade.language.nodes.NNode;
 import org.blade.language.nodes.NStmtNode;
 import org.blade.language.runtime.BladeRuntimeError;
@@ -12,31 +13,26 @@ public final class NTryCatchStmtNode extends NStmtNode {
   @Child
   private NNode body;
 
-  // NOTE: Intentionally not compilation final!
-  private final int slot;
-
-  @SuppressWarnings("FieldMayBeFinal")
-  @Child
-  private NNode catchBody;
+  @Children
+  private final NCatchClauseNode[] clauses;
 
   @SuppressWarnings("FieldMayBeFinal")
   @Child
   private NNode finallyBody;
 
   public NTryCatchStmtNode(NNode body, NNode finallyBody) {
-    this(body, -1, null, finallyBody);
+    this(body, new NCatchClauseNode[0], finallyBody);
   }
 
-  public NTryCatchStmtNode(NNode body, int slot, NNode catchBody, NNode finallyBody) {
+  public NTryCatchStmtNode(NNode body, NCatchClauseNode[] clauses, NNode finallyBody) {
     this.body = body;
-    this.slot = slot;
-    this.catchBody = catchBody;
+    this.clauses = clauses;
     this.finallyBody = finallyBody;
   }
 
   @Override
   public Object execute(VirtualFrame frame) {
-    if (this.slot == -1) {
+    if (clauses.length == 0) {
       try {
         return body.execute(frame);
       } finally {
@@ -46,8 +42,7 @@ public final class NTryCatchStmtNode extends NStmtNode {
       try {
         return body.execute(frame);
       } catch (BladeRuntimeError e) {
-        frame.setObject(slot, e.value);
-        return catchBody.execute(frame);
+        return executeCatch(frame, e);
       } finally {
         if (finallyBody != null) {
           finallyBody.execute(frame);
@@ -56,6 +51,19 @@ public final class NTryCatchStmtNode extends NStmtNode {
     }
   }
 
+  @ExplodeLoop
+  private Object executeCatch(VirtualFrame frame, BladeRuntimeError e) {
+    for (NCatchClauseNode clause : clauses) {
+      if (clause.matches(frame, e.value)) {
+        return clause.execute(frame, e.value);
+      }
+    }
+
+    // no clause handles this error, let the original exception continue
+    // unwinding so its captured stack trace is preserved.
+    throw e;
+  }
+
   @Override
   public boolean hasTag(Class<? extends Tag> tag) {
     return tag == StandardTags.TryBlockTag.class;
@@ -0,0 +1,161 @@
+package org.blade.language.nodes.statements;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.nodes.NBinaryNode;
+import org.blade.language.nodes.NNode;
+import org.blade.language.nodes.NStmtNode;
+import org.blade.language.runtime.BladeNil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the arm of the first <code>when</code> label equal to the value.
+ * <p>
+ * When every label is an integer literal, integer values are dispatched
+ * through a jump table if the labels are dense, or a hash map if they are
+ * not. When every label is a string literal, string values go through a
+ * hash map. Any other value, and any <code>using</code> with a label that
+ * is not a literal, compares the labels in order as an <code>if</code>
+ * chain would.
+ */
+public final class NUsingStmtNode extends NStmtNode {
+  private static final int NO_ARM = -1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode value;
+
+  @Children private final NNode[] labels;
+  @Children private final NBinaryNode[] comparisons;
+  @Children private final NNode[] arms;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode defaultArm;
+
+  @CompilerDirectives.CompilationFinal(dimensions = 1)
+  private final int[] labelArms;
+
+  @CompilerDirectives.CompilationFinal(dimensions = 1)
+  private final BranchProfile[] armTaken;
+  private final BranchProfile defaultTaken = BranchProfile.create();
+
+  // integer labels: a table of arms from tableBase, or a map if sparse
+  private final long tableBase;
+  @CompilerDirectives.CompilationFinal(dimensions = 1)
+  private final int[] jumpTable;
+  private final Map<Long, Integer> longArms;
+
+  private final Map<TruffleString, Integer> stringArms;
+
+  /**
+   * @param constants  the literal value of each label or <code>null</code>
+   *                   for labels that must be evaluated
+   * @param labelArms  the index in <code>arms</code> of each label
+   * @param defaultArm the <code>default</code> arm or <code>null</code>
+   */
+  public NUsingStmtNode(NNode value, NNode[] labels, Object[] constants, NBinaryNode[] comparisons,
+                        int[] labelArms, NNode[] arms, NNode defaultArm) {
+    this.value = value;
+    this.labels = labels;
+    this.comparisons = comparisons;
+    this.labelArms = labelArms;
+    this.arms = arms;
+    this.defaultArm = defaultArm;
+
+    this.armTaken = new BranchProfile[arms.length];
+    for (int i = 0; i < arms.length; i++) {
+      armTaken[i] = BranchProfile.create();
+    }
+
+    boolean allLongs = constants.length > 0;
+    boolean allStrings = constants.length > 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (Object constant : constants) {
+      allStrings &= constant instanceof TruffleString;
+      if (constant instanceof Long number) {
+        min = Math.min(min, number);
+        max = Math.max(max, number);
+      } else {
+        allLongs = false;
+      }
+    }
+
+    // the first label wins when the same value appears twice
+    if (allLongs && max - min >= 0 && max - min < 2L * constants.length + 8) {
+      tableBase = min;
+      jumpTable = new int[(int) (max - min + 1)];
+      Arrays.fill(jumpTable, NO_ARM);
+      for (int i = constants.length - 1; i >= 0; i--) {
+        jumpTable[(int) ((Long) constants[i] - min)] = labelArms[i];
+      }
+      longArms = null;
+    } else {
+      tableBase = 0;
+      jumpTable = null;
+      longArms = allLongs ? new HashMap<>() : null;
+    }
+
+    stringArms = allStrings ? new HashMap<>() : null;
+    for (int i = 0; i < constants.length; i++) {
+      if (longArms != null) {
+        longArms.putIfAbsent((Long) constants[i], labelArms[i]);
+      } else if (stringArms != null) {
+        stringArms.putIfAbsent((TruffleString) constants[i], labelArms[i]);
+      }
+    }
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    return executeArm(frame, findArm(frame, value.execute(frame)));
+  }
+
+  private int findArm(VirtualFrame frame, Object subject) {
+    if (subject instanceof Long number) {
+      if (jumpTable != null) {
+        long index = number - tableBase;
+        return index >= 0 && index < jumpTable.length ? jumpTable[(int) index] : NO_ARM;
+      } else if (longArms != null) {
+        return lookup(longArms, number);
+      }
+    } else if (subject instanceof TruffleString string && stringArms != null) {
+      return lookup(stringArms, string);
+    }
+
+    return compareLabels(frame, subject);
+  }
+
+  @ExplodeLoop
+  private int compareLabels(VirtualFrame frame, Object subject) {
+    for (int i = 0; i < labels.length; i++) {
+      if (NNode.evaluateBoolean(comparisons[i].executeEvaluated(subject, labels[i].execute(frame)))) {
+        return labelArms[i];
+      }
+    }
+    return NO_ARM;
+  }
+
+  @ExplodeLoop
+  private Object executeArm(VirtualFrame frame, int arm) {
+    for (int i = 0; i < arms.length; i++) {
+      if (i == arm) {
+        armTaken[i].enter();
+        return arms[i].execute(frame);
+      }
+    }
+
+    defaultTaken.enter();
+    return defaultArm != null ? defaultArm.execute(frame) : BladeNil.SINGLETON;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private static <K> int lookup(Map<K, Integer> arms, K key) {
+    return arms.getOrDefault(key, NO_ARM);
+  }
+}
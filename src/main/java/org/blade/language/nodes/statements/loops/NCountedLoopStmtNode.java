@@ -0,0 +1,55 @@
+package org.blade.language.nodes.statements.loops;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import org.blade.language.nodes.NNode;
+import org.blade.language.nodes.NStmtNode;
+import org.blade.language.runtime.BladeNil;
+
+/**
+ * An <code>iter</code> loop over a local counter that only the loop
+ * increment writes, such as <code>iter var i = 0; i &lt; n; i++</code>.
+ * A loop-invariant bound is evaluated once before the loop into its own
+ * slot.
+ */
+public final class NCountedLoopStmtNode extends NStmtNode {
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode initializer;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode limitInitializer;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private LoopNode loop;
+
+  private final int limitSlot;
+
+  /**
+   * @param limitInitializer the invariant bound or <code>null</code> if
+   *                         the loop evaluates its bound on every iteration
+   */
+  public NCountedLoopStmtNode(NNode initializer, NNode limitInitializer, int limitSlot, NCountedRepeatingNode loop) {
+    this.initializer = initializer;
+    this.limitInitializer = limitInitializer;
+    this.limitSlot = limitSlot;
+    this.loop = Truffle.getRuntime().createLoopNode(loop);
+  }
+
+  @Override
+  public Object execute(VirtualFrame frame) {
+    initializer.execute(frame);
+
+    if (limitInitializer != null) {
+      try {
+        frame.setLong(limitSlot, limitInitializer.executeLong(frame));
+      } catch (UnexpectedResultException e) {
+        frame.setObject(limitSlot, e.getResult());
+      }
+    }
+
+    loop.execute(frame);
+    return BladeNil.SINGLETON;
+  }
+}
@@ -0,0 +1,148 @@
+package org.blade.language.nodes.statements.loops;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import org.blade.language.nodes.NBinaryNode;
+import org.blade.language.nodes.NNode;
+
+/**
+ * Body of a {@link NCountedLoopStmtNode}. While the counter and the bound
+ * are longs, the counter lives in a primitive slot and is compared and
+ * stepped without going through the operator nodes. The first value that
+ * is not a long switches the node to the generic comparison and increment
+ * for good.
+ */
+public final class NCountedRepeatingNode extends Node implements RepeatingNode {
+  private final int slot;
+  private final long step;
+  private final boolean inclusive;
+  private final int limitSlot;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode limit;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NBinaryNode comparison;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode iterator;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Child private NNode body;
+
+  @CompilerDirectives.CompilationFinal
+  private boolean counted = true;
+
+  private final BranchProfile continueTaken = BranchProfile.create();
+  private final BranchProfile breakTaken = BranchProfile.create();
+
+  /**
+   * @param limit      the bound or <code>null</code> if it is read from
+   *                   <code>limitSlot</code>
+   * @param comparison the condition operator, used once the loop is generic
+   * @param iterator   the increment, used once the loop is generic
+   */
+  public NCountedRepeatingNode(int slot, long step, boolean inclusive, NNode limit, int limitSlot,
+                               NBinaryNode comparison, NNode iterator, NNode body) {
+    this.slot = slot;
+    this.step = step;
+    this.inclusive = inclusive;
+    this.limit = limit;
+    this.limitSlot = limitSlot;
+    this.comparison = comparison;
+    this.iterator = iterator;
+    this.body = body;
+  }
+
+  @Override
+  public boolean executeRepeating(VirtualFrame frame) {
+    if (!counted || !frame.isLong(slot)) {
+      return executeGeneric(frame, frame.getValue(slot), readLimit(frame));
+    }
+
+    long index = frame.getLong(slot);
+    long bound;
+    try {
+      bound = readLongLimit(frame);
+    } catch (UnexpectedResultException e) {
+      return executeGeneric(frame, index, e.getResult());
+    }
+
+    if (step > 0 ? (inclusive ? index > bound : index >= bound) : (inclusive ? index < bound : index <= bound)) {
+      return false;
+    }
+
+    if (!executeBody(frame)) {
+      return false;
+    }
+
+    // the body never writes the counter, so it still holds index
+    long next;
+    try {
+      next = Math.addExact(index, step);
+    } catch (ArithmeticException e) {
+      generalize();
+      iterator.execute(frame);
+      return true;
+    }
+
+    frame.setLong(slot, next);
+    return true;
+  }
+
+  private boolean executeGeneric(VirtualFrame frame, Object index, Object bound) {
+    generalize();
+
+    if (!NNode.evaluateBoolean(comparison.executeEvaluated(index, bound))) {
+      return false;
+    }
+
+    if (!executeBody(frame)) {
+      return false;
+    }
+
+    iterator.execute(frame);
+    return true;
+  }
+
+  private boolean executeBody(VirtualFrame frame) {
+    try {
+      body.execute(frame);
+    } catch (NBreakException e) {
+      breakTaken.enter();
+      return false;
+    } catch (NContinueException ignored) {
+      continueTaken.enter();
+    }
+    return true;
+  }
+
+  private long readLongLimit(VirtualFrame frame) throws UnexpectedResultException {
+    if (limit != null) {
+      return limit.executeLong(frame);
+    } else if (frame.isLong(limitSlot)) {
+      return frame.getLong(limitSlot);
+    }
+    throw new UnexpectedResultException(frame.getValue(limitSlot));
+  }
+
+  private Object readLimit(VirtualFrame frame) {
+    return limit != null ? limit.execute(frame) : frame.getValue(limitSlot);
+  }
+
+  private void generalize() {
+    if (counted) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      counted = false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "NCountedRepeatingLoop";
+  }
+}
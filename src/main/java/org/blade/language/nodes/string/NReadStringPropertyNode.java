@@ -41,7 +41,7 @@ public abstract class NReadStringPropertyNode extends NBaseNode {
   @Fallback
   protected Object readOthers(
     TruffleString string, Object property,
-    @Cached(value = "languageContext().objectsModel.stringObject", neverDefault = false) BladeClass stringClass,
+    @Cached(value = "objectsModel().stringObject", neverDefault = true) BladeClass stringClass,
     @CachedLibrary(limit = "3") InteropLibrary interopLibrary
   ) {
     try {
@@ -0,0 +1,121 @@
+package org.blade.language.parser;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.source.Source;
+import org.blade.language.parser.ast.AstInput;
+import org.blade.language.parser.ast.AstOutput;
+import org.blade.language.parser.ast.Expr;
+import org.blade.language.parser.ast.Stmt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * On-disk cache of parsed source files. Trees are stored in the binary form
+ * of {@link AstOutput} under the SHA-256 hash of the source content, so an
+ * unchanged file is loaded without lexing or parsing it again.
+ * <p>
+ * Entries carry the schema of the {@link Expr} and {@link Stmt} definitions
+ * and the language version, which are part of the key as well, so a tree
+ * written by another parser is never loaded. Options only apply when the
+ * tree is translated and are not part of the entry. A cache that cannot be
+ * read or written is never an error; the source is simply parsed.
+ */
+public final class AstCache {
+  private static final int MAGIC = 0x42415354; // BAST
+  private static final int FORMAT = 1;
+
+  private final TruffleFile directory;
+  private final String version;
+
+  /**
+   * @param version the version of the language, which entries must match
+   */
+  public AstCache(TruffleFile directory, String version) {
+    this.directory = directory;
+    this.version = FORMAT + ":" + Expr.SCHEMA + ":" + Stmt.SCHEMA + ":" + version;
+  }
+
+  public static String hash(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Returns the statements of a file-backed source, from the cache if
+   * present. Sources without a path are parsed directly, deferring their
+   * function bodies. Cached trees hold every body, so a file is parsed in
+   * full before it is stored.
+   */
+  public List<Stmt> parse(Source source) {
+    if (source.getPath() == null) {
+      return new Parser(new Lexer(source), true).parse();
+    }
+
+    String name = hash((version + '\0' + source.getCharacters()).getBytes(StandardCharsets.UTF_8)) + ".bast";
+    TruffleFile file = directory.resolve(name);
+
+    List<Stmt> statements = load(file);
+    if (statements == null) {
+      statements = new Parser(new Lexer(source)).parse();
+      store(file, statements);
+    }
+    return statements;
+  }
+
+  private List<Stmt> load(TruffleFile file) {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.newInputStream()))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT
+        || in.readInt() != Expr.SCHEMA || in.readInt() != Stmt.SCHEMA
+        || !in.readUTF().equals(version)) {
+        return null;
+      }
+
+      return new AstInput(in).readList(Stmt::read);
+    } catch (IOException | RuntimeException e) {
+      // a missing, stale, or corrupt entry
+      return null;
+    }
+  }
+
+  private void store(TruffleFile file, List<Stmt> statements) {
+    TruffleFile temporary = directory.resolve(file.getName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      directory.createDirectories();
+
+      AstOutput tree = new AstOutput();
+      tree.writeList(statements);
+
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(temporary.newOutputStream()))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeInt(Expr.SCHEMA);
+        out.writeInt(Stmt.SCHEMA);
+        out.writeUTF(version);
+        tree.writeTo(out);
+      }
+
+      // readers never see a partially written entry
+      temporary.move(file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | SecurityException | UnsupportedOperationException e) {
+      try {
+        temporary.delete();
+      } catch (IOException | SecurityException ignored) {
+        // nothing was written
+      }
+    }
+  }
+}
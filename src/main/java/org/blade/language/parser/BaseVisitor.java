@@ -114,6 +114,11 @@ public class BaseVisitor<T> implements Expr.Visitor<T>, Stmt.Visitor<T> {
     return null;
   }
 
+  @Override
+  public T visitCompoundAssignExpr(Expr.CompoundAssign expr) {
+    return null;
+  }
+
   @Override
   public T visitExpr(Expr expr) {
     return null;
@@ -194,6 +199,11 @@ public class BaseVisitor<T> implements Expr.Visitor<T>, Stmt.Visitor<T> {
     return null;
   }
 
+  @Override
+  public T visitCatchClauseStmt(Stmt.CatchClause stmt) {
+    return null;
+  }
+
   @Override
   public T visitBlockStmt(Stmt.Block stmt) {
     return null;
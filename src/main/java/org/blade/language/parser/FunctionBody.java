@@ -0,0 +1,50 @@
+package org.blade.language.parser;
+
+import com.oracle.truffle.api.source.Source;
+import org.blade.language.parser.ast.Stmt;
+
+/**
+ * The statements of a function, method or anonymous function. A parser that
+ * defers bodies only scans them for matching braces and valid tokens, and
+ * keeps where they start. Their statements are parsed the first time they
+ * are asked for, which is when the function is first called, so functions
+ * that are never called cost neither the parse nor the syntax tree.
+ */
+public final class FunctionBody {
+  private Source source;
+  // the offset and line right after the opening brace
+  private final int offset;
+  private final int line;
+  private Stmt.Block block;
+
+  private FunctionBody(Source source, int offset, int line, Stmt.Block block) {
+    this.source = source;
+    this.offset = offset;
+    this.line = line;
+    this.block = block;
+  }
+
+  public static FunctionBody of(Stmt.Block block) {
+    return new FunctionBody(null, 0, 0, block);
+  }
+
+  static FunctionBody deferred(Source source, int offset, int line) {
+    return new FunctionBody(source, offset, line, null);
+  }
+
+  /**
+   * Returns the statements of the body, parsing them if that has not
+   * happened yet. A syntax error in a deferred body is raised here.
+   */
+  public synchronized Stmt.Block get() {
+    if (block == null) {
+      block = new Parser(new Lexer(source, offset, line), true).parseBody();
+      source = null;
+    }
+    return block;
+  }
+
+  public synchronized boolean isParsed() {
+    return block != null;
+  }
+}
@@ -18,63 +18,24 @@ public class Lexer {
   private final CharSequence sourceCharacters;
 
   public final Source source;
-  private final List<Token> tokens = new ArrayList<>();
+
+  // the token produced by the last call to scan()
+  private Token token;
 
   public Lexer(Source source) {
     this.source = source;
     this.sourceCharacters = source.getCharacters();
   }
 
-  private final Dictionary<String, TokenType> keywords = createKeywords();
-
-  private Dictionary<String, TokenType> createKeywords() {
-    return new Hashtable<>() {
-      {
-        put("and", AND);
-        put("as", AS);
-        put("assert", ASSERT);
-        put("break", BREAK);
-        put("catch", CATCH);
-        put("class", CLASS);
-        put("const", CONST);
-        put("continue", CONTINUE);
-        put("def", DEF);
-        put("default", DEFAULT);
-        put("do", DO);
-        put("echo", ECHO);
-        put("else", ELSE);
-        put("false", FALSE);
-        put("finally", FINALLY);
-        put("for", FOR);
-        put("if", IF);
-        put("import", IMPORT);
-        put("in", IN);
-        put("iter", ITER);
-        put("new", NEW);
-        put("nil", NIL);
-        put("or", OR);
-        put("parent", PARENT);
-        put("raise", RAISE);
-        put("return", RETURN);
-        put("self", SELF);
-        put("static", STATIC);
-        put("true", TRUE);
-        put("try", TRY);
-        put("using", USING);
-        put("var", VAR);
-        put("when", WHEN);
-        put("while", WHILE);
-      }
-
-      @Override
-      public synchronized TokenType get(Object key) {
-        if (this.containsKey(key)) {
-          return super.get(key);
-        }
-
-        return IDENTIFIER;
-      }
-    };
+  /**
+   * Creates a lexer that starts at the given offset and line of the source,
+   * which must not be inside a string.
+   */
+  public Lexer(Source source, int offset, int line) {
+    this(source);
+    this.current = offset;
+    this.start = offset;
+    this.line = line;
   }
 
   private boolean isAtEnd() {
@@ -166,17 +127,17 @@ public class Lexer {
   }
 
   /**
-   * Adds a new token to the list of tokens
+   * Emits a token whose literal is its source text
    */
   private void addToken(TokenType type) {
-    addToken(type, sourceCharacters.subSequence(start, current).toString().trim());
+    token = Token.fromSource(type, sourceCharacters, line, start, current - start);
   }
 
   /**
-   * Adds a new token to the list of tokens
+   * Emits a token with the given literal
    */
   private void addToken(TokenType type, String literal) {
-    tokens.add(new Token(type, literal, line, start, current - start));
+    token = new Token(type, literal, line, start, current - start);
   }
 
   /**
@@ -334,9 +295,83 @@ public class Lexer {
    */
   private void identifier() {
     while (isAlphanumeric(peek())) advance();
+    addToken(keyword());
+  }
+
+  /**
+   * Returns the keyword type of the identifier between start and current.
+   * Keywords are told apart by their first character and length, and the
+   * few that share both by their second character, so recognizing a keyword
+   * costs a single comparison against the source.
+   */
+  private TokenType keyword() {
+    int length = current - start;
+
+    return switch (sourceCharacters.charAt(start)) {
+      case 'a' -> switch (length) {
+        case 2 -> keyword("as", AS);
+        case 3 -> keyword("and", AND);
+        case 6 -> keyword("assert", ASSERT);
+        default -> IDENTIFIER;
+      };
+      case 'b' -> keyword("break", BREAK);
+      case 'c' -> switch (length) {
+        case 5 -> switch (sourceCharacters.charAt(start + 1)) {
+          case 'a' -> keyword("catch", CATCH);
+          case 'l' -> keyword("class", CLASS);
+          case 'o' -> keyword("const", CONST);
+          default -> IDENTIFIER;
+        };
+        case 8 -> keyword("continue", CONTINUE);
+        default -> IDENTIFIER;
+      };
+      case 'd' -> switch (length) {
+        case 2 -> keyword("do", DO);
+        case 3 -> keyword("def", DEF);
+        case 7 -> keyword("default", DEFAULT);
+        default -> IDENTIFIER;
+      };
+      case 'e' -> length == 4 && sourceCharacters.charAt(start + 1) == 'c'
+        ? keyword("echo", ECHO)
+        : keyword("else", ELSE);
+      case 'f' -> switch (length) {
+        case 3 -> keyword("for", FOR);
+        case 5 -> keyword("false", FALSE);
+        case 7 -> keyword("finally", FINALLY);
+        default -> IDENTIFIER;
+      };
+      case 'i' -> switch (length) {
+        case 2 -> sourceCharacters.charAt(start + 1) == 'f' ? IF : keyword("in", IN);
+        case 4 -> keyword("iter", ITER);
+        case 6 -> keyword("import", IMPORT);
+        default -> IDENTIFIER;
+      };
+      case 'n' -> length == 3 && sourceCharacters.charAt(start + 1) == 'e'
+        ? keyword("new", NEW)
+        : keyword("nil", NIL);
+      case 'o' -> keyword("or", OR);
+      case 'p' -> keyword("parent", PARENT);
+      case 'r' -> length == 5 ? keyword("raise", RAISE) : keyword("return", RETURN);
+      case 's' -> length == 4 ? keyword("self", SELF) : keyword("static", STATIC);
+      case 't' -> length == 3 ? keyword("try", TRY) : keyword("true", TRUE);
+      case 'u' -> keyword("using", USING);
+      case 'v' -> keyword("var", VAR);
+      case 'w' -> length == 4 ? keyword("when", WHEN) : keyword("while", WHILE);
+      default -> IDENTIFIER;
+    };
+  }
+
+  private TokenType keyword(String keyword, TokenType type) {
+    if (current - start != keyword.length()) {
+      return IDENTIFIER;
+    }
 
-    String text = sourceCharacters.subSequence(start, current).toString().trim();
-    addToken(keywords.get(text), text);
+    for (int i = 1; i < keyword.length(); i++) {
+      if (sourceCharacters.charAt(start + i) != keyword.charAt(i)) {
+        return IDENTIFIER;
+      }
+    }
+    return type;
   }
 
   /**
@@ -495,7 +530,7 @@ public class Lexer {
 
       // newline token
       case '\n':
-        addToken(NEWLINE);
+        addToken(NEWLINE, "");
         break;
 
       case '\'':
@@ -522,25 +557,38 @@ public class Lexer {
   }
 
   /**
-   * Scans the source and returns a list of tokens.
+   * Scans and returns the next token. Once the source is exhausted, every
+   * call returns an EOF token.
    *
-   * @return list[Token]
+   * @return Token
    */
-  public List<Token> run() throws LexerException {
-    while (!isAtEnd()) {
-      skipWhitespace();
+  public Token nextToken() throws LexerException {
+    token = null;
+    while (token == null) {
+      if (isAtEnd()) {
+        start = current;
+        addToken(EOF, "");
+        break;
+      }
 
       scan();
     }
 
-    addToken(EOF, "");
-    return tokens;
+    return token;
   }
 
   public Source getSource() {
     return source;
   }
 
+  /**
+   * Returns true while the lexer is inside the expression of a string
+   * interpolation.
+   */
+  public boolean isInterpolating() {
+    return !interpolating.isEmpty();
+  }
+
   private String getUnquotedString(char quote) {
     Charset UTF_8 = StandardCharsets.UTF_8;
     String escaped = sourceCharacters.subSequence(start + 1, current - 1).toString()
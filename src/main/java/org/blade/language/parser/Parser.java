@@ -44,14 +44,24 @@ public class Parser {
     TILDE, XOR,
   };
   public final Lexer lexer;
-  private final List<Token> tokens;
+  // whether function bodies are only scanned, see FunctionBody
+  private final boolean deferBodies;
   private int blockCount = 0;
-  private int current = 0;
   private int anonymousCount = 0;
 
+  // the parser never looks further than one token either way, so tokens
+  // are pulled from the lexer as they are consumed
+  private Token previous;
+  private Token current;
+
   public Parser(Lexer lexer) {
+    this(lexer, false);
+  }
+
+  public Parser(Lexer lexer, boolean deferBodies) {
     this.lexer = lexer;
-    this.tokens = this.lexer.run();
+    this.deferBodies = deferBodies;
+    this.current = lexer.nextToken();
   }
 
   private boolean match(TokenType... tokenTypes) {
@@ -71,8 +81,11 @@ public class Parser {
   }
 
   private Token advance() {
-    if (!isAtEnd()) current++;
-    return previous();
+    if (!isAtEnd()) {
+      previous = current;
+      current = lexer.nextToken();
+    }
+    return previous;
   }
 
   private boolean isAtEnd() {
@@ -80,11 +93,11 @@ public class Parser {
   }
 
   private Token peek() {
-    return tokens.get(current);
+    return current;
   }
 
   private Token previous() {
-    return tokens.get(current - 1);
+    return previous;
   }
 
   private Token consume(TokenType type, String message) {
@@ -183,14 +196,10 @@ public class Parser {
         if (token.type() == EQUAL) {
           expr = new Expr.Set((Expr) expr, prop, expression());
         } else {
-          expr = new Expr.Set(
-            (Expr) expr,
-            prop,
-            new Expr.Binary(
-              new Expr.Get((Expr) expr, prop),
-              previous().copyToType(ASSIGNER_ALTS.get(token.type()), previous().literal()),
-              assignment()
-            )
+          expr = new Expr.CompoundAssign(
+            new Expr.Get((Expr) expr, prop),
+            previous().copyToType(ASSIGNER_ALTS.get(token.type()), previous().literal()),
+            assignment()
           );
         }
       } else {
@@ -308,47 +317,17 @@ public class Parser {
       Expr expr = call();
 
       if (match(INCREMENT)) {
-        if(expr instanceof Expr.Get get) {
-          expr = new Expr.Set(
-            get.expression,
-            get.name,
-            new Expr.Binary(
-              get,
-              previous().copyToType(PLUS, "+"),
-              new Expr.Number(previous().copyToType(REG_NUMBER, "1"))
-            )
-          );
-        } else {
-          expr = new Expr.Assign(
-            expr,
-            new Expr.Binary(
-              expr,
-              previous().copyToType(PLUS, "+"),
-              new Expr.Number(previous().copyToType(REG_NUMBER, "1"))
-            )
-          );
-        }
+        expr = new Expr.CompoundAssign(
+          expr,
+          previous().copyToType(PLUS, "+"),
+          new Expr.Number(previous().copyToType(REG_NUMBER, "1"))
+        );
       } else if (match(DECREMENT)) {
-        if(expr instanceof Expr.Get get) {
-          expr = new Expr.Set(
-            get.expression,
-            get.name,
-            new Expr.Binary(
-              get,
-              previous().copyToType(MINUS, "-"),
-              new Expr.Number(previous().copyToType(REG_NUMBER, "1"))
-            )
-          );
-        } else {
-          expr = new Expr.Assign(
-            expr,
-            new Expr.Binary(
-              expr,
-              previous().copyToType(MINUS, "-"),
-              new Expr.Number(previous().copyToType(REG_NUMBER, "1"))
-            )
-          );
-        }
+        expr = new Expr.CompoundAssign(
+          expr,
+          previous().copyToType(MINUS, "-"),
+          new Expr.Number(previous().copyToType(REG_NUMBER, "1"))
+        );
       }
 
       return expr;
@@ -547,13 +526,10 @@ public class Parser {
         if (type.type() == EQUAL) {
           expr = new Expr.Assign(expr, assignment());
         } else {
-          expr = new Expr.Assign(
+          expr = new Expr.CompoundAssign(
             expr,
-            new Expr.Binary(
-              expr,
-              previous().copyToType(ASSIGNER_ALTS.get(type.type()), previous().literal()),
-              assignment()
-            )
+            previous().copyToType(ASSIGNER_ALTS.get(type.type()), previous().literal()),
+            assignment()
           );
         }
       }
@@ -664,6 +640,34 @@ public class Parser {
     return block();
   }
 
+  private FunctionBody functionBody(String message) {
+    ignoreNewlines();
+    Token brace = consume(LBRACE, message);
+
+    // a body inside an interpolation cannot be lexed on its own
+    if (!deferBodies || lexer.isInterpolating()) {
+      return FunctionBody.of(block());
+    }
+
+    // the lexer still reads every token, so invalid tokens are reported
+    // here; only the grammar of the body is checked when it is parsed
+    int depth = 1;
+    while (depth > 0) {
+      if (isAtEnd()) {
+        throw new ParserException(lexer.getSource(), peek(), false, "'}' expected after block");
+      }
+
+      if (check(LBRACE)) {
+        depth++;
+      } else if (check(RBRACE)) {
+        depth--;
+      }
+      advance();
+    }
+
+    return FunctionBody.deferred(lexer.getSource(), brace.offset() + 1, brace.line());
+  }
+
   private Stmt ifStatement() {
     return wrapStmt(() -> {
       Expr expr = expression();
@@ -817,25 +821,25 @@ public class Parser {
         );
       }
 
-      return new Stmt.Import(String.join("", path), elements, false);
+      return new Stmt.Import(String.join("", path), elements, importsAll != null);
     });
   }
 
   private Stmt catchStatement() {
     return wrapStmt(() -> {
       Stmt.Block body = matchBlock("'{' expected after try");
-      Stmt.Block catchBody = null;
+      List<Stmt.CatchClause> clauses = new ArrayList<>();
       Stmt.Block finallyBody = null;
 
-      Expr.Identifier exception_var = null;
-      if (match(CATCH)) {
-        consume(IDENTIFIER, "exception variable expected");
-        exception_var = identifier();
+      while (match(CATCH)) {
+        if (!clauses.isEmpty() && clauses.getLast().type == null) {
+          throw new ParserException(lexer.getSource(), previous(), false, "untyped `catch` must be the last catch clause");
+        }
 
-        catchBody = matchBlock("'{' expected after catch variable name");
+        clauses.add(catchClause());
       }
 
-      if(exception_var == null && !check(FINALLY)) {
+      if(clauses.isEmpty() && !check(FINALLY)) {
         throw new ParserException(lexer.getSource(), peek(), false, "try must declare at least one of `catch` or `finally`");
       }
 
@@ -843,7 +847,25 @@ public class Parser {
         finallyBody = matchBlock("'{' expected after finally");
       }
 
-      return new Stmt.Catch(body, catchBody, finallyBody, exception_var);
+      return new Stmt.Catch(body, clauses, finallyBody);
+    });
+  }
+
+  private Stmt.CatchClause catchClause() {
+    return (Stmt.CatchClause) wrapStmt(() -> {
+      Expr.Identifier type = null;
+
+      consume(IDENTIFIER, "exception variable expected");
+      Expr.Identifier name = identifier();
+
+      // catch <ErrorClass> as <variable>
+      if (match(AS)) {
+        type = name;
+        consume(IDENTIFIER, "exception variable expected after 'as'");
+        name = identifier();
+      }
+
+      return new Stmt.CatchClause(type, name, matchBlock("'{' expected after catch variable name"));
     });
   }
 
@@ -1021,7 +1043,7 @@ public class Parser {
         consume(RPAREN, "expected ')' after anonymous function parameters");
       }
 
-      var body = matchBlock("'{' expected after function declaration");
+      var body = functionBody("'{' expected after function declaration");
 
       return new Expr.Anonymous(
         new Stmt.Function(
@@ -1043,7 +1065,7 @@ public class Parser {
       isVariadic = functionArgs(params);
       consume(RPAREN, "')' expected after function arguments");
 
-      var body = matchBlock("'{' expected after function declaration");
+      var body = functionBody("'{' expected after function declaration");
 
       return new Stmt.Function(name, params, body, isVariadic);
     });
@@ -1069,7 +1091,7 @@ public class Parser {
       consumeAny("non-assignment operator expected", OPERATORS);
       var name = previous();
 
-      var body = matchBlock("'{' expected after operator declaration");
+      var body = functionBody("'{' expected after operator declaration");
 
       return new Stmt.Method(name, new ArrayList<>(), body, false, false);
     });
@@ -1087,7 +1109,7 @@ public class Parser {
       isVariadic = functionArgs(params);
       consume(RPAREN, "')' expected after method arguments");
 
-      var body = matchBlock("'{' expected after method declaration");
+      var body = functionBody("'{' expected after method declaration");
 
       return new Stmt.Method(name, params, body, isStatic, isVariadic);
     });
@@ -1166,6 +1188,13 @@ public class Parser {
     });
   }
 
+  /**
+   * Parses a deferred function body, starting right after its opening brace.
+   */
+  Stmt.Block parseBody() {
+    return block();
+  }
+
   public List<Stmt> parse() {
     List<Stmt> result = new ArrayList<>();
 
@@ -1179,9 +1208,9 @@ public class Parser {
   @Override
   public String toString() {
     return String.format(
-      "<rem::Parser path='%s' tokens=%d>",
+      "<rem::Parser path='%s' token=%s>",
       lexer.getSource().getPath(),
-      tokens.size()
+      current
     );
   }
 
@@ -1,10 +1,65 @@
 package org.blade.language.parser;
 
-public record Token(TokenType type, String literal, int line, int offset, int length) {
+/**
+ * A token is a span of the source. The text of tokens that are read straight
+ * from the source is only materialized the first time {@link #literal()} is
+ * called, so punctuation and keywords the parser merely checks the type of
+ * never allocate a string.
+ */
+public final class Token {
+  private final TokenType type;
+  private final CharSequence characters;
+  private final int line;
+  private final int offset;
+  private final int length;
+  private String literal;
+
+  public Token(TokenType type, String literal, int line, int offset, int length) {
+    this(type, null, literal, line, offset, length);
+  }
+
+  private Token(TokenType type, CharSequence characters, String literal, int line, int offset, int length) {
+    this.type = type;
+    this.characters = characters;
+    this.literal = literal;
+    this.line = line;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Creates a token whose literal is the source text it spans.
+   */
+  public static Token fromSource(TokenType type, CharSequence characters, int line, int offset, int length) {
+    return new Token(type, characters, null, line, offset, length);
+  }
+
+  public TokenType type() {
+    return type;
+  }
+
+  public String literal() {
+    if (literal == null) {
+      literal = characters.subSequence(offset, offset + length).toString();
+    }
+    return literal;
+  }
+
+  public int line() {
+    return line;
+  }
+
+  public int offset() {
+    return offset;
+  }
+
+  public int length() {
+    return length;
+  }
 
   @Override
   public String toString() {
-    return String.format("<ast::Token type=%s literal='%s' line=%d offset=%d length=%d>", this.type, this.literal, this.line, this.offset, this.length);
+    return String.format("<ast::Token type=%s literal='%s' line=%d offset=%d length=%d>", this.type, this.literal(), this.line, this.offset, this.length);
   }
 
   public Token copyToType(TokenType type, String literal) {
@@ -1,9 +1,13 @@
 package org.blade.language.parser.ast;
 
+import java.io.IOException;
+
 public abstract class AST {
   public int startLine = 1;
   public int endLine = 1;
   public int startColumn = 0;
   public int endColumn = 0;
   public boolean wrapped = false;
+
+  public abstract void write(AstOutput out) throws IOException;
 }
@@ -0,0 +1,114 @@
+package org.blade.language.parser.ast;
+
+import org.blade.language.parser.Token;
+import org.blade.language.parser.TokenType;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads back a syntax tree written by {@link AstOutput}.
+ */
+public final class AstInput {
+  private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+  private final DataInputStream in;
+  private final String[] strings;
+
+  public interface NodeReader {
+    AST read(AstInput in) throws IOException;
+  }
+
+  public AstInput(DataInputStream in) throws IOException {
+    this.in = in;
+
+    strings = new String[readVarInt() + 1];
+    for (int i = 1; i < strings.length; i++) {
+      byte[] encoded = new byte[readVarInt()];
+      in.readFully(encoded);
+      strings[i] = new String(encoded, StandardCharsets.UTF_8);
+    }
+  }
+
+  public int readTag() throws IOException {
+    return readInt();
+  }
+
+  public boolean readBoolean() throws IOException {
+    return in.readBoolean();
+  }
+
+  public int readInt() throws IOException {
+    int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  public String readString() throws IOException {
+    int index = readInt();
+    if (index < 0 || index >= strings.length) {
+      throw new IOException("invalid string index " + index);
+    }
+    return strings[index];
+  }
+
+  public Token readToken() throws IOException {
+    int type = readInt();
+    if (type == 0) {
+      return null;
+    } else if (type < 0 || type > TOKEN_TYPES.length) {
+      throw new IOException("invalid token type " + type);
+    }
+
+    return new Token(TOKEN_TYPES[type - 1], readString(), readInt(), readInt(), readInt());
+  }
+
+  public List<Token> readTokens() throws IOException {
+    int size = readInt();
+    if (size < 0) {
+      return null;
+    }
+
+    List<Token> tokens = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      tokens.add(readToken());
+    }
+    return tokens;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T extends AST> List<T> readList(NodeReader reader) throws IOException {
+    int size = readInt();
+    if (size < 0) {
+      return null;
+    }
+
+    List<T> nodes = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      nodes.add((T) reader.read(this));
+    }
+    return nodes;
+  }
+
+  public void readPosition(AST node) throws IOException {
+    node.startLine = readInt();
+    node.endLine = readInt();
+    node.startColumn = readInt();
+    node.endColumn = readInt();
+    node.wrapped = readBoolean();
+  }
+
+  private int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("malformed integer");
+  }
+}
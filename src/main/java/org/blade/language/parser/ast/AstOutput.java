@@ -0,0 +1,130 @@
+package org.blade.language.parser.ast;
+
+import org.blade.language.parser.Token;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a syntax tree. Integers are written as
+ * variable-length zigzag values and every distinct string is stored once in
+ * a table that precedes the tree, so identifiers repeated across a large
+ * source cost a single small index per use.
+ *
+ * @see AstInput
+ */
+public final class AstOutput {
+  private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+  private final DataOutputStream body = new DataOutputStream(bytes);
+  private final Map<String, Integer> strings = new HashMap<>();
+  private final List<String> stringTable = new ArrayList<>();
+
+  public void writeTag(int tag) throws IOException {
+    writeInt(tag);
+  }
+
+  public void writeBoolean(boolean value) throws IOException {
+    body.writeBoolean(value);
+  }
+
+  public void writeInt(int value) throws IOException {
+    writeVarInt(body, (value << 1) ^ (value >> 31));
+  }
+
+  public void writeString(String value) throws IOException {
+    if (value == null) {
+      writeInt(0);
+      return;
+    }
+
+    Integer index = strings.get(value);
+    if (index == null) {
+      index = stringTable.size() + 1;
+      strings.put(value, index);
+      stringTable.add(value);
+    }
+    writeInt(index);
+  }
+
+  public void writeToken(Token token) throws IOException {
+    if (token == null) {
+      writeInt(0);
+      return;
+    }
+
+    writeInt(token.type().ordinal() + 1);
+    writeString(token.literal());
+    writeInt(token.line());
+    writeInt(token.offset());
+    writeInt(token.length());
+  }
+
+  public void writeTokens(List<Token> tokens) throws IOException {
+    if (tokens == null) {
+      writeInt(-1);
+      return;
+    }
+
+    writeInt(tokens.size());
+    for (Token token : tokens) {
+      writeToken(token);
+    }
+  }
+
+  public void writeNode(AST node) throws IOException {
+    if (node == null) {
+      writeTag(0);
+    } else {
+      node.write(this);
+    }
+  }
+
+  public void writeList(List<? extends AST> nodes) throws IOException {
+    if (nodes == null) {
+      writeInt(-1);
+      return;
+    }
+
+    writeInt(nodes.size());
+    for (AST node : nodes) {
+      writeNode(node);
+    }
+  }
+
+  public void writePosition(AST node) throws IOException {
+    writeInt(node.startLine);
+    writeInt(node.endLine);
+    writeInt(node.startColumn);
+    writeInt(node.endColumn);
+    writeBoolean(node.wrapped);
+  }
+
+  /**
+   * Writes the string table followed by the encoded tree.
+   */
+  public void writeTo(DataOutputStream out) throws IOException {
+    writeVarInt(out, stringTable.size());
+    for (String value : stringTable) {
+      byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(out, encoded.length);
+      out.write(encoded);
+    }
+
+    body.flush();
+    bytes.writeTo(out);
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+}
@@ -3,9 +3,12 @@
 package org.blade.language.parser.ast;
 
 import org.blade.language.parser.Token;
+import java.io.IOException;
 import java.util.List;
 
 public abstract class Expr extends AST {
+  public static final int SCHEMA = -1548195948;
+
   public abstract<T> T accept(Visitor<T> visitor);
 
   public interface Visitor<T> {
@@ -31,9 +34,47 @@ public abstract class Expr extends AST {
     T visitSelfExpr(Self expr);
     T visitAssignExpr(Assign expr);
     T visitAnonymousExpr(Anonymous expr);
+    T visitCompoundAssignExpr(CompoundAssign expr);
     T visitExpr(Expr expr);
   }
 
+  public static Expr read(AstInput in) throws IOException {
+    int tag = in.readTag();
+    if (tag == 0) {
+      return null;
+    }
+
+    Expr node = switch (tag) {
+      case 1 -> new Nil();
+      case 2 -> new Boolean(in.readBoolean());
+      case 3 -> new Number(in.readToken());
+      case 4 -> new Literal(in.readToken());
+      case 5 -> new Unary(in.readToken(), Expr.read(in));
+      case 6 -> new Binary(Expr.read(in), in.readToken(), Expr.read(in));
+      case 7 -> new Logical(Expr.read(in), in.readToken(), Expr.read(in));
+      case 8 -> new Range(Expr.read(in), Expr.read(in));
+      case 9 -> new Grouping(Expr.read(in));
+      case 10 -> new Identifier(in.readToken());
+      case 11 -> new Condition(Expr.read(in), Expr.read(in), Expr.read(in));
+      case 12 -> new Call(Expr.read(in), in.readList(Expr::read));
+      case 13 -> new Get(Expr.read(in), (Identifier) Expr.read(in));
+      case 14 -> new Set(Expr.read(in), (Identifier) Expr.read(in), Expr.read(in));
+      case 15 -> new Index(Expr.read(in), in.readList(Expr::read));
+      case 16 -> new Array(in.readList(Expr::read));
+      case 17 -> new Dict(in.readList(Expr::read), in.readList(Expr::read));
+      case 18 -> new New(Expr.read(in), in.readList(Expr::read));
+      case 19 -> new Parent();
+      case 20 -> new Self();
+      case 21 -> new Assign(Expr.read(in), Expr.read(in));
+      case 22 -> new Anonymous((Stmt.Function) Stmt.read(in));
+      case 23 -> new CompoundAssign(Expr.read(in), in.readToken(), Expr.read(in));
+      default -> throw new IOException("invalid Expr tag " + tag);
+    };
+
+    in.readPosition(node);
+    return node;
+  }
+
   public static class Nil extends Expr {
     public Nil() {
     }
@@ -41,6 +82,11 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitNilExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(1);
+      out.writePosition(this);
+    }
   }
 
   public static class Boolean extends Expr {
@@ -53,6 +99,12 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitBooleanExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(2);
+      out.writeBoolean(value);
+      out.writePosition(this);
+    }
   }
 
   public static class Number extends Expr {
@@ -65,6 +117,12 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitNumberExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(3);
+      out.writeToken(token);
+      out.writePosition(this);
+    }
   }
 
   public static class Literal extends Expr {
@@ -77,6 +135,12 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitLiteralExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(4);
+      out.writeToken(token);
+      out.writePosition(this);
+    }
   }
 
   public static class Unary extends Expr {
@@ -91,6 +155,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitUnaryExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(5);
+      out.writeToken(op);
+      out.writeNode(right);
+      out.writePosition(this);
+    }
   }
 
   public static class Binary extends Expr {
@@ -107,6 +178,14 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitBinaryExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(6);
+      out.writeNode(left);
+      out.writeToken(op);
+      out.writeNode(right);
+      out.writePosition(this);
+    }
   }
 
   public static class Logical extends Expr {
@@ -123,6 +202,14 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitLogicalExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(7);
+      out.writeNode(left);
+      out.writeToken(op);
+      out.writeNode(right);
+      out.writePosition(this);
+    }
   }
 
   public static class Range extends Expr {
@@ -137,6 +224,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitRangeExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(8);
+      out.writeNode(lower);
+      out.writeNode(upper);
+      out.writePosition(this);
+    }
   }
 
   public static class Grouping extends Expr {
@@ -149,6 +243,12 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitGroupingExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(9);
+      out.writeNode(expression);
+      out.writePosition(this);
+    }
   }
 
   public static class Identifier extends Expr {
@@ -161,6 +261,12 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitIdentifierExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(10);
+      out.writeToken(token);
+      out.writePosition(this);
+    }
   }
 
   public static class Condition extends Expr {
@@ -177,6 +283,14 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitConditionExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(11);
+      out.writeNode(expression);
+      out.writeNode(truth);
+      out.writeNode(falsy);
+      out.writePosition(this);
+    }
   }
 
   public static class Call extends Expr {
@@ -191,6 +305,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitCallExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(12);
+      out.writeNode(callee);
+      out.writeList(args);
+      out.writePosition(this);
+    }
   }
 
   public static class Get extends Expr {
@@ -205,6 +326,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitGetExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(13);
+      out.writeNode(expression);
+      out.writeNode(name);
+      out.writePosition(this);
+    }
   }
 
   public static class Set extends Expr {
@@ -221,6 +349,14 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitSetExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(14);
+      out.writeNode(expression);
+      out.writeNode(name);
+      out.writeNode(value);
+      out.writePosition(this);
+    }
   }
 
   public static class Index extends Expr {
@@ -235,6 +371,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitIndexExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(15);
+      out.writeNode(callee);
+      out.writeList(arguments);
+      out.writePosition(this);
+    }
   }
 
   public static class Array extends Expr {
@@ -247,6 +390,12 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitArrayExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(16);
+      out.writeList(items);
+      out.writePosition(this);
+    }
   }
 
   public static class Dict extends Expr {
@@ -261,6 +410,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitDictExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(17);
+      out.writeList(keys);
+      out.writeList(values);
+      out.writePosition(this);
+    }
   }
 
   public static class New extends Expr {
@@ -275,6 +431,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitNewExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(18);
+      out.writeNode(expression);
+      out.writeList(arguments);
+      out.writePosition(this);
+    }
   }
 
   public static class Parent extends Expr {
@@ -284,6 +447,11 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitParentExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(19);
+      out.writePosition(this);
+    }
   }
 
   public static class Self extends Expr {
@@ -293,6 +461,11 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitSelfExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(20);
+      out.writePosition(this);
+    }
   }
 
   public static class Assign extends Expr {
@@ -307,6 +480,13 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitAssignExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(21);
+      out.writeNode(expression);
+      out.writeNode(value);
+      out.writePosition(this);
+    }
   }
 
   public static class Anonymous extends Expr {
@@ -319,5 +499,35 @@ public abstract class Expr extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitAnonymousExpr(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(22);
+      out.writeNode(function);
+      out.writePosition(this);
+    }
+  }
+
+  public static class CompoundAssign extends Expr {
+    public final Expr expression;
+    public final Token op;
+    public final Expr value;
+
+    public CompoundAssign(Expr expression, Token op, Expr value) {
+      this.expression = expression;
+      this.op = op;
+      this.value = value;
+    }
+
+    public <T> T accept(Visitor<T> visitor) {
+      return visitor.visitCompoundAssignExpr(this);
+    }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(23);
+      out.writeNode(expression);
+      out.writeToken(op);
+      out.writeNode(value);
+      out.writePosition(this);
+    }
   }
 }
@@ -2,10 +2,14 @@
 // This file was generated by the tools.rem.GenerateAst
 package org.blade.language.parser.ast;
 
+import org.blade.language.parser.FunctionBody;
 import org.blade.language.parser.Token;
+import java.io.IOException;
 import java.util.List;
 
 public abstract class Stmt extends AST {
+  public static final int SCHEMA = -1017762259;
+
   public abstract<T> T accept(Visitor<T> visitor);
 
   public interface Visitor<T> {
@@ -24,6 +28,7 @@ public abstract class Stmt extends AST {
     T visitUsingStmt(Using stmt);
     T visitImportStmt(Import stmt);
     T visitCatchStmt(Catch stmt);
+    T visitCatchClauseStmt(CatchClause stmt);
     T visitBlockStmt(Block stmt);
     T visitAssignStmt(Assign stmt);
     T visitVarStmt(Var stmt);
@@ -35,6 +40,44 @@ public abstract class Stmt extends AST {
     T visitStmt(Stmt stmt);
   }
 
+  public static Stmt read(AstInput in) throws IOException {
+    int tag = in.readTag();
+    if (tag == 0) {
+      return null;
+    }
+
+    Stmt node = switch (tag) {
+      case 1 -> new Echo(Expr.read(in));
+      case 2 -> new Expression(Expr.read(in));
+      case 3 -> new If(Expr.read(in), Stmt.read(in), Stmt.read(in));
+      case 4 -> new Iter(Stmt.read(in), Expr.read(in), (Expression) Stmt.read(in), (Block) Stmt.read(in));
+      case 5 -> new While(Expr.read(in), Stmt.read(in));
+      case 6 -> new DoWhile(Stmt.read(in), Expr.read(in));
+      case 7 -> new For(in.readList(Expr::read), Expr.read(in), Stmt.read(in));
+      case 8 -> new Continue();
+      case 9 -> new Break();
+      case 10 -> new Raise(Expr.read(in));
+      case 11 -> new Return(Expr.read(in));
+      case 12 -> new Assert(Expr.read(in), Expr.read(in));
+      case 13 -> new Using(Expr.read(in), in.readList(Expr::read), in.readList(Stmt::read), Stmt.read(in));
+      case 14 -> new Import(in.readString(), in.readTokens(), in.readBoolean());
+      case 15 -> new Catch((Block) Stmt.read(in), in.readList(Stmt::read), (Block) Stmt.read(in));
+      case 16 -> new CatchClause((Expr.Identifier) Expr.read(in), (Expr.Identifier) Expr.read(in), (Block) Stmt.read(in));
+      case 17 -> new Block(in.readList(Stmt::read));
+      case 18 -> new Assign(Expr.read(in), in.readToken(), Expr.read(in));
+      case 19 -> new Var(in.readToken(), Expr.read(in), in.readBoolean());
+      case 20 -> new Function(in.readToken(), in.readList(Expr::read), FunctionBody.of((Stmt.Block) Stmt.read(in)), in.readBoolean());
+      case 21 -> new Method(in.readToken(), in.readList(Expr::read), FunctionBody.of((Stmt.Block) Stmt.read(in)), in.readBoolean(), in.readBoolean());
+      case 22 -> new Property(in.readToken(), Expr.read(in), in.readBoolean(), in.readBoolean());
+      case 23 -> new Class(in.readToken(), (Expr.Identifier) Expr.read(in), in.readList(Stmt::read), in.readList(Stmt::read), in.readList(Stmt::read));
+      case 24 -> new VarList(in.readList(Stmt::read));
+      default -> throw new IOException("invalid Stmt tag " + tag);
+    };
+
+    in.readPosition(node);
+    return node;
+  }
+
   public static class Echo extends Stmt {
     public final Expr value;
 
@@ -45,6 +88,12 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitEchoStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(1);
+      out.writeNode(value);
+      out.writePosition(this);
+    }
   }
 
   public static class Expression extends Stmt {
@@ -57,6 +106,12 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitExpressionStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(2);
+      out.writeNode(expression);
+      out.writePosition(this);
+    }
   }
 
   public static class If extends Stmt {
@@ -73,6 +128,14 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitIfStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(3);
+      out.writeNode(condition);
+      out.writeNode(thenBranch);
+      out.writeNode(elseBranch);
+      out.writePosition(this);
+    }
   }
 
   public static class Iter extends Stmt {
@@ -91,6 +154,15 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitIterStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(4);
+      out.writeNode(declaration);
+      out.writeNode(condition);
+      out.writeNode(interation);
+      out.writeNode(body);
+      out.writePosition(this);
+    }
   }
 
   public static class While extends Stmt {
@@ -105,6 +177,13 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitWhileStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(5);
+      out.writeNode(condition);
+      out.writeNode(body);
+      out.writePosition(this);
+    }
   }
 
   public static class DoWhile extends Stmt {
@@ -119,6 +198,13 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitDoWhileStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(6);
+      out.writeNode(body);
+      out.writeNode(condition);
+      out.writePosition(this);
+    }
   }
 
   public static class For extends Stmt {
@@ -135,6 +221,14 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitForStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(7);
+      out.writeList(variables);
+      out.writeNode(iterable);
+      out.writeNode(body);
+      out.writePosition(this);
+    }
   }
 
   public static class Continue extends Stmt {
@@ -144,6 +238,11 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitContinueStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(8);
+      out.writePosition(this);
+    }
   }
 
   public static class Break extends Stmt {
@@ -153,6 +252,11 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitBreakStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(9);
+      out.writePosition(this);
+    }
   }
 
   public static class Raise extends Stmt {
@@ -165,6 +269,12 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitRaiseStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(10);
+      out.writeNode(exception);
+      out.writePosition(this);
+    }
   }
 
   public static class Return extends Stmt {
@@ -177,6 +287,12 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitReturnStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(11);
+      out.writeNode(value);
+      out.writePosition(this);
+    }
   }
 
   public static class Assert extends Stmt {
@@ -191,6 +307,13 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitAssertStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(12);
+      out.writeNode(expression);
+      out.writeNode(message);
+      out.writePosition(this);
+    }
   }
 
   public static class Using extends Stmt {
@@ -209,6 +332,15 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitUsingStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(13);
+      out.writeNode(expression);
+      out.writeList(caseLabels);
+      out.writeList(caseBodies);
+      out.writeNode(defaultCase);
+      out.writePosition(this);
+    }
   }
 
   public static class Import extends Stmt {
@@ -225,24 +357,62 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitImportStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(14);
+      out.writeString(path);
+      out.writeTokens(elements);
+      out.writeBoolean(all);
+      out.writePosition(this);
+    }
   }
 
   public static class Catch extends Stmt {
     public final Block body;
-    public final Block catchBody;
+    public final List<CatchClause> clauses;
     public final Block finallyBody;
-    public final Expr.Identifier name;
 
-    public Catch(Block body, Block catchBody, Block finallyBody, Expr.Identifier name) {
+    public Catch(Block body, List<CatchClause> clauses, Block finallyBody) {
       this.body = body;
-      this.catchBody = catchBody;
+      this.clauses = clauses;
       this.finallyBody = finallyBody;
-      this.name = name;
     }
 
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitCatchStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(15);
+      out.writeNode(body);
+      out.writeList(clauses);
+      out.writeNode(finallyBody);
+      out.writePosition(this);
+    }
+  }
+
+  public static class CatchClause extends Stmt {
+    public final Expr.Identifier type;
+    public final Expr.Identifier name;
+    public final Block body;
+
+    public CatchClause(Expr.Identifier type, Expr.Identifier name, Block body) {
+      this.type = type;
+      this.name = name;
+      this.body = body;
+    }
+
+    public <T> T accept(Visitor<T> visitor) {
+      return visitor.visitCatchClauseStmt(this);
+    }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(16);
+      out.writeNode(type);
+      out.writeNode(name);
+      out.writeNode(body);
+      out.writePosition(this);
+    }
   }
 
   public static class Block extends Stmt {
@@ -255,6 +425,12 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitBlockStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(17);
+      out.writeList(body);
+      out.writePosition(this);
+    }
   }
 
   public static class Assign extends Stmt {
@@ -271,6 +447,14 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitAssignStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(18);
+      out.writeNode(expression);
+      out.writeToken(type);
+      out.writeNode(value);
+      out.writePosition(this);
+    }
   }
 
   public static class Var extends Stmt {
@@ -287,15 +471,23 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitVarStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(19);
+      out.writeToken(name);
+      out.writeNode(value);
+      out.writeBoolean(isConstant);
+      out.writePosition(this);
+    }
   }
 
   public static class Function extends Stmt {
     public final Token name;
     public final List<Expr.Identifier> parameters;
-    public final Stmt.Block body;
+    public final FunctionBody body;
     public final boolean isVariadic;
 
-    public Function(Token name, List<Expr.Identifier> parameters, Stmt.Block body, boolean isVariadic) {
+    public Function(Token name, List<Expr.Identifier> parameters, FunctionBody body, boolean isVariadic) {
       this.name = name;
       this.parameters = parameters;
       this.body = body;
@@ -305,16 +497,25 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitFunctionStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(20);
+      out.writeToken(name);
+      out.writeList(parameters);
+      out.writeNode(body.get());
+      out.writeBoolean(isVariadic);
+      out.writePosition(this);
+    }
   }
 
   public static class Method extends Stmt {
     public final Token name;
     public final List<Expr.Identifier> parameters;
-    public final Stmt.Block body;
+    public final FunctionBody body;
     public final boolean isVariadic;
     public final boolean isStatic;
 
-    public Method(Token name, List<Expr.Identifier> parameters, Stmt.Block body, boolean isVariadic, boolean isStatic) {
+    public Method(Token name, List<Expr.Identifier> parameters, FunctionBody body, boolean isVariadic, boolean isStatic) {
       this.name = name;
       this.parameters = parameters;
       this.body = body;
@@ -325,6 +526,16 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitMethodStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(21);
+      out.writeToken(name);
+      out.writeList(parameters);
+      out.writeNode(body.get());
+      out.writeBoolean(isVariadic);
+      out.writeBoolean(isStatic);
+      out.writePosition(this);
+    }
   }
 
   public static class Property extends Stmt {
@@ -343,6 +554,15 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitPropertyStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(22);
+      out.writeToken(name);
+      out.writeNode(value);
+      out.writeBoolean(isStatic);
+      out.writeBoolean(isConstant);
+      out.writePosition(this);
+    }
   }
 
   public static class Class extends Stmt {
@@ -363,6 +583,16 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitClassStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(23);
+      out.writeToken(name);
+      out.writeNode(superclass);
+      out.writeList(properties);
+      out.writeList(methods);
+      out.writeList(operators);
+      out.writePosition(this);
+    }
   }
 
   public static class VarList extends Stmt {
@@ -375,5 +605,11 @@ public abstract class Stmt extends AST {
     public <T> T accept(Visitor<T> visitor) {
       return visitor.visitVarListStmt(this);
     }
+
+    public void write(AstOutput out) throws IOException {
+      out.writeTag(24);
+      out.writeList(declarations);
+      out.writePosition(this);
+    }
   }
 }
@@ -0,0 +1,36 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import org.blade.annotations.ObjectName;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An integer created by <code>thread.atomic</code> that threads can update
+ * without a lock.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Atomic")
+public final class AtomicObject implements TruffleObject {
+  public final AtomicLong value;
+
+  public AtomicObject(long value) {
+    this.value = new AtomicLong(value);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<atomic " + value.get() + ">";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
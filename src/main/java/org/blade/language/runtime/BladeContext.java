@@ -1,7 +1,9 @@
 package org.blade.language.runtime;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
@@ -9,14 +11,23 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.source.Source;
 import org.blade.language.BladeLanguage;
+import org.blade.language.parser.AstCache;
 import org.blade.language.shared.BuiltinClassesModel;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Pattern;
 
 import static com.oracle.truffle.api.CompilerDirectives.shouldNotReachHere;
 
@@ -25,14 +36,31 @@ public class BladeContext {
   private static final TruffleLanguage.ContextReference<BladeContext> REFERENCE = TruffleLanguage.ContextReference.create(BladeLanguage.class);
 
   private final List<FunctionObject> shutdownHooks = new ArrayList<>();
+  private final List<FileObject> openFiles = new ArrayList<>();
+  private final List<Thread> threads = new ArrayList<>();
+  private final List<WorkerObject> workers = new ArrayList<>();
+  // the channels given to this context when it runs a worker
+  private ChannelObject[] channels = new ChannelObject[0];
+
+  // module scopes indexed by their engine-wide module id; replaced rather
+  // than resized so threads never see a partially copied array
+  private volatile DynamicObject[] moduleScopes = new DynamicObject[0];
+  // guards modules and moduleScopes; module bodies run without holding it
+  private final Object modulesLock = new Object();
+  private final Map<String, ModuleImport> modules = new HashMap<>();
+  private Set<Object> builtinNames;
 
   public final DynamicObject globalScope;
   public final BuiltinClassesModel objectsModel;
   public final FunctionObject emptyFunction;
 
-  public final BufferedReader input;
-  public final PrintWriter output;
-  public final PrintWriter error;
+  // bound to the streams of the current env, see patchContext
+  public BladeInput input;
+  public BladeOutput output;
+  public PrintWriter error;
+
+  // null when parse caching is disabled
+  public AstCache astCache;
 
   public TruffleLanguage.Env env;
 
@@ -41,33 +69,278 @@ public class BladeContext {
     this.objectsModel = objectsModel;
     this.emptyFunction = emptyFunction;
     this.env = env;
+    bindEnv(env);
+
+    builtinNames = Set.of(DynamicObjectLibrary.getUncached().getKeyArray(globalScope));
+  }
 
-    input = new BufferedReader(new InputStreamReader(env.in()));
-    output = new PrintWriter(env.out(), true);
+  private void bindEnv(TruffleLanguage.Env env) {
+    output = new BladeOutput(env.out(), env.getOptions().get(BladeLanguage.Interactive));
+    input = new BladeInput(env.in(), output);
     error = new PrintWriter(env.err(), true);
+
+    String parseCache = env.getOptions().get(BladeLanguage.ParseCache);
+    astCache = parseCache.isEmpty() ? null : new AstCache(
+      env.getPublicTruffleFile(parseCache),
+      env.getInternalLanguages().get(BladeLanguage.ID).getVersion()
+    );
   }
 
   public static BladeContext get(Node node) {
     return REFERENCE.get(node);
   }
 
-  @CompilerDirectives.TruffleBoundary
   public void print(Object object) {
     output.print(object);
   }
 
-  @CompilerDirectives.TruffleBoundary
   public void println(Object object) {
     output.println(object);
   }
 
-  @CompilerDirectives.TruffleBoundary
   public void flushOutput() {
     output.flush();
   }
 
+  /**
+   * Track a file opened for writing so that its buffered content is not lost
+   * if the script exits without closing it.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void registerFile(FileObject file) {
+    openFiles.add(file);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void unregisterFile(FileObject file) {
+    openFiles.remove(file);
+  }
+
+  public synchronized void closeFiles() {
+    for (FileObject file : openFiles) {
+      file.close();
+    }
+    openFiles.clear();
+  }
+
+  /**
+   * Track a thread started by a script so that the context can wait for it
+   * before it is closed.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void registerThread(Thread thread) {
+    threads.add(thread);
+  }
+
+  /**
+   * Track a worker started by a script so that the context can wait for it
+   * and close its inner context before it is closed.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void registerWorker(WorkerObject worker) {
+    workers.add(worker);
+  }
+
+  /**
+   * Wait for every thread and worker started by a script. This method is
+   * designed to be executed in {@link BladeLanguage#finalizeContext(BladeContext)}.
+   * <p>
+   * The wait processes safepoints, so a thread that never ends does not
+   * keep the context from being cancelled or interrupted; the threads are
+   * cancelled together with the context.
+   */
+  public void joinThreads() {
+    List<Thread> started;
+    List<WorkerObject> startedWorkers;
+    synchronized (this) {
+      started = new ArrayList<>(threads);
+      startedWorkers = new ArrayList<>(workers);
+      threads.clear();
+      workers.clear();
+    }
+
+    for (WorkerObject worker : startedWorkers) {
+      started.add(worker.getThread());
+    }
+
+    for (Thread thread : started) {
+      TruffleSafepoint.setBlockedThreadInterruptible(null, Thread::join, thread);
+    }
+
+    for (WorkerObject worker : startedWorkers) {
+      worker.finish();
+    }
+  }
+
+  public void setChannels(ChannelObject[] channels) {
+    this.channels = channels;
+  }
+
+  public ChannelObject[] getChannels() {
+    return channels;
+  }
+
+  public DynamicObject getModuleScope(int id) {
+    return moduleScopes[id];
+  }
+
+  /**
+   * Returns true if the given global name is defined by the runtime rather
+   * than by a script or module.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public boolean isBuiltinName(Object name) {
+    return builtinNames.contains(name);
+  }
+
+  /**
+   * A module of this context and the thread that runs its body.
+   */
+  private static final class ModuleImport {
+    final ModuleObject module;
+    final Thread initializer = Thread.currentThread();
+    final CountDownLatch initialized = new CountDownLatch(1);
+
+    ModuleImport(ModuleObject module) {
+      this.module = module;
+    }
+  }
+
+  /**
+   * Import a module into this context. A module is evaluated at most once per
+   * context; its translated code is taken from the engine-wide cache in
+   * {@link BladeLanguage#loadModule(BladeContext, Source, byte[])}.
+   * <p>
+   * The module is registered before its body runs so that circular imports
+   * see the partially initialized module instead of importing it again.
+   * Other threads importing the module wait until its body has run. The body
+   * runs without holding a lock of this context, so it may start threads
+   * and open files.
+   *
+   * @param node the importing node
+   * @param importerPath the path of the importing source or <code>null</code>
+   * @param modulePath the dotted module path, e.g. <code>lib.math</code>
+   */
+  @CompilerDirectives.TruffleBoundary
+  public ModuleObject importModule(Node node, String importerPath, String modulePath) {
+    String[] segments = modulePath.split("\\.");
+    String name = segments[segments.length - 1];
+
+    Source source;
+    byte[] content;
+    try {
+      TruffleFile base = importerPath == null
+        ? env.getCurrentWorkingDirectory()
+        : env.getPublicTruffleFile(importerPath).getParent();
+      TruffleFile file = base.resolve(String.join("/", segments) + ".b");
+      if (!file.isRegularFile()) {
+        throw BladeRuntimeError.error(node, "module '", modulePath, "' not found");
+      }
+
+      file = file.getCanonicalFile();
+      ModuleImport existing;
+      synchronized (modulesLock) {
+        existing = modules.get(file.getPath());
+      }
+      if (existing != null) {
+        return awaitModule(node, existing);
+      }
+
+      content = file.readAllBytes();
+      source = Source.newBuilder(BladeLanguage.ID, file)
+        .content(new String(content, StandardCharsets.UTF_8))
+        .build();
+    } catch (IOException | SecurityException e) {
+      throw BladeRuntimeError.error(node, String.valueOf(e.getMessage()));
+    }
+
+    BladeLanguage.CachedModule cached = BladeLanguage.get(node).loadModule(this, source, content);
+
+    ModuleImport imported;
+    boolean created = false;
+    synchronized (modulesLock) {
+      // another thread may have imported the module in the meantime
+      imported = modules.get(source.getPath());
+      if (imported == null) {
+        imported = new ModuleImport(createModule(name));
+        if (cached.id() >= moduleScopes.length) {
+          moduleScopes = Arrays.copyOf(moduleScopes, cached.id() + 1);
+        }
+        moduleScopes[cached.id()] = imported.module;
+        modules.put(source.getPath(), imported);
+        created = true;
+      }
+    }
+
+    if (!created) {
+      return awaitModule(node, imported);
+    }
+
+    try {
+      cached.callTarget().call();
+    } finally {
+      imported.initialized.countDown();
+    }
+    return imported.module;
+  }
+
+  private ModuleObject createModule(String name) {
+    DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+    ModuleObject module = new ModuleObject(objectsModel.rootShape, objectsModel.objectObject, name);
+    for (Object key : builtinNames) {
+      objectLibrary.putConstant(module, key, objectLibrary.getOrDefault(globalScope, key, BladeNil.SINGLETON), objectLibrary.getPropertyFlags(globalScope, key, 0));
+    }
+    return module;
+  }
+
+  /**
+   * Returns a module once its body has run. A circular import on the thread
+   * that runs the body gets the partially initialized module.
+   */
+  private static ModuleObject awaitModule(Node node, ModuleImport imported) {
+    if (imported.initializer != Thread.currentThread()) {
+      TruffleSafepoint.setBlockedThreadInterruptible(node, CountDownLatch::await, imported.initialized);
+    }
+    return imported.module;
+  }
+
+  /**
+   * Evaluate the library files named by {@link BladeLanguage#Preload} in the
+   * global scope. Their definitions become builtins, so modules see them as
+   * well. In a native image this runs while the image is built, and the
+   * definitions are stored in the image heap.
+   */
+  public void preloadLibraries() {
+    String preload = env.getOptions().get(BladeLanguage.Preload);
+    if (preload.isEmpty()) {
+      return;
+    }
+
+    for (String path : preload.split(Pattern.quote(env.getPathSeparator()))) {
+      if (path.isBlank()) {
+        continue;
+      }
+
+      try {
+        TruffleFile file = env.getPublicTruffleFile(path.strip()).getCanonicalFile();
+        env.parsePublic(Source.newBuilder(BladeLanguage.ID, file).build()).call();
+      } catch (IOException | SecurityException e) {
+        throw BladeRuntimeError.create("cannot preload '", path, "': ", String.valueOf(e.getMessage()));
+      }
+    }
+    flushOutput();
+
+    builtinNames = Set.of(DynamicObjectLibrary.getUncached().getKeyArray(globalScope));
+  }
+
+  /**
+   * Rebind a context created while a native image was built to the streams
+   * and options of the process that runs it. Everything the context defined
+   * is kept.
+   */
   public void patchContext(TruffleLanguage.Env newEnv) {
     env = newEnv;
+    bindEnv(newEnv);
   }
 
   /**
@@ -76,7 +349,7 @@ public class BladeContext {
    * @param func no-parameter function to be registered as a shutdown hook
    */
   @CompilerDirectives.TruffleBoundary
-  public void registerShutdownHook(FunctionObject func) {
+  public synchronized void registerShutdownHook(FunctionObject func) {
     shutdownHooks.add(func);
   }
 
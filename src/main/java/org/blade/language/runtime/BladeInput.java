@@ -0,0 +1,123 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.BladeLanguage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Buffered byte reader over the context input stream. Lines are cut directly
+ * out of a reusable byte buffer into {@link TruffleString}s, so reading input
+ * never decodes through a Java {@link String}.
+ * <p>
+ * When given an output, it is flushed before every blocking read so that prompts
+ * written with <code>print()</code> are visible before the script waits for input.
+ */
+public final class BladeInput {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream stream;
+  private final BladeOutput output;
+  private byte[] buffer = new byte[BUFFER_SIZE];
+  private int position = 0;
+  private int limit = 0;
+
+  public BladeInput(InputStream stream, BladeOutput output) {
+    this.stream = stream;
+    this.output = output;
+  }
+
+  /**
+   * Reads the next line without its line terminator.
+   *
+   * @return the line or <code>null</code> when the input is exhausted
+   */
+  @CompilerDirectives.TruffleBoundary
+  public TruffleString readLine() {
+    int scan = position;
+    while (true) {
+      for (; scan < limit; scan++) {
+        if (buffer[scan] == '\n') {
+          int end = scan > position && buffer[scan - 1] == '\r' ? scan - 1 : scan;
+          TruffleString line = slice(position, end);
+          position = scan + 1;
+          return line;
+        }
+      }
+
+      int scanned = scan - position;
+      if (!fill()) {
+        if (position == limit) {
+          return null;
+        }
+
+        // last line without a terminator
+        TruffleString line = slice(position, limit);
+        position = limit;
+        return line;
+      }
+      scan = position + scanned;
+    }
+  }
+
+  /**
+   * Reads everything that remains in the input.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public TruffleString readAll() {
+    while (fill()) {
+      // keep reading till the end of the stream
+    }
+
+    TruffleString result = slice(position, limit);
+    position = limit = 0;
+    if (buffer.length > BUFFER_SIZE) {
+      buffer = new byte[BUFFER_SIZE];
+    }
+    return result;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public void close() {
+    try {
+      stream.close();
+    } catch (IOException e) {
+      throw BladeRuntimeError.create(e.getMessage());
+    }
+  }
+
+  private TruffleString slice(int start, int end) {
+    return TruffleString.fromByteArrayUncached(buffer, start, end - start, BladeLanguage.ENCODING, true);
+  }
+
+  private boolean fill() {
+    if (position > 0) {
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      position = 0;
+    }
+
+    // a single line longer than the buffer
+    if (limit == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+
+    if (output != null) {
+      output.flush();
+    }
+
+    try {
+      int read = stream.read(buffer, limit, buffer.length - limit);
+      if (read < 0) {
+        return false;
+      }
+      limit += read;
+      return true;
+    } catch (IOException e) {
+      throw BladeRuntimeError.create(e.getMessage());
+    }
+  }
+}
@@ -90,6 +90,9 @@ public class BladeObject extends DynamicObject {
     Object value = instanceObjectLibrary.getOrDefault(this, member, null);
     if (value == null) {
       value = classInteropLibrary.readMember(classObject, member);
+    } else if (value instanceof ErrorStackTrace stackTrace) {
+      value = stackTrace.materialize();
+      writeMember(member, value, instanceObjectLibrary);
     }
     return value;
   }
@@ -103,7 +106,30 @@ public class BladeObject extends DynamicObject {
   @ExportMessage
   void writeMember(String member, Object value,
                    @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
-    objectLibrary.put(this, member, value);
+    // the scope of a module holds the builtins as well
+    if (objectLibrary.getPropertyFlags(this, member, 0) == GlobalScopeObject.BUILTIN) {
+      CompilerDirectives.transferToInterpreter();
+      GlobalScopeObject.unbindBuiltin(this, member);
+    }
+
+    if (BladeLanguage.get(objectLibrary).singleThreaded.isValid()) {
+      objectLibrary.put(this, member, value);
+    } else {
+      putShared(member, value);
+    }
+  }
+
+  /**
+   * Write a property while other threads may be running. Adding a property
+   * or changing its type replaces the shape of the object, so writers take
+   * the object's monitor to not lose each other's properties. Reads stay
+   * lock-free.
+   */
+  @CompilerDirectives.TruffleBoundary
+  protected final void putShared(String member, Object value) {
+    synchronized (this) {
+      DynamicObjectLibrary.getUncached().put(this, member, value);
+    }
   }
 
   @CompilerDirectives.TruffleBoundary
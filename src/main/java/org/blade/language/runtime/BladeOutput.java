@@ -0,0 +1,117 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.strings.InternalByteArray;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.BladeLanguage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered byte channel used for everything the language writes to an output
+ * stream. Strings are copied as raw bytes out of their {@link TruffleString}
+ * storage, so printing never goes through a Java {@link String}.
+ * <p>
+ * The buffer is flushed when full, at the end of every evaluation and when the
+ * context exits. In interactive mode it is also flushed on every newline.
+ * Writes are synchronized so that lines printed by different threads are
+ * not interleaved.
+ */
+public final class BladeOutput {
+  private static final int BUFFER_SIZE = 8192;
+  private static final byte NEWLINE = '\n';
+
+  private final OutputStream stream;
+  private final boolean interactive;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int position = 0;
+
+  public BladeOutput(OutputStream stream, boolean interactive) {
+    this.stream = stream;
+    this.interactive = interactive;
+  }
+
+  public void write(TruffleString string,
+                    TruffleString.SwitchEncodingNode switchEncodingNode,
+                    TruffleString.GetInternalByteArrayNode byteArrayNode) {
+    InternalByteArray bytes = byteArrayNode.execute(
+      switchEncodingNode.execute(string, BladeLanguage.ENCODING),
+      BladeLanguage.ENCODING
+    );
+    write(bytes.getArray(), bytes.getOffset(), bytes.getLength());
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void write(byte[] bytes, int offset, int length) {
+    if (length > buffer.length - position) {
+      flush();
+
+      // too large to be worth buffering
+      if (length >= buffer.length) {
+        try {
+          stream.write(bytes, offset, length);
+        } catch (IOException e) {
+          throw BladeRuntimeError.create(e.getMessage());
+        }
+        return;
+      }
+    }
+
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position += length;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void write(byte value) {
+    if (position == buffer.length) {
+      flush();
+    }
+    buffer[position++] = value;
+  }
+
+  public void newline() {
+    write(NEWLINE);
+    if (interactive) {
+      flush();
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public void print(Object object) {
+    byte[] bytes = object instanceof TruffleString string
+      ? string.switchEncodingUncached(BladeLanguage.ENCODING).copyToByteArrayUncached(BladeLanguage.ENCODING)
+      : BString.toString(object).getBytes(StandardCharsets.UTF_8);
+    write(bytes, 0, bytes.length);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void println(Object object) {
+    print(object);
+    newline();
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void flush() {
+    try {
+      if (position > 0) {
+        stream.write(buffer, 0, position);
+        position = 0;
+      }
+      stream.flush();
+    } catch (IOException e) {
+      throw BladeRuntimeError.create(e.getMessage());
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void close() {
+    flush();
+    try {
+      stream.close();
+    } catch (IOException e) {
+      throw BladeRuntimeError.create(e.getMessage());
+    }
+  }
+}
@@ -33,6 +33,11 @@ public class BladeRuntimeError extends AbstractTruffleException {
     this(message, null);
   }
 
+  private BladeRuntimeError(String message, Object value, Node node) {
+    super(message, node);
+    this.value = value;
+  }
+
 //  private static final InteropLibrary UNCACHED_LIB = InteropLibrary.getFactory().getUncached();
 
   public BladeRuntimeError(Object name, Object message, BladeObject value, NNode node) {
@@ -55,6 +60,17 @@ public class BladeRuntimeError extends AbstractTruffleException {
     return new BladeRuntimeError(message, location);
   }
 
+  /**
+   * Raise an error again at another location, such as the error of a thread
+   * in every thread that joins it. Each raise gets its own exception, and so
+   * its own stack trace, while catch clauses see the same error value.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public static AbstractTruffleException raiseAgain(AbstractTruffleException error, Node location) {
+    Object value = error instanceof BladeRuntimeError bladeError ? bladeError.value : null;
+    return new BladeRuntimeError(error.getMessage(), value, location);
+  }
+
   @CompilerDirectives.TruffleBoundary
   public static AbstractTruffleException create(String message) {
     return new BladeRuntimeError(message);
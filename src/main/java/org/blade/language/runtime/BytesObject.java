@@ -0,0 +1,270 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.memory.ByteArraySupport;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.Shape;
+import org.blade.annotations.ObjectName;
+
+import java.nio.ByteOrder;
+
+/**
+ * A mutable sequence of bytes. A bytes object is a window of
+ * <code>length</code> bytes starting at <code>offset</code> in its backing
+ * array, so slices share storage with the object they were cut from.
+ * <p>
+ * Elements read through the array messages are unsigned bytes. The interop
+ * buffer messages expose the same window to other languages and the host
+ * without copying.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Bytes")
+public final class BytesObject extends BladeObject {
+  static final String LENGTH_PROP = "length";
+
+  public final byte[] data;
+  public final int offset;
+  public final int length;
+
+  public BytesObject(Shape shape, BladeClass classObject, byte[] data, int offset, int length) {
+    super(shape, classObject);
+    this.data = data;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  public BytesObject(Shape shape, BladeClass classObject, byte[] data) {
+    this(shape, classObject, data, 0, data.length);
+  }
+
+  public static ByteArraySupport support(boolean littleEndian) {
+    return littleEndian ? ByteArraySupport.littleEndian() : ByteArraySupport.bigEndian();
+  }
+
+  private static ByteArraySupport support(ByteOrder order) {
+    return support(order == ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Translates an offset relative to this window into an index of the backing
+   * array, raising a ValueError if <code>size</code> bytes are not available.
+   */
+  public int index(Node node, long byteOffset, int size) {
+    if (byteOffset < 0 || byteOffset > length - size) {
+      throw BladeRuntimeError.valueError(node, outOfRange(byteOffset));
+    }
+    return offset + (int) byteOffset;
+  }
+
+  public BytesObject slice(Node node, long start, long end) {
+    if (start < 0 || end < start || end > length) {
+      throw BladeRuntimeError.valueError(node, outOfRange(start));
+    }
+    return new BytesObject(getShape(), (BladeClass) classObject, data, offset + (int) start, (int) (end - start));
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private static String outOfRange(long byteOffset) {
+    return "Bytes offset " + byteOffset + " out of range";
+  }
+
+  private int checkBufferOffset(long byteOffset, int size) throws InvalidBufferOffsetException {
+    if (byteOffset < 0 || byteOffset > length - size) {
+      throw InvalidBufferOffsetException.create(byteOffset, size);
+    }
+    return offset + (int) byteOffset;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<bytes length=" + length + ">";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+
+  // members
+
+  @ExportMessage
+  boolean isMemberReadable(String member,
+                           @CachedLibrary("this.classObject") InteropLibrary classInteropLibrary) {
+    return LENGTH_PROP.equals(member) || classInteropLibrary.isMemberReadable(classObject, member);
+  }
+
+  @ExportMessage
+  Object readMember(String member,
+                    @CachedLibrary("this.classObject") InteropLibrary classInteropLibrary)
+    throws UnknownIdentifierException, UnsupportedMessageException {
+    if (LENGTH_PROP.equals(member)) {
+      return (long) length;
+    }
+    return classInteropLibrary.readMember(classObject, member);
+  }
+
+  @ExportMessage
+  void writeMember(@SuppressWarnings("unused") String member, @SuppressWarnings("unused") Object value)
+    throws UnsupportedMessageException {
+    throw UnsupportedMessageException.create();
+  }
+
+  @ExportMessage
+  boolean isMemberModifiable(@SuppressWarnings("unused") String member) {
+    return false;
+  }
+
+  @ExportMessage
+  boolean isMemberInsertable(@SuppressWarnings("unused") String member) {
+    return false;
+  }
+
+  // array elements
+
+  @ExportMessage
+  boolean hasArrayElements() {
+    return true;
+  }
+
+  @ExportMessage
+  long getArraySize() {
+    return length;
+  }
+
+  @ExportMessage
+  boolean isArrayElementReadable(long index) {
+    return index >= 0 && index < length;
+  }
+
+  @ExportMessage
+  boolean isArrayElementModifiable(long index) {
+    return isArrayElementReadable(index);
+  }
+
+  @ExportMessage
+  boolean isArrayElementInsertable(@SuppressWarnings("unused") long index) {
+    return false;
+  }
+
+  @ExportMessage
+  Object readArrayElement(long index) throws InvalidArrayIndexException {
+    if (!isArrayElementReadable(index)) {
+      throw InvalidArrayIndexException.create(index);
+    }
+    return (long) Byte.toUnsignedInt(data[offset + (int) index]);
+  }
+
+  @ExportMessage
+  void writeArrayElement(long index, Object value) throws InvalidArrayIndexException, UnsupportedTypeException {
+    if (!isArrayElementReadable(index)) {
+      throw InvalidArrayIndexException.create(index);
+    }
+    if (!(value instanceof Long byteValue)) {
+      throw UnsupportedTypeException.create(new Object[]{value});
+    }
+    // elements are unsigned bytes, so a larger value would wrap
+    if (byteValue < 0 || byteValue > 255) {
+      throw BladeRuntimeError.valueError(null, invalidByte(byteValue));
+    }
+    data[offset + (int) index] = (byte) (long) byteValue;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private static String invalidByte(long value) {
+    return "byte value " + value + " out of range 0..255";
+  }
+
+  // buffer elements
+
+  @ExportMessage
+  boolean hasBufferElements() {
+    return true;
+  }
+
+  @ExportMessage
+  boolean isBufferWritable() {
+    return true;
+  }
+
+  @ExportMessage
+  long getBufferSize() {
+    return length;
+  }
+
+  @ExportMessage
+  void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int size) throws InvalidBufferOffsetException {
+    int start = checkBufferOffset(byteOffset, size);
+    System.arraycopy(data, start, destination, destinationOffset, size);
+  }
+
+  @ExportMessage
+  byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+    return data[checkBufferOffset(byteOffset, Byte.BYTES)];
+  }
+
+  @ExportMessage
+  void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+    data[checkBufferOffset(byteOffset, Byte.BYTES)] = value;
+  }
+
+  @ExportMessage
+  short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return support(order).getShort(data, checkBufferOffset(byteOffset, Short.BYTES));
+  }
+
+  @ExportMessage
+  void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+    support(order).putShort(data, checkBufferOffset(byteOffset, Short.BYTES), value);
+  }
+
+  @ExportMessage
+  int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return support(order).getInt(data, checkBufferOffset(byteOffset, Integer.BYTES));
+  }
+
+  @ExportMessage
+  void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+    support(order).putInt(data, checkBufferOffset(byteOffset, Integer.BYTES), value);
+  }
+
+  @ExportMessage
+  long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return support(order).getLong(data, checkBufferOffset(byteOffset, Long.BYTES));
+  }
+
+  @ExportMessage
+  void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+    support(order).putLong(data, checkBufferOffset(byteOffset, Long.BYTES), value);
+  }
+
+  @ExportMessage
+  float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return support(order).getFloat(data, checkBufferOffset(byteOffset, Float.BYTES));
+  }
+
+  @ExportMessage
+  void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+    support(order).putFloat(data, checkBufferOffset(byteOffset, Float.BYTES), value);
+  }
+
+  @ExportMessage
+  double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return support(order).getDouble(data, checkBufferOffset(byteOffset, Double.BYTES));
+  }
+
+  @ExportMessage
+  void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+    support(order).putDouble(data, checkBufferOffset(byteOffset, Double.BYTES), value);
+  }
+}
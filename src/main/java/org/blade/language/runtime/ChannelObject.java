@@ -0,0 +1,168 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.annotations.ObjectName;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded queue through which workers exchange values. A channel belongs
+ * to no context, so it never holds Blade objects: values are copied into a
+ * context-independent form when they are sent and rebuilt in the receiving
+ * context. Only numbers, booleans, nil, strings, bytes and lists of those
+ * can be sent.
+ * <p>
+ * Sending to a full channel and receiving from an empty one block the
+ * calling thread. Once a channel is closed, receiving from it returns nil
+ * after the values already sent have been received, and sending to it
+ * fails.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Channel")
+public final class ChannelObject implements TruffleObject {
+  private final int capacity;
+  private final ArrayDeque<Object> items;
+  // guards the items and the closed state
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private boolean closed;
+
+  public ChannelObject(int capacity) {
+    this.capacity = capacity;
+    this.items = new ArrayDeque<>(capacity);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public void send(Node node, Object value) {
+    Object copy = export(node, value);
+
+    lock.lock();
+    try {
+      while (!closed && items.size() == capacity) {
+        TruffleSafepoint.setBlockedThreadInterruptible(node, Condition::await, notFull);
+      }
+      if (closed) {
+        throw BladeRuntimeError.error(node, "cannot send through a closed channel");
+      }
+
+      items.addLast(copy);
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public Object receive(Node node, BladeContext context) {
+    Object value;
+
+    lock.lock();
+    try {
+      while (!closed && items.isEmpty()) {
+        TruffleSafepoint.setBlockedThreadInterruptible(node, Condition::await, notEmpty);
+      }
+      if (items.isEmpty()) {
+        return BladeNil.SINGLETON;
+      }
+
+      value = items.removeFirst();
+      notFull.signal();
+    } finally {
+      lock.unlock();
+    }
+
+    return rebuild(context, value);
+  }
+
+  /**
+   * Close the channel without waiting. Blocked receivers return nil once
+   * the values already sent are received, and blocked senders fail.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Object export(Node node, Object value) {
+    return export(node, value, Collections.newSetFromMap(new IdentityHashMap<>()));
+  }
+
+  /**
+   * @param enclosing the lists the value is nested in, which it must not be
+   *                  one of, as a cyclic list has no finite copy
+   */
+  private static Object export(Node node, Object value, Set<ListObject> enclosing) {
+    if (value instanceof Long || value instanceof Double || value instanceof Boolean
+      || value instanceof TruffleString || value == BladeNil.SINGLETON) {
+      return value;
+    } else if (value instanceof ListObject list) {
+      if (!enclosing.add(list)) {
+        throw BladeRuntimeError.typeError(node, "cannot send a list that contains itself through a channel");
+      }
+
+      Object[] items = list.items;
+      Object[] copy = new Object[items.length];
+      for (int i = 0; i < items.length; i++) {
+        copy[i] = export(node, items[i], enclosing);
+      }
+      enclosing.remove(list);
+      return copy;
+    } else if (value instanceof BytesObject bytes) {
+      byte[] copy = new byte[bytes.length];
+      System.arraycopy(bytes.data, bytes.offset, copy, 0, bytes.length);
+      return copy;
+    }
+
+    throw BladeRuntimeError.typeError(node, "cannot send '", BString.toString(value), "' through a channel");
+  }
+
+  private static Object rebuild(BladeContext context, Object value) {
+    if (value instanceof Object[] items) {
+      Object[] copy = new Object[items.length];
+      for (int i = 0; i < items.length; i++) {
+        copy[i] = rebuild(context, items[i]);
+      }
+      return new ListObject(context.objectsModel.listShape, context.objectsModel.listObject, copy);
+    } else if (value instanceof byte[] data) {
+      return new BytesObject(context.objectsModel.rootShape, context.objectsModel.bytesObject, data);
+    }
+    return value;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    lock.lock();
+    try {
+      return "<channel " + items.size() + "/" + capacity + ">";
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
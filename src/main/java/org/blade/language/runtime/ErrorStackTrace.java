@@ -0,0 +1,83 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleStackTrace;
+import com.oracle.truffle.api.TruffleStackTraceElement;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+
+import java.util.List;
+
+/**
+ * Placeholder stored in the <code>stacktrace</code> property of a raised error.
+ * It only keeps a reference to the captured Truffle stack and formats it into a
+ * string the first time the property is read.
+ */
+public final class ErrorStackTrace {
+  private final Object type;
+  private final Object message;
+  private final BladeRuntimeError error;
+
+  public ErrorStackTrace(Object type, Object message, BladeRuntimeError error) {
+    this.type = type;
+    this.message = message;
+    this.error = error;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public TruffleString materialize() {
+    TruffleStringBuilder sb = BString.builder();
+    sb.appendStringUncached(BString.fromObject(type));
+
+    if (message != BladeNil.SINGLETON) {
+      sb.appendStringUncached(BString.fromJavaString(": "));
+      sb.appendStringUncached(BString.fromObject(message));
+    }
+
+    List<TruffleStackTraceElement> truffleStackTraceEls = TruffleStackTrace.getStackTrace(error);
+    if (truffleStackTraceEls == null) {
+      return sb.toStringUncached();
+    }
+
+    for (TruffleStackTraceElement truffleStackTracEl : truffleStackTraceEls) {
+      Node location = truffleStackTracEl.getLocation();
+      if (location == null) {
+        continue;
+      }
+
+      sb.appendStringUncached(BString.fromJavaString("\n\tat "));
+
+      RootNode rootNode = location.getRootNode();
+      String funcName = rootNode.getName();
+
+      SourceSection sourceSection = location.getEncapsulatingSourceSection();
+      sb.appendStringUncached(BString.fromJavaString(sourceSection.getSource().getName()));
+      sb.appendStringUncached(BString.fromJavaString(":"));
+      sb.appendStringUncached(BString.fromObject(sourceSection.getStartLine()));
+      sb.appendStringUncached(BString.fromJavaString(":"));
+      sb.appendStringUncached(BString.fromObject(sourceSection.getStartColumn()));
+
+      sb.appendStringUncached(BString.fromJavaString(" -> "));
+
+      // we want to ignore the top-level program RootNode type in this stack trace
+      boolean isFunc = !":program".equals(funcName);
+      if (isFunc) {
+        sb.appendStringUncached(BString.fromJavaString(funcName));
+      } else {
+        sb.appendStringUncached(BString.fromJavaString("@.script"));
+      }
+
+      sb.appendStringUncached(BString.fromJavaString("()"));
+    }
+    return sb.toStringUncached();
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return materialize().toJavaStringUncached();
+  }
+}
@@ -0,0 +1,160 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.annotations.ObjectName;
+import org.blade.language.BladeLanguage;
+import org.blade.language.shared.BuiltinClassesModel;
+
+import java.io.IOException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file opened through the <code>io</code> module. Every access goes through
+ * {@link TruffleFile}, so the file system configured for the polyglot context
+ * decides what a script may touch.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("File")
+public final class FileObject implements TruffleObject {
+  // the largest array the VM reliably allocates
+  private static final long MAX_READ_SIZE = Integer.MAX_VALUE - 8;
+
+  public final TruffleFile file;
+  public final String mode;
+
+  private final BladeOutput writer;
+  private BladeInput reader;
+  private boolean closed;
+
+  private FileObject(TruffleFile file, String mode, BladeOutput writer) {
+    this.file = file;
+    this.mode = mode;
+    this.writer = writer;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public static FileObject open(Node node, TruffleLanguage.Env env, String path, String mode) {
+    try {
+      TruffleFile file = env.getPublicTruffleFile(path);
+
+      return switch (mode) {
+        case "r" -> {
+          if (!file.isReadable()) {
+            throw BladeRuntimeError.error(node, "cannot open '", path, "' for reading");
+          }
+          yield new FileObject(file, mode, null);
+        }
+        case "w" -> new FileObject(file, mode, new BladeOutput(file.newOutputStream(), false));
+        case "a" -> new FileObject(file, mode, new BladeOutput(file.newOutputStream(
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND
+        ), false));
+        default -> throw BladeRuntimeError.valueError(node, "invalid file mode '" + mode + "'");
+      };
+    } catch (IOException | SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+      throw BladeRuntimeError.error(node, String.valueOf(e.getMessage()));
+    }
+  }
+
+  public boolean isWritable() {
+    return writer != null;
+  }
+
+  /**
+   * Reads the whole file as a string. The loaded array is wrapped without a
+   * further copy.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public TruffleString read(Node node) {
+    byte[] bytes = readBytes(node);
+    return TruffleString.fromByteArrayUncached(bytes, 0, bytes.length, BladeLanguage.ENCODING, false);
+  }
+
+  /**
+   * Reads the whole file. Strings and Bytes are backed by arrays, so a file
+   * that does not fit in one is an error rather than a host failure.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public byte[] readBytes(Node node) {
+    checkReadable(node);
+
+    try {
+      if (file.size() > MAX_READ_SIZE) {
+        throw BladeRuntimeError.error(node, "file '", file.getPath(), "' is too large to read at once");
+      }
+      return file.readAllBytes();
+    } catch (IOException | SecurityException e) {
+      throw BladeRuntimeError.error(node, "cannot read '", file.getPath(), "': ", String.valueOf(e.getMessage()));
+    }
+  }
+
+  /**
+   * Returns a lazy iterator over the lines of the file. Lines are read through
+   * a reusable buffer so the file is never held in memory as a whole.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public LineIteratorObject lines(Node node) {
+    checkReadable(node);
+
+    try {
+      closeReader();
+      reader = new BladeInput(file.newInputStream(), null);
+      BuiltinClassesModel classesModel = BladeLanguage.get(node).builtinObjects;
+      return new LineIteratorObject(classesModel.rootShape, classesModel.lineIteratorObject, reader);
+    } catch (IOException | SecurityException e) {
+      throw BladeRuntimeError.error(node, String.valueOf(e.getMessage()));
+    }
+  }
+
+  public BladeOutput writer(Node node) {
+    if (closed || writer == null) {
+      throw BladeRuntimeError.error(node, "file is not open for writing");
+    }
+    return writer;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    closeReader();
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  private void checkReadable(Node node) {
+    if (closed || writer != null) {
+      throw BladeRuntimeError.error(node, "file is not open for reading");
+    }
+  }
+
+  private void closeReader() {
+    if (reader != null) {
+      reader.close();
+      reader = null;
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<file " + file.getPath() + " (" + mode + ")>";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
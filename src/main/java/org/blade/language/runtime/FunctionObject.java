@@ -14,14 +14,20 @@ import org.blade.language.nodes.functions.NMethodDispatchNodeGen;
 
 @ExportLibrary(InteropLibrary.class)
 public final class FunctionObject extends BladeObject {
+  // only needed when the function is executed through interop, which most
+  // functions never are
   @CompilerDirectives.CompilationFinal
-  private final NMethodDispatchNode dispatchNode;
+  private NMethodDispatchNode dispatchNode;
 
   @CompilerDirectives.CompilationFinal
   public final String name;
 
-  @CompilerDirectives.CompilationFinal
-  public CallTarget callTarget;
+  // function objects are created for every context and every evaluation of
+  // a declaration, so the target is a plain field that compiled code reads
+  // rather than a constant it folds
+  private volatile CallTarget callTarget;
+
+  private final LazyCallTarget lazyCallTarget;
 
   @CompilerDirectives.CompilationFinal
   public final int argumentsCount;
@@ -34,14 +40,32 @@ public final class FunctionObject extends BladeObject {
   }
 
   public FunctionObject(Shape shape, BladeClass classObject, String name, CallTarget target, int argumentsCount, boolean variadic) {
+    this(shape, classObject, name, target, null, argumentsCount, variadic);
+  }
+
+  public FunctionObject(Shape shape, BladeClass classObject, String name, LazyCallTarget target, int argumentsCount, boolean variadic) {
+    this(shape, classObject, name, null, target, argumentsCount, variadic);
+  }
+
+  private FunctionObject(Shape shape, BladeClass classObject, String name, CallTarget target, LazyCallTarget lazyTarget, int argumentsCount, boolean variadic) {
     super(shape, classObject);
-    callTarget = target;
-    dispatchNode = NMethodDispatchNodeGen.create();
+    callTarget = target != null ? target : lazyTarget.getIfCreated();
+    lazyCallTarget = lazyTarget;
     this.name = name;
     this.argumentsCount = argumentsCount;
     this.variadic = variadic;
   }
 
+  public CallTarget getCallTarget() {
+    CallTarget target = callTarget;
+    if (target == null) {
+      // only the first call of a function that was never called before
+      CompilerDirectives.transferToInterpreter();
+      callTarget = target = lazyCallTarget.get();
+    }
+    return target;
+  }
+
   @ExportMessage
   boolean isExecutable() {
     return true;
@@ -60,7 +84,7 @@ public final class FunctionObject extends BladeObject {
 
   @Override
   public String toString() {
-    return BString.format("<function %s() at 0x%x>", name, callTarget.hashCode());
+    return BString.format("<function %s() at 0x%x>", name, getCallTarget().hashCode());
   }
 
   @ExplodeLoop
@@ -72,7 +96,12 @@ public final class FunctionObject extends BladeObject {
       }
     }
 
-    return dispatchNode.executeDispatch(this, BladeNil.SINGLETON, arguments);
+    NMethodDispatchNode dispatch = dispatchNode;
+    if (dispatch == null) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      dispatchNode = dispatch = NMethodDispatchNodeGen.create();
+    }
+    return dispatch.executeDispatch(this, BladeNil.SINGLETON, arguments);
   }
 
   private boolean isRemValue(Object value) {
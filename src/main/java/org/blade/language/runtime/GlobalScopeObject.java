@@ -1,5 +1,6 @@
 package org.blade.language.runtime;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
@@ -13,11 +14,42 @@ import org.blade.language.BladeLanguage;
 
 @ExportLibrary(InteropLibrary.class)
 public class GlobalScopeObject extends DynamicObject {
+  /**
+   * The flags of a global that still holds the builtin function it was
+   * defined with. Writes reset them through {@link #unbindBuiltin}.
+   */
+  public static final int BUILTIN = 2;
 
   public GlobalScopeObject(Shape shape) {
     super(shape);
   }
 
+  /**
+   * Write a global of a script or module scope while other threads may be
+   * running. Adding a property or changing its type replaces the shape of
+   * the scope, so writers take the scope's monitor to not lose each other's
+   * properties. Reads stay lock-free.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public static void putShared(DynamicObject scope, String name, Object value, int flags) {
+    synchronized (scope) {
+      DynamicObjectLibrary.getUncached().putWithFlags(scope, name, value, flags);
+    }
+  }
+
+  /**
+   * Called before a global holding a builtin function is first written.
+   * Call sites that embedded the builtin stop trusting the global from then
+   * on, in every context of the engine.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public static void unbindBuiltin(DynamicObject scope, String name) {
+    synchronized (scope) {
+      DynamicObjectLibrary.getUncached().setPropertyFlags(scope, name, 0);
+    }
+    BladeLanguage.get(null).builtinBinding(name).invalidate();
+  }
+
   @ExportMessage
   boolean isMemberReadable(String member,
                            @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
@@ -55,7 +87,16 @@ public class GlobalScopeObject extends DynamicObject {
   @ExportMessage
   void writeMember(String member, Object value,
                    @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
-    objectLibrary.put(this, member, value);
+    if (objectLibrary.getPropertyFlags(this, member, 0) == BUILTIN) {
+      CompilerDirectives.transferToInterpreter();
+      unbindBuiltin(this, member);
+    }
+
+    if (BladeLanguage.get(objectLibrary).singleThreaded.isValid()) {
+      objectLibrary.put(this, member, value);
+    } else {
+      putShared(this, member, value, 0);
+    }
   }
 
   @ExportMessage
@@ -0,0 +1,44 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives;
+
+import java.util.function.Supplier;
+
+/**
+ * The call target of a function whose nodes are created on its first call.
+ * A function that is declared but never called keeps only where its body
+ * starts in the source, see {@link org.blade.language.parser.FunctionBody}.
+ */
+public final class LazyCallTarget {
+  // dropped once the target exists, together with the syntax tree it holds
+  private Supplier<CallTarget> factory;
+  private volatile CallTarget target;
+
+  public LazyCallTarget(Supplier<CallTarget> factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Returns the call target if it was already created, or null. Function
+   * objects created after the first call take the target from here.
+   */
+  public CallTarget getIfCreated() {
+    return target;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public CallTarget get() {
+    CallTarget result = target;
+    if (result == null) {
+      synchronized (this) {
+        result = target;
+        if (result == null) {
+          target = result = factory.get();
+          factory = null;
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,84 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.StopIterationException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.annotations.ObjectName;
+
+/**
+ * Lazy iterator over the lines of a {@link BladeInput}. A line is only read
+ * when the next element is requested, either through the
+ * <code>has_next()</code> and <code>next()</code> methods of the
+ * LineIterator class or through the interop iterator messages.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("LineIterator")
+public final class LineIteratorObject extends BladeObject {
+  private final BladeInput input;
+
+  private TruffleString next;
+  private boolean exhausted;
+
+  public LineIteratorObject(Shape shape, BladeClass classObject, BladeInput input) {
+    super(shape, classObject);
+    this.input = input;
+  }
+
+  private TruffleString peek() {
+    if (next == null && !exhausted) {
+      next = input.readLine();
+      exhausted = next == null;
+    }
+    return next;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public synchronized boolean hasNext() {
+    return peek() != null;
+  }
+
+  /**
+   * Returns the next line, or null once the input is exhausted.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized TruffleString next() {
+    TruffleString line = peek();
+    next = null;
+    return line;
+  }
+
+  @ExportMessage
+  boolean isIterator() {
+    return true;
+  }
+
+  @ExportMessage
+  boolean hasIteratorNextElement() {
+    return hasNext();
+  }
+
+  @ExportMessage
+  Object getIteratorNextElement() throws StopIterationException {
+    TruffleString line = next();
+    if (line == null) {
+      throw StopIterationException.create();
+    }
+    return line;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<lines iterator>";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
@@ -13,14 +13,28 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.object.Shape;
+import org.blade.language.BladeLanguage;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @ExportLibrary(InteropLibrary.class)
 public class ListObject extends BladeObject {
   static final String LENGTH_PROP = "length";
 
+  private static final VarHandle ITEMS;
+
+  static {
+    try {
+      ITEMS = MethodHandles.lookup().findVarHandle(ListObject.class, "items", Object[].class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
   @CompilerDirectives.CompilationFinal(dimensions = 1)
   public Object[] items;
 
@@ -99,7 +113,26 @@ public class ListObject extends BladeObject {
 
   @ExportMessage.Ignore
   void writeArrayElement(long index, Object value) {
-    items[(int)index] = value;
+    if (BladeLanguage.get(null).singleThreaded.isValid()) {
+      items[(int)index] = value;
+    } else {
+      writeShared(index, value);
+    }
+  }
+
+  /**
+   * Write an item while other threads may be running. Writers take the same
+   * monitor as {@link #appendShared(Object)}, so an item is never written to
+   * an array that an append has already replaced.
+   */
+  @CompilerDirectives.TruffleBoundary
+  private void writeShared(long index, Object value) {
+    synchronized (this) {
+      if (index < 0 || index >= items.length) {
+        throw BladeRuntimeError.create("List index ", index, " out of range");
+      }
+      items[(int) index] = value;
+    }
   }
 
   @ExportMessage
@@ -173,6 +206,24 @@ public class ListObject extends BladeObject {
     this.setArrayElements(newItems, objectLibrary);
   }
 
+  /**
+   * Append an item while other threads may be running. Appending replaces
+   * the items array, so appenders and writers take the list's monitor to
+   * not lose each other's items. Element reads stay lock-free: the grown
+   * array is complete, new item included, before it is published with
+   * release semantics, so a reader never sees it half filled.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public void appendShared(Object item) {
+    synchronized (this) {
+      Object[] current = items;
+      Object[] grown = Arrays.copyOf(current, current.length + 1);
+      grown[current.length] = item;
+      ITEMS.setRelease(this, grown);
+      writeMember(LENGTH_PROP, grown.length, DynamicObjectLibrary.getUncached());
+    }
+  }
+
   private long effectiveIndex(long index, long length) {
     return index + (length & -(index >> 31));
   }
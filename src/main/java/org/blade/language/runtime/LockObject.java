@@ -0,0 +1,48 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import org.blade.annotations.ObjectName;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A reentrant lock created by <code>thread.lock</code>. Waiting for the lock
+ * does not block safepoints, so a context can still be cancelled while one
+ * of its threads waits.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Lock")
+public final class LockObject implements TruffleObject {
+  private final ReentrantLock lock = new ReentrantLock();
+
+  @CompilerDirectives.TruffleBoundary
+  public void acquire(Node node) {
+    TruffleSafepoint.setBlockedThreadInterruptible(node, ReentrantLock::lockInterruptibly, lock);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public void release(Node node) {
+    if (!lock.isHeldByCurrentThread()) {
+      throw BladeRuntimeError.error(node, "lock is not held by this thread");
+    }
+    lock.unlock();
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<lock>";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
@@ -0,0 +1,32 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
+import org.blade.annotations.ObjectName;
+
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Module")
+public final class ModuleObject extends BladeObject {
+  public final String name;
+
+  public ModuleObject(Shape shape, DynamicObject classObject, String name) {
+    super(shape, classObject);
+    this.name = name;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<module " + name + ">";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
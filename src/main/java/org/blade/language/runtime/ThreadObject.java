@@ -0,0 +1,76 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import org.blade.annotations.ObjectName;
+import org.blade.language.nodes.functions.NFunctionCallExprNode;
+
+/**
+ * A thread started by <code>thread.spawn</code>. It runs a function in the
+ * context that spawned it and keeps the result, or the error that ended
+ * it, until it is joined.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Thread")
+public final class ThreadObject implements TruffleObject {
+  private final Thread thread;
+  private volatile Object result = BladeNil.SINGLETON;
+  private volatile AbstractTruffleException error;
+
+  private ThreadObject(BladeContext context, FunctionObject function) {
+    this.thread = context.env.newTruffleThreadBuilder(() -> run(context, function)).build();
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public static ThreadObject spawn(Node node, BladeContext context, FunctionObject function) {
+    if (!context.env.isCreateThreadAllowed()) {
+      throw BladeRuntimeError.error(node, "this context does not allow creating threads");
+    }
+
+    ThreadObject object = new ThreadObject(context, function);
+    context.registerThread(object.thread);
+    object.thread.start();
+    return object;
+  }
+
+  private void run(BladeContext context, FunctionObject function) {
+    try {
+      result = function.getCallTarget().call(
+        NFunctionCallExprNode.arrangeArguments(context, function, new Object[]{BladeNil.SINGLETON})
+      );
+    } catch (AbstractTruffleException e) {
+      error = e;
+    }
+  }
+
+  /**
+   * Wait for the thread to end. The error that ended the thread, if any, is
+   * raised again in the joining thread.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public Object join(Node node) {
+    TruffleSafepoint.setBlockedThreadInterruptible(node, Thread::join, thread);
+    if (error != null) {
+      throw BladeRuntimeError.raiseAgain(error, node);
+    }
+    return result;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<thread " + thread.getId() + ">";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
@@ -0,0 +1,114 @@
+package org.blade.language.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleContext;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.Source;
+import org.blade.annotations.ObjectName;
+import org.blade.language.BladeLanguage;
+
+import java.io.IOException;
+
+/**
+ * A script started by <code>worker.start</code>. Each worker runs in its own
+ * inner context on its own thread, so it shares no objects with the script
+ * that started it and only communicates through the channels it was given.
+ * Inner contexts belong to the same engine, so the code they translate and
+ * compile is shared with every other context.
+ */
+@ExportLibrary(InteropLibrary.class)
+@ObjectName("Worker")
+public final class WorkerObject implements TruffleObject {
+  private final String path;
+  private final TruffleContext context;
+  private final Thread thread;
+  private volatile String error;
+  private boolean finished;
+
+  private WorkerObject(BladeContext parent, Source source, ChannelObject[] channels) {
+    this.path = source.getPath();
+    this.context = parent.env.newInnerContextBuilder().inheritAllAccess(true).initializeCreatorContext(true).build();
+    this.thread = parent.env.newTruffleThreadBuilder(() -> run(source, channels)).context(context).build();
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  public static WorkerObject start(Node node, BladeContext parent, String path, ChannelObject[] channels) {
+    if (!parent.env.isCreateThreadAllowed()) {
+      throw BladeRuntimeError.error(node, "this context does not allow creating threads");
+    }
+
+    Source source;
+    try {
+      TruffleFile file = parent.env.getPublicTruffleFile(path);
+      source = Source.newBuilder(BladeLanguage.ID, file).build();
+    } catch (IOException | SecurityException e) {
+      throw BladeRuntimeError.error(node, "cannot start worker '", path, "': ", String.valueOf(e.getMessage()));
+    }
+
+    WorkerObject worker = new WorkerObject(parent, source, channels);
+    parent.registerWorker(worker);
+    worker.thread.start();
+    return worker;
+  }
+
+  private void run(Source source, ChannelObject[] channels) {
+    // the thread has entered the inner context, whose Blade context was
+    // created along with it
+    BladeContext context = BladeContext.get(null);
+    context.setChannels(channels);
+    try {
+      context.env.parsePublic(source).call();
+    } catch (AbstractTruffleException e) {
+      error = String.valueOf(e.getMessage());
+    } finally {
+      context.flushOutput();
+    }
+  }
+
+  /**
+   * Wait for the worker to end and close its context. An error that ended
+   * the worker is raised again, as a new error, in the joining context.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public void join(Node node) {
+    TruffleSafepoint.setBlockedThreadInterruptible(node, Thread::join, thread);
+    finish();
+    if (error != null) {
+      throw BladeRuntimeError.error(node, "worker '", path, "' failed: ", error);
+    }
+  }
+
+  /**
+   * Close the context of a worker that has ended. This method is designed to
+   * be executed from the context that started the worker.
+   */
+  public synchronized void finish() {
+    if (!finished) {
+      finished = true;
+      context.close();
+    }
+  }
+
+  public Thread getThread() {
+    return thread;
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public String toString() {
+    return "<worker " + path + ">";
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @ExportMessage
+  Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+    return toString();
+  }
+}
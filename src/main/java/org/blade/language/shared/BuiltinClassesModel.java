@@ -15,6 +15,8 @@ public class BuiltinClassesModel {
   public final BladeClass functionObject;
   public final BladeClass listObject;
   public final BladeClass stringObject;
+  public final BladeClass bytesObject;
+  public final BladeClass lineIteratorObject;
 
   public final ErrorsModel errorsModel;
   public final Map<String, BladeClass> builtinClasses;
@@ -22,7 +24,7 @@ public class BuiltinClassesModel {
   public BuiltinClassesModel(
     Shape rootShape, Shape listShape, BObject objectObject,
     BladeClass functionObject, BladeClass listObject, BladeClass stringObject,
-    ErrorsModel errorsModel
+    BladeClass bytesObject, BladeClass lineIteratorObject, ErrorsModel errorsModel
   ) {
     this.rootShape = rootShape;
     this.listShape = listShape;
@@ -30,6 +32,8 @@ public class BuiltinClassesModel {
     this.functionObject = functionObject;
     this.listObject = listObject;
     this.stringObject = stringObject;
+    this.bytesObject = bytesObject;
+    this.lineIteratorObject = lineIteratorObject;
     this.errorsModel = errorsModel;
 
     Map<String, BladeClass> allBuiltInClasses = new HashMap<>();
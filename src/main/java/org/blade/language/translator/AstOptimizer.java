@@ -0,0 +1,459 @@
+package org.blade.language.translator;
+
+import com.oracle.truffle.api.strings.TruffleString;
+import org.blade.language.nodes.NNode;
+import org.blade.language.nodes.literals.NBooleanLiteralNode;
+import org.blade.language.nodes.literals.NDoubleLiteralNode;
+import org.blade.language.nodes.literals.NLongLiteralNode;
+import org.blade.language.nodes.literals.NNilLiteralNode;
+import org.blade.language.nodes.string.NStringLiteralNode;
+import org.blade.language.parser.BaseVisitor;
+import org.blade.language.parser.Token;
+import org.blade.language.parser.TokenType;
+import org.blade.language.parser.ast.AST;
+import org.blade.language.parser.ast.Expr;
+import org.blade.language.parser.ast.Stmt;
+import org.blade.language.runtime.BString;
+import org.blade.language.runtime.BladeNil;
+
+import java.util.*;
+
+/**
+ * Simplifies statements before they are translated.
+ * <ul>
+ *   <li>Operators whose operands are all literals are replaced by their
+ *   result.</li>
+ *   <li>Local constants initialized with a literal are replaced by the
+ *   literal where they are read.</li>
+ *   <li>Branches and loops with a literal condition are pruned, and truthy
+ *   literal loop conditions become <code>true</code>.</li>
+ *   <li>Assertions are removed when they are disabled, or when their
+ *   condition is a truthy literal.</li>
+ * </ul>
+ * Operators are folded by executing the same nodes the translator creates,
+ * so a folded result is exactly what the program would compute. Operations
+ * that fail are left in place to fail at runtime.
+ * <p>
+ * A visit method returns the replacement of its node; the <code>null</code>
+ * returned by the {@link BaseVisitor} defaults keeps the node as it is.
+ * Function bodies are optimized when they are translated, so the optimizer
+ * never descends into them.
+ */
+final class AstOptimizer extends BaseVisitor<AST> {
+  // literal values of local constants by name; null marks a name that
+  // shadows an outer constant
+  private final Deque<Map<String, Object>> scopes = new ArrayDeque<>();
+  private final boolean assertions;
+
+  private AstOptimizer(boolean assertions) {
+    this.assertions = assertions;
+  }
+
+  static List<Stmt> optimizeScript(List<Stmt> statements, boolean assertions) {
+    return new AstOptimizer(assertions).stmts(statements);
+  }
+
+  static Stmt.Block optimizeFunction(List<Expr.Identifier> parameters, Stmt.Block body, boolean assertions) {
+    AstOptimizer optimizer = new AstOptimizer(assertions);
+
+    Map<String, Object> arguments = new HashMap<>();
+    for (Expr.Identifier parameter : parameters) {
+      arguments.put(parameter.token.literal(), null);
+    }
+    optimizer.scopes.push(arguments);
+
+    return optimizer.block(body);
+  }
+
+  private Stmt stmt(Stmt stmt) {
+    if (stmt == null) {
+      return null;
+    }
+
+    AST result = stmt.accept(this);
+    return result == null ? stmt : (Stmt) result;
+  }
+
+  private Expr expr(Expr expr) {
+    if (expr == null) {
+      return null;
+    }
+
+    AST result = expr.accept(this);
+    return result == null ? expr : (Expr) result;
+  }
+
+  private List<Stmt> stmts(List<Stmt> stmts) {
+    List<Stmt> result = new ArrayList<>(stmts.size());
+    for (Stmt stmt : stmts) {
+      result.add(stmt(stmt));
+    }
+    return result;
+  }
+
+  private List<Expr> exprs(List<Expr> exprs) {
+    List<Expr> result = new ArrayList<>(exprs.size());
+    for (Expr expr : exprs) {
+      result.add(expr(expr));
+    }
+    return result;
+  }
+
+  private Stmt.Block block(Stmt.Block block) {
+    return block == null ? null : (Stmt.Block) visitBlockStmt(block);
+  }
+
+  @Override
+  public AST visitGroupingExpr(Expr.Grouping expr) {
+    Expr inner = expr(expr.expression);
+    return constant(inner) != null ? inner : at(new Expr.Grouping(inner), expr);
+  }
+
+  @Override
+  public AST visitIdentifierExpr(Expr.Identifier expr) {
+    String name = expr.token.literal();
+    for (Map<String, Object> scope : scopes) {
+      if (scope.containsKey(name)) {
+        Object value = scope.get(name);
+        return value == null ? null : literal(value, expr);
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public AST visitUnaryExpr(Expr.Unary expr) {
+    Expr right = expr(expr.right);
+    Expr folded = fold(expr, expr.op, null, right);
+    return folded != null ? folded : at(new Expr.Unary(expr.op, right), expr);
+  }
+
+  @Override
+  public AST visitBinaryExpr(Expr.Binary expr) {
+    Expr left = expr(expr.left);
+    Expr right = expr(expr.right);
+    Expr folded = fold(expr, expr.op, left, right);
+    return folded != null ? folded : at(new Expr.Binary(left, expr.op, right), expr);
+  }
+
+  @Override
+  public AST visitLogicalExpr(Expr.Logical expr) {
+    Expr left = expr(expr.left);
+    Expr right = expr(expr.right);
+
+    TokenType type = expr.op.type();
+    if (type != TokenType.AND && type != TokenType.OR) {
+      Expr folded = fold(expr, expr.op, left, right);
+      return folded != null ? folded : at(new Expr.Logical(left, expr.op, right), expr);
+    }
+
+    // `and` and `or` always evaluate to a boolean
+    Object leftValue = constant(left);
+    if (leftValue != null) {
+      boolean leftTruth = NNode.evaluateBoolean(leftValue);
+      if (leftTruth == (type == TokenType.OR)) {
+        return at(new Expr.Boolean(leftTruth), expr);
+      }
+
+      Object rightValue = constant(right);
+      if (rightValue != null) {
+        return at(new Expr.Boolean(NNode.evaluateBoolean(rightValue)), expr);
+      }
+    }
+
+    return at(new Expr.Logical(left, expr.op, right), expr);
+  }
+
+  @Override
+  public AST visitConditionExpr(Expr.Condition expr) {
+    Expr condition = expr(expr.expression);
+    Object value = constant(condition);
+    if (value != null) {
+      return NNode.evaluateBoolean(value) ? expr(expr.truth) : expr(expr.falsy);
+    }
+
+    return at(new Expr.Condition(condition, expr(expr.truth), expr(expr.falsy)), expr);
+  }
+
+  // the callee of calls and the target of assignments keep their form
+
+  @Override
+  public AST visitCallExpr(Expr.Call expr) {
+    return at(new Expr.Call(expr.callee, exprs(expr.args)), expr);
+  }
+
+  @Override
+  public AST visitAssignExpr(Expr.Assign expr) {
+    return at(new Expr.Assign(expr.expression, expr(expr.value)), expr);
+  }
+
+  @Override
+  public AST visitCompoundAssignExpr(Expr.CompoundAssign expr) {
+    return at(new Expr.CompoundAssign(expr.expression, expr.op, expr(expr.value)), expr);
+  }
+
+  @Override
+  public AST visitGetExpr(Expr.Get expr) {
+    return at(new Expr.Get(expr(expr.expression), expr.name), expr);
+  }
+
+  @Override
+  public AST visitSetExpr(Expr.Set expr) {
+    return at(new Expr.Set(expr(expr.expression), expr.name, expr(expr.value)), expr);
+  }
+
+  @Override
+  public AST visitIndexExpr(Expr.Index expr) {
+    return at(new Expr.Index(expr(expr.callee), exprs(expr.arguments)), expr);
+  }
+
+  @Override
+  public AST visitArrayExpr(Expr.Array expr) {
+    return at(new Expr.Array(exprs(expr.items)), expr);
+  }
+
+  @Override
+  public AST visitNewExpr(Expr.New expr) {
+    return at(new Expr.New(expr.expression, exprs(expr.arguments)), expr);
+  }
+
+  @Override
+  public AST visitEchoStmt(Stmt.Echo stmt) {
+    return at(new Stmt.Echo(expr(stmt.value)), stmt);
+  }
+
+  @Override
+  public AST visitExpressionStmt(Stmt.Expression stmt) {
+    return at(new Stmt.Expression(expr(stmt.expression)), stmt);
+  }
+
+  @Override
+  public AST visitReturnStmt(Stmt.Return stmt) {
+    return at(new Stmt.Return(expr(stmt.value)), stmt);
+  }
+
+  @Override
+  public AST visitAssertStmt(Stmt.Assert stmt) {
+    if (!assertions) {
+      return empty(stmt);
+    }
+
+    Expr expression = expr(stmt.expression);
+    Object value = constant(expression);
+    if (value != null && NNode.evaluateBoolean(value)) {
+      return empty(stmt);
+    }
+
+    return at(new Stmt.Assert(expression, expr(stmt.message)), stmt);
+  }
+
+  @Override
+  public AST visitRaiseStmt(Stmt.Raise stmt) {
+    return at(new Stmt.Raise(expr(stmt.exception)), stmt);
+  }
+
+  @Override
+  public AST visitUsingStmt(Stmt.Using stmt) {
+    // labels of the same `when` share their body
+    Map<Stmt, Stmt> bodies = new IdentityHashMap<>();
+    List<Stmt> caseBodies = new ArrayList<>(stmt.caseBodies.size());
+    for (Stmt body : stmt.caseBodies) {
+      caseBodies.add(bodies.computeIfAbsent(body, this::stmt));
+    }
+
+    return at(new Stmt.Using(expr(stmt.expression), exprs(stmt.caseLabels), caseBodies, stmt(stmt.defaultCase)), stmt);
+  }
+
+  @Override
+  public AST visitBlockStmt(Stmt.Block stmt) {
+    scopes.push(new HashMap<>());
+    List<Stmt> body = stmts(stmt.body);
+    scopes.pop();
+
+    return at(new Stmt.Block(body), stmt);
+  }
+
+  @Override
+  public AST visitVarListStmt(Stmt.VarList stmt) {
+    return at(new Stmt.VarList(stmts(stmt.declarations)), stmt);
+  }
+
+  @Override
+  public AST visitVarStmt(Stmt.Var stmt) {
+    Expr value = expr(stmt.value);
+
+    // top level declarations are globals that other modules can see
+    if (!scopes.isEmpty()) {
+      scopes.peek().put(stmt.name.literal(), stmt.isConstant ? constant(value) : null);
+    }
+
+    return at(new Stmt.Var(stmt.name, value, stmt.isConstant), stmt);
+  }
+
+  @Override
+  public AST visitIfStmt(Stmt.If stmt) {
+    Expr condition = expr(stmt.condition);
+    Object value = constant(condition);
+
+    // an if does not open a scope, so the taken branch can replace it
+    if (value != null) {
+      if (NNode.evaluateBoolean(value)) {
+        return stmt(stmt.thenBranch);
+      }
+      return stmt.elseBranch != null ? stmt(stmt.elseBranch) : empty(stmt);
+    }
+
+    return at(new Stmt.If(condition, stmt(stmt.thenBranch), stmt(stmt.elseBranch)), stmt);
+  }
+
+  @Override
+  public AST visitWhileStmt(Stmt.While stmt) {
+    Expr condition = loopCondition(expr(stmt.condition));
+    if (isFalse(condition)) {
+      return empty(stmt);
+    }
+
+    return at(new Stmt.While(condition, stmt(stmt.body)), stmt);
+  }
+
+  @Override
+  public AST visitDoWhileStmt(Stmt.DoWhile stmt) {
+    return at(new Stmt.DoWhile(stmt(stmt.body), loopCondition(expr(stmt.condition))), stmt);
+  }
+
+  @Override
+  public AST visitIterStmt(Stmt.Iter stmt) {
+    scopes.push(new HashMap<>());
+    Stmt declaration = stmt(stmt.declaration);
+    Expr condition = loopCondition(expr(stmt.condition));
+
+    // the declaration still runs when the loop never does
+    Stmt.Iter result = isFalse(condition)
+      ? new Stmt.Iter(declaration, condition, null, at(new Stmt.Block(List.of()), stmt.body))
+      : new Stmt.Iter(declaration, condition, (Stmt.Expression) stmt(stmt.interation), block(stmt.body));
+    scopes.pop();
+
+    return at(result, stmt);
+  }
+
+  @Override
+  public AST visitCatchStmt(Stmt.Catch stmt) {
+    List<Stmt.CatchClause> clauses = new ArrayList<>(stmt.clauses.size());
+    for (Stmt.CatchClause clause : stmt.clauses) {
+      clauses.add((Stmt.CatchClause) visitCatchClauseStmt(clause));
+    }
+
+    return at(new Stmt.Catch(block(stmt.body), clauses, block(stmt.finallyBody)), stmt);
+  }
+
+  @Override
+  public AST visitCatchClauseStmt(Stmt.CatchClause stmt) {
+    scopes.push(new HashMap<>());
+    scopes.peek().put(stmt.name.token.literal(), null);
+    Stmt.Block body = block(stmt.body);
+    scopes.pop();
+
+    return at(new Stmt.CatchClause(stmt.type, stmt.name, body), stmt);
+  }
+
+  /**
+   * Loops only test their condition for truth, so a truthy literal can be
+   * replaced by <code>true</code>.
+   */
+  private static Expr loopCondition(Expr condition) {
+    Object value = constant(condition);
+    if (value != null && !(value instanceof Boolean) && NNode.evaluateBoolean(value)) {
+      return at(new Expr.Boolean(true), condition);
+    }
+    return condition;
+  }
+
+  private static boolean isFalse(Expr condition) {
+    Object value = constant(condition);
+    return value != null && !NNode.evaluateBoolean(value);
+  }
+
+  /**
+   * Computes an operator applied to literal operands with the node that would
+   * compute it at runtime.
+   *
+   * @param left the left operand or <code>null</code> for unary operators
+   * @return the result as a literal or <code>null</code> if it cannot be folded
+   */
+  private static Expr fold(AST expr, Token op, Expr left, Expr right) {
+    Object rightValue = constant(right);
+    Object leftValue = left == null ? null : constant(left);
+    if (rightValue == null || (left != null && leftValue == null)) {
+      return null;
+    }
+
+    try {
+      NNode node = left == null
+        ? BladeTranslator.unaryNode(op, literalNode(rightValue))
+        : BladeTranslator.binaryNode(op, literalNode(leftValue), literalNode(rightValue));
+      return literal(node.execute(null), expr);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the runtime value of a literal expression or <code>null</code>
+   */
+  static Object constant(Expr expr) {
+    if (expr instanceof Expr.Number number) {
+      return BladeTranslator.numberValue(number.token.literal());
+    } else if (expr instanceof Expr.Literal literal) {
+      return BString.fromJavaString(literal.token.literal());
+    } else if (expr instanceof Expr.Boolean bool) {
+      return bool.value;
+    } else if (expr instanceof Expr.Nil) {
+      return BladeNil.SINGLETON;
+    }
+    return null;
+  }
+
+  private static Expr literal(Object value, AST position) {
+    Expr expr;
+    if (value instanceof Long || value instanceof Double) {
+      expr = new Expr.Number(new Token(TokenType.REG_NUMBER, value.toString(), position.startLine, 0, 0));
+    } else if (value instanceof Boolean bool) {
+      expr = new Expr.Boolean(bool);
+    } else if (value instanceof TruffleString string) {
+      expr = new Expr.Literal(new Token(TokenType.LITERAL, string.toJavaStringUncached(), position.startLine, 0, 0));
+    } else if (value == BladeNil.SINGLETON) {
+      expr = new Expr.Nil();
+    } else {
+      return null;
+    }
+
+    return at(expr, position);
+  }
+
+  private static NNode literalNode(Object value) {
+    if (value instanceof Long number) {
+      return new NLongLiteralNode(number);
+    } else if (value instanceof Double number) {
+      return new NDoubleLiteralNode(number);
+    } else if (value instanceof Boolean bool) {
+      return new NBooleanLiteralNode(bool);
+    } else if (value instanceof TruffleString string) {
+      return new NStringLiteralNode(string.toJavaStringUncached());
+    }
+    return new NNilLiteralNode();
+  }
+
+  private static Stmt empty(Stmt position) {
+    return at(new Stmt.Block(List.of()), position);
+  }
+
+  private static <T extends AST> T at(T node, AST position) {
+    node.startLine = position.startLine;
+    node.endLine = position.endLine;
+    node.startColumn = position.startColumn;
+    node.endColumn = position.endColumn;
+    node.wrapped = position.wrapped;
+    return node;
+  }
+}
@@ -1,10 +1,15 @@
 package org.blade.language.translator;
 
+import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
+import org.blade.language.BladeLanguage;
+import org.blade.language.nodes.NBinaryNode;
 import org.blade.language.nodes.NDynamicObjectRefNode;
+import org.blade.language.nodes.NFunctionRootNode;
 import org.blade.language.nodes.NGlobalScopeObjectNode;
 import org.blade.language.nodes.NGlobalScopeObjectNodeGen;
 import org.blade.language.nodes.NNode;
@@ -13,6 +18,7 @@ import org.blade.language.nodes.expressions.arithemetic.*;
 import org.blade.language.nodes.expressions.bitwise.*;
 import org.blade.language.nodes.expressions.logical.*;
 import org.blade.language.nodes.functions.*;
+import org.blade.language.nodes.list.NCompoundIndexWriteNode;
 import org.blade.language.nodes.list.NListIndexReadNodeGen;
 import org.blade.language.nodes.list.NListIndexWriteNodeGen;
 import org.blade.language.nodes.list.NListLiteralNode;
@@ -21,22 +27,28 @@ import org.blade.language.nodes.statements.*;
 import org.blade.language.nodes.statements.loops.*;
 import org.blade.language.nodes.string.NStringLiteralNode;
 import org.blade.language.parser.BaseVisitor;
-import org.blade.language.parser.Parser;
+import org.blade.language.parser.FunctionBody;
+import org.blade.language.parser.Token;
+import org.blade.language.parser.TokenType;
 import org.blade.language.parser.ast.AST;
 import org.blade.language.parser.ast.Expr;
 import org.blade.language.parser.ast.Stmt;
 import org.blade.language.runtime.BladeClass;
 import org.blade.language.runtime.BladeRuntimeError;
+import org.blade.language.runtime.LazyCallTarget;
 import org.blade.language.shared.BuiltinClassesModel;
 import org.blade.language.shared.LocalRefSlot;
 
 import java.util.*;
 
 public class BladeTranslator extends BaseVisitor<NNode> {
-  private final Parser parser;
+  private final Source source;
 
   private final Shape objectShape;
-  private final NGlobalScopeObjectNode globalScopeNode = NGlobalScopeObjectNodeGen.create();
+  private final int moduleId;
+  private final boolean bytecode;
+  private final boolean assertions;
+  private final NGlobalScopeObjectNode globalScopeNode;
   private FrameDescriptor.Builder frameDescriptor = FrameDescriptor.newBuilder();
   private ParserState state = ParserState.TOP_LEVEL;
 
@@ -45,8 +57,22 @@ public class BladeTranslator extends BaseVisitor<NNode> {
   private Stack<Map<String, NFrameMember>> localScopes = new Stack<>();
   private BladeClass currentClass = null;
 
-  public BladeTranslator(Parser parser, BuiltinClassesModel classesModel) {
-    this.parser = parser;
+  public BladeTranslator(Source source, BuiltinClassesModel classesModel) {
+    this(source, classesModel, NGlobalScopeObjectNode.SCRIPT, false, true);
+  }
+
+  /**
+   * @param bytecode   whether function bodies are translated for the bytecode
+   *                   interpreter when they only use constructs it supports
+   * @param assertions whether assert statements are translated; when false
+   *                   they are dropped and cost nothing at runtime
+   */
+  public BladeTranslator(Source source, BuiltinClassesModel classesModel, int moduleId, boolean bytecode, boolean assertions) {
+    this.source = source;
+    this.moduleId = moduleId;
+    this.bytecode = bytecode;
+    this.assertions = assertions;
+    this.globalScopeNode = NGlobalScopeObjectNodeGen.create(moduleId);
     this.objectShape = classesModel.rootShape;
 
     // Put the Object class into the local scope so that every class, function, and module
@@ -58,7 +84,18 @@ public class BladeTranslator extends BaseVisitor<NNode> {
     localScopes.push(objectClasses);
   }
 
+  private BladeTranslator(BladeTranslator parent, BladeClass currentClass) {
+    this.source = parent.source;
+    this.moduleId = parent.moduleId;
+    this.bytecode = parent.bytecode;
+    this.assertions = parent.assertions;
+    this.globalScopeNode = NGlobalScopeObjectNodeGen.create(moduleId);
+    this.objectShape = parent.objectShape;
+    this.currentClass = currentClass;
+  }
+
   public NTranslateResult translate(List<Stmt> stmtList) {
+    stmtList = AstOptimizer.optimizeScript(stmtList, assertions);
     List<NNode> nodes = new ArrayList<>();
 
     // 1. Add all functions first.
@@ -110,31 +147,28 @@ public class BladeTranslator extends BaseVisitor<NNode> {
 
   @Override
   public NNode visitNumberExpr(Expr.Number expr) {
-    String number = expr.token.literal();
+    Object value = numberValue(expr.token.literal());
+    return sourceSection(
+      value instanceof Long number ? new NLongLiteralNode(number) : new NDoubleLiteralNode((Double) value),
+      expr
+    );
+  }
 
+  static Object numberValue(String number) {
     try {
       if(number.startsWith("0x")) {
-        return sourceSection(
-          new NLongLiteralNode(Long.parseLong(number.substring(2), 16)),
-          expr
-        );
+        return Long.parseLong(number.substring(2), 16);
       } else if(number.startsWith("0b")) {
-        return sourceSection(
-          new NLongLiteralNode(Long.parseLong(number.substring(2), 2)),
-          expr
-        );
+        return Long.parseLong(number.substring(2), 2);
       } else if(number.startsWith("0c")) {
-        return sourceSection(
-          new NLongLiteralNode(Long.parseLong(number.substring(2), 8)),
-          expr
-        );
+        return Long.parseLong(number.substring(2), 8);
       }
 
-      return sourceSection(new NLongLiteralNode(Long.parseLong(number)), expr);
+      return Long.parseLong(number);
     } catch (NumberFormatException e) {
       // it's possible that the long literal is too big to fit in a 32-bit Java `int` -
       // in that case, fall back to a double literal
-      return sourceSection(new NDoubleLiteralNode(Double.parseDouble(number)), expr);
+      return Double.parseDouble(number);
     }
   }
 
@@ -161,55 +195,57 @@ public class BladeTranslator extends BaseVisitor<NNode> {
 
   @Override
   public NNode visitBinaryExpr(Expr.Binary expr) {
-    return sourceSection(switch (expr.op.type()) {
-      case PLUS -> NAddNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case MINUS -> NSubtractNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case MULTIPLY -> NMultiplyNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case DIVIDE -> NDivideNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case FLOOR -> NFloorDivideNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case PERCENT -> NModuloNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case POW -> NPowNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case EQUAL_EQ -> NEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case BANG_EQ -> NNotEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case LESS -> NLessThanNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case LESS_EQ -> NLessThanOrEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case GREATER -> NGreaterThanNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case GREATER_EQ -> NGreaterThanOrEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case AMP -> NBitAndNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case BAR -> NBitOrNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case XOR -> NBitXorNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case LSHIFT -> NBitLeftShiftNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case RSHIFT -> NBitRightShiftNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case URSHIFT -> NBitUnsignedRightShiftNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      default -> throw new UnsupportedOperationException(expr.op.literal());
-    }, expr);
+    return sourceSection(binaryNode(expr.op, visitExpr(expr.left), visitExpr(expr.right)), expr);
   }
 
   @Override
   public NNode visitUnaryExpr(Expr.Unary expr) {
-    return sourceSection(switch (expr.op.type()) {
-      case MINUS -> NNegateNodeGen.create(visitExpr(expr.right));
-      case BANG -> NLogicalNotNodeGen.create(visitExpr(expr.right));
-      case TILDE -> NBitNotNodeGen.create(visitExpr(expr.right));
-      default -> throw new UnsupportedOperationException(expr.op.literal());
-    }, expr);
+    return sourceSection(unaryNode(expr.op, visitExpr(expr.right)), expr);
   }
 
   @Override
   public NNode visitLogicalExpr(Expr.Logical expr) {
     return sourceSection(switch (expr.op.type()) {
-      case EQUAL_EQ -> NEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case BANG_EQ -> NNotEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case LESS -> NLessThanNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case LESS_EQ -> NLessThanOrEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case GREATER -> NGreaterThanNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
-      case GREATER_EQ -> NGreaterThanOrEqualNodeGen.create(visitExpr(expr.left), visitExpr(expr.right));
       case AND -> new NLogicalAndNode(visitExpr(expr.left), visitExpr(expr.right));
       case OR -> new NLogicalOrNode(visitExpr(expr.left), visitExpr(expr.right));
-      default -> throw new UnsupportedOperationException(expr.op.literal());
+      default -> binaryNode(expr.op, visitExpr(expr.left), visitExpr(expr.right));
     }, expr);
   }
 
+  static NBinaryNode binaryNode(Token op, NNode left, NNode right) {
+    return switch (op.type()) {
+      case PLUS -> NAddNodeGen.create(left, right);
+      case MINUS -> NSubtractNodeGen.create(left, right);
+      case MULTIPLY -> NMultiplyNodeGen.create(left, right);
+      case DIVIDE -> NDivideNodeGen.create(left, right);
+      case FLOOR -> NFloorDivideNodeGen.create(left, right);
+      case PERCENT -> NModuloNodeGen.create(left, right);
+      case POW -> NPowNodeGen.create(left, right);
+      case EQUAL_EQ -> NEqualNodeGen.create(left, right);
+      case BANG_EQ -> NNotEqualNodeGen.create(left, right);
+      case LESS -> NLessThanNodeGen.create(left, right);
+      case LESS_EQ -> NLessThanOrEqualNodeGen.create(left, right);
+      case GREATER -> NGreaterThanNodeGen.create(left, right);
+      case GREATER_EQ -> NGreaterThanOrEqualNodeGen.create(left, right);
+      case AMP -> NBitAndNodeGen.create(left, right);
+      case BAR -> NBitOrNodeGen.create(left, right);
+      case XOR -> NBitXorNodeGen.create(left, right);
+      case LSHIFT -> NBitLeftShiftNodeGen.create(left, right);
+      case RSHIFT -> NBitRightShiftNodeGen.create(left, right);
+      case URSHIFT -> NBitUnsignedRightShiftNodeGen.create(left, right);
+      default -> throw new UnsupportedOperationException(op.literal());
+    };
+  }
+
+  static NNode unaryNode(Token op, NNode right) {
+    return switch (op.type()) {
+      case MINUS -> NNegateNodeGen.create(right);
+      case BANG -> NLogicalNotNodeGen.create(right);
+      case TILDE -> NBitNotNodeGen.create(right);
+      default -> throw new UnsupportedOperationException(op.literal());
+    };
+  }
+
   @Override
   public NNode visitGroupingExpr(Expr.Grouping expr) {
     return visitExpr(expr.expression);
@@ -227,26 +263,7 @@ public class BladeTranslator extends BaseVisitor<NNode> {
   @Override
   public NNode visitAssignExpr(Expr.Assign expr) {
     if (expr.expression instanceof Expr.Identifier identifier) {
-      String name = identifier.token.literal();
-      NNode value = visitExpr(expr.value);
-
-      NFrameMember member = findFrameMember(name);
-      if (member == null) {
-        return NGlobalAssignExprNodeGen.create(globalScopeNode, value, name);
-      } else {
-        if (member instanceof NFrameMember.FunctionArgument memberValue) {
-          return sourceSection(new NWriteFunctionArgExprNode(value, memberValue.index), expr);
-        } else if (member instanceof NFrameMember.ClassObject memberValue) {
-          return sourceSection(NGlobalAssignExprNodeGen.create(globalScopeNode, value, memberValue.object.name), expr);
-        } else {
-          NFrameMember.LocalVariable local = (NFrameMember.LocalVariable) member;
-          if (local.constant) {
-            throw BladeRuntimeError.create("Assignment to constant variable '", name, "'");
-          }
-
-          return sourceSection(NLocalAssignNodeGen.create(value, name, local.index), expr);
-        }
-      }
+      return assignVariable(identifier, visitExpr(expr.value), expr);
     } else if (expr.expression instanceof Expr.Index index) {
       if (index.arguments.size() == 1) {
         return sourceSection(NListIndexWriteNodeGen.create(
@@ -260,6 +277,63 @@ public class BladeTranslator extends BaseVisitor<NNode> {
     throw BladeRuntimeError.create("Invalid assignment expression");
   }
 
+  @Override
+  public NNode visitCompoundAssignExpr(Expr.CompoundAssign expr) {
+    if (expr.expression instanceof Expr.Identifier identifier) {
+      // reading a variable has no side effects, so the operator can read it
+      // directly. Locals keep a primitive slot since the operator and the
+      // write specialize on the same type.
+      return assignVariable(
+        identifier,
+        sourceSection(binaryNode(expr.op, visitIdentifierExpr(identifier), visitExpr(expr.value)), expr),
+        expr
+      );
+    }
+
+    NBinaryNode operator = sourceSection(binaryNode(expr.op, null, null), expr);
+    if (expr.expression instanceof Expr.Get get) {
+      return sourceSection(new NCompoundSetPropertyNode(
+        visitExpr(get.expression),
+        get.name.token.literal(),
+        operator,
+        visitExpr(expr.value)
+      ), expr);
+    } else if (expr.expression instanceof Expr.Index index) {
+      if (index.arguments.size() == 1) {
+        return sourceSection(new NCompoundIndexWriteNode(
+          visitExpr(index.callee),
+          visitExpr(index.arguments.getFirst()),
+          operator,
+          visitExpr(expr.value)
+        ), expr);
+      }
+    }
+
+    throw BladeRuntimeError.create("Invalid assignment expression");
+  }
+
+  private NNode assignVariable(Expr.Identifier identifier, NNode value, Expr expr) {
+    String name = identifier.token.literal();
+
+    NFrameMember member = findFrameMember(name);
+    if (member == null) {
+      return NGlobalAssignExprNodeGen.create(globalScopeNode, value, name);
+    } else {
+      if (member instanceof NFrameMember.FunctionArgument memberValue) {
+        return sourceSection(new NWriteFunctionArgExprNode(value, memberValue.index), expr);
+      } else if (member instanceof NFrameMember.ClassObject memberValue) {
+        return sourceSection(NGlobalAssignExprNodeGen.create(globalScopeNode, value, memberValue.object.name), expr);
+      } else {
+        NFrameMember.LocalVariable local = (NFrameMember.LocalVariable) member;
+        if (local.constant) {
+          throw BladeRuntimeError.create("Assignment to constant variable '", name, "'");
+        }
+
+        return sourceSection(NLocalAssignNodeGen.create(value, name, local.index), expr);
+      }
+    }
+  }
+
   @Override
   public NNode visitNewExpr(Expr.New expr) {
     List<NNode> arguments = new ArrayList<>();
@@ -320,7 +394,7 @@ public class BladeTranslator extends BaseVisitor<NNode> {
 
   @Override
   public NNode visitEchoStmt(Stmt.Echo stmt) {
-    return sourceSection(new NEchoStmtNode(visitExpr(stmt.value)), stmt);
+    return sourceSection(NEchoStmtNodeGen.create(visitExpr(stmt.value)), stmt);
   }
 
   @Override
@@ -416,12 +490,145 @@ public class BladeTranslator extends BaseVisitor<NNode> {
 
   @Override
   public NNode visitIterStmt(Stmt.Iter stmt) {
-    return newLocalScope(() -> sourceSection(new NIterStmtNode(
-      stmt.declaration != null ? visitStmt(stmt.declaration) : null,
-      stmt.condition != null ? visitExpr(stmt.condition) : null,
-      stmt.interation != null ? visitExpressionStmt(stmt.interation) : null,
+    return newLocalScope(() -> {
+      NNode declaration = stmt.declaration != null ? visitStmt(stmt.declaration) : null;
+
+      NNode countedLoop = countedLoop(stmt, declaration);
+      if (countedLoop != null) {
+        return sourceSection(countedLoop, stmt);
+      }
+
+      return sourceSection(new NIterStmtNode(
+        declaration,
+        stmt.condition != null ? visitExpr(stmt.condition) : null,
+        stmt.interation != null ? visitExpressionStmt(stmt.interation) : null,
+        visitStmt(stmt.body)
+      ), stmt);
+    });
+  }
+
+  @Override
+  public NNode visitUsingStmt(Stmt.Using stmt) {
+    NNode value = visitExpr(stmt.expression);
+
+    int count = stmt.caseLabels.size();
+    NNode[] labels = new NNode[count];
+    Object[] constants = new Object[count];
+    NBinaryNode[] comparisons = new NBinaryNode[count];
+    int[] labelArms = new int[count];
+
+    // labels of the same `when` share their body
+    Map<Stmt, Integer> armIndexes = new IdentityHashMap<>();
+    List<NNode> arms = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Expr label = stmt.caseLabels.get(i);
+      labels[i] = visitExpr(label);
+      constants[i] = AstOptimizer.constant(label);
+      comparisons[i] = sourceSection(NEqualNodeGen.create(null, null), label);
+
+      Stmt body = stmt.caseBodies.get(i);
+      Integer arm = armIndexes.get(body);
+      if (arm == null) {
+        arm = arms.size();
+        armIndexes.put(body, arm);
+        arms.add(visitStmt(body));
+      }
+      labelArms[i] = arm;
+    }
+
+    return sourceSection(new NUsingStmtNode(
+      value,
+      labels,
+      constants,
+      comparisons,
+      labelArms,
+      arms.toArray(new NNode[0]),
+      stmt.defaultCase != null ? visitStmt(stmt.defaultCase) : null
+    ), stmt);
+  }
+
+  /**
+   * Recognizes <code>iter var i = a; i &lt; n; i++</code> and its variants
+   * over <code>&lt;=</code>, <code>&gt;</code>, <code>&gt;=</code> and
+   * constant integer steps, as long as nothing but the increment writes the
+   * counter.
+   *
+   * @return the loop or <code>null</code> if the loop does not have that shape
+   */
+  private NNode countedLoop(Stmt.Iter stmt, NNode declaration) {
+    if (!(stmt.declaration instanceof Stmt.Var var) || var.isConstant
+      || !(stmt.condition instanceof Expr.Logical condition) || stmt.interation == null) {
+      return null;
+    }
+
+    String name = var.name.literal();
+    if (!(findFrameMember(name) instanceof NFrameMember.LocalVariable counter)
+      || !(condition.left instanceof Expr.Identifier left) || !left.token.literal().equals(name)) {
+      return null;
+    }
+
+    long step = loopStep(name, stmt.interation.expression);
+    boolean ascending = condition.op.type() == TokenType.LESS || condition.op.type() == TokenType.LESS_EQ;
+    boolean descending = condition.op.type() == TokenType.GREATER || condition.op.type() == TokenType.GREATER_EQ;
+    if (!(ascending && step > 0 || descending && step < 0)
+      || LocalWrites.isWritten(name, condition.right) || LocalWrites.isWritten(name, stmt.body)) {
+      return null;
+    }
+
+    NNode limit = visitExpr(condition.right);
+    NNode limitInitializer = null;
+    int limitSlot = -1;
+    if (isLoopInvariant(condition.right, stmt.body)) {
+      limitInitializer = limit;
+      limit = null;
+      limitSlot = frameDescriptor.addSlot(FrameSlotKind.Illegal, null, null);
+    }
+
+    return new NCountedLoopStmtNode(declaration, limitInitializer, limitSlot, new NCountedRepeatingNode(
+      counter.index,
+      step,
+      condition.op.type() == TokenType.LESS_EQ || condition.op.type() == TokenType.GREATER_EQ,
+      limit,
+      limitSlot,
+      sourceSection(binaryNode(condition.op, null, null), condition),
+      visitExpressionStmt(stmt.interation),
       visitStmt(stmt.body)
-    ), stmt));
+    ));
+  }
+
+  /**
+   * @return the constant step of <code>i++</code>, <code>i--</code>,
+   * <code>i += k</code> or <code>i -= k</code>, or 0 for anything else
+   */
+  private static long loopStep(String name, Expr iteration) {
+    if (!(iteration instanceof Expr.CompoundAssign update)
+      || !(update.expression instanceof Expr.Identifier target) || !target.token.literal().equals(name)
+      || !(update.value instanceof Expr.Number number)
+      || !(numberValue(number.token.literal()) instanceof Long value)) {
+      return 0;
+    }
+
+    return switch (update.op.type()) {
+      case PLUS -> value;
+      case MINUS -> value == Long.MIN_VALUE ? 0 : -value;
+      default -> 0;
+    };
+  }
+
+  /**
+   * A local or argument that the body never writes has the same value on
+   * every iteration. Operators are left out since they may call operator
+   * methods of classes, and literals are constants already.
+   */
+  private boolean isLoopInvariant(Expr expr, Stmt body) {
+    if (expr instanceof Expr.Grouping grouping) {
+      return isLoopInvariant(grouping.expression, body);
+    } else if (expr instanceof Expr.Identifier identifier) {
+      NFrameMember member = findFrameMember(identifier.token.literal());
+      return (member instanceof NFrameMember.LocalVariable || member instanceof NFrameMember.FunctionArgument)
+        && !LocalWrites.isWritten(identifier.token.literal(), body);
+    }
+    return false;
   }
 
   @Override
@@ -505,7 +712,7 @@ public class BladeTranslator extends BaseVisitor<NNode> {
     // deliberately not wrapped in sourceSection so that debuggers won't stop
     // in class declarations and their global variable
     return NGlobalDeclNodeGen.create(
-      NGlobalScopeObjectNodeGen.create(),
+      NGlobalScopeObjectNodeGen.create(moduleId),
       new NClassDeclNode(methods, classObject),
       className,
       false
@@ -530,6 +737,31 @@ public class BladeTranslator extends BaseVisitor<NNode> {
     return new NParentExprNode(currentClass);
   }
 
+  @Override
+  public NNode visitImportStmt(Stmt.Import stmt) {
+    List<String> names = new ArrayList<>();
+    for (Token element : stmt.elements) {
+      if (element.type() == TokenType.IDENTIFIER) {
+        names.add(element.literal());
+      }
+    }
+
+    return sourceSection(new NImportStmtNode(
+      globalScopeNode,
+      source.getPath(),
+      stmt.path,
+      names.toArray(new String[0]),
+      stmt.all
+    ), stmt);
+  }
+
+  @Override
+  public NNode visitAssertStmt(Stmt.Assert stmt) {
+    // disabled assertions never reach the translator
+    NNode message = stmt.message == null ? null : visitExpr(stmt.message);
+    return sourceSection(new NAssertStmtNode(visitExpr(stmt.expression), message), stmt);
+  }
+
   @Override
   public NNode visitRaiseStmt(Stmt.Raise stmt) {
     return sourceSection(NRaiseStmtNodeGen.create(visitExpr(stmt.exception)), stmt);
@@ -539,32 +771,69 @@ public class BladeTranslator extends BaseVisitor<NNode> {
   public NNode visitCatchStmt(Stmt.Catch stmt) {
     NNode body = visitBlockStmt(stmt.body);
     NNode thenBody = stmt.finallyBody == null ? null : visitBlockStmt(stmt.finallyBody);
-    NNode asBody = null;
-    int slot = -1;
 
-    if(stmt.name != null) {
+    NCatchClauseNode[] clauses = new NCatchClauseNode[stmt.clauses.size()];
+    for (int i = 0; i < clauses.length; i++) {
+      clauses[i] = translateCatchClause(stmt.clauses.get(i));
+    }
+
+    return new NTryCatchStmtNode(body, clauses, thenBody);
+  }
+
+  private NCatchClauseNode translateCatchClause(Stmt.CatchClause stmt) {
+    // builtin and declared classes are known at this point, so the check
+    // can compare against the class object directly.
+    NNode errorClass = null;
+    if (stmt.type != null) {
+      errorClass = findFrameMember(stmt.type.token.literal()) instanceof NFrameMember.ClassObject classObject
+        ? new NDynamicObjectRefNode(classObject.object)
+        : visitIdentifierExpr(stmt.type);
+    }
+
+    // each clause gets its own scope so that clauses can reuse the same name
+    int[] slot = new int[1];
+    NNode body = newLocalScope(() -> {
       String errorName = stmt.name.token.literal();
       LocalRefSlot slotId = new LocalRefSlot(errorName, ++localsCount);
-      slot = frameDescriptor.addSlot(FrameSlotKind.Object, slotId, 1);
-      if (localScopes.peek().putIfAbsent(errorName, new NFrameMember.LocalVariable(slot, true)) != null) {
-        throw BladeRuntimeError.create("'", errorName, "' is already declared in this scope");
-      }
+      slot[0] = frameDescriptor.addSlot(FrameSlotKind.Object, slotId, 1);
+      localScopes.peek().put(errorName, new NFrameMember.LocalVariable(slot[0], true));
 
       // parse the 'catch' statement block
-      asBody = visitBlockStmt(stmt.catchBody);
-    }
+      return visitBlockStmt(stmt.body);
+    });
 
-    return new NTryCatchStmtNode(body, slot, asBody, thenBody);
+    return new NCatchClauseNode(errorClass, slot[0], body);
   }
 
-  private NNode translateFunction(Stmt source, String name, List<Expr.Identifier> parameters, Stmt.Block body, NNode root, boolean isVariadic) {
-    FrameDescriptor.Builder previousFrameDescriptor = frameDescriptor;
-    ParserState previousState = state;
-    var previousLocalScopes = localScopes;
+  private NNode translateFunction(Stmt source, String name, List<Expr.Identifier> parameters, FunctionBody body, NNode root, boolean isVariadic) {
+    // the body is parsed and translated on the first call, by a translator
+    // of its own so that functions in different threads can be translated
+    // at once
+    BladeClass functionClass = currentClass;
+    LazyCallTarget callTarget = new LazyCallTarget(
+      () -> new BladeTranslator(this, functionClass).translateFunctionBody(name, parameters, body.get())
+    );
+
+    return sourceSection(NFunctionStmtNodeGen.create(
+      root,
+      name,
+      callTarget,
+      parameters.size(),
+      isVariadic ? 1 : 0
+    ), source);
+  }
+
+  private CallTarget translateFunctionBody(String name, List<Expr.Identifier> parameters, Stmt.Block body) {
+    body = AstOptimizer.optimizeFunction(parameters, body, assertions);
+
+    if (bytecode) {
+      CallTarget callTarget = BytecodeTranslator.translate(source, moduleId, name, parameters, body);
+      if (callTarget != null) {
+        return callTarget;
+      }
+    }
 
-    this.frameDescriptor = FrameDescriptor.newBuilder();
     this.state = ParserState.FUNC_DEF;
-    this.localScopes = new Stack<>();
 
     Map<String, NFrameMember> localVariables = new HashMap<>();
     for (int i = 0; i < parameters.size(); i++) {
@@ -574,19 +843,13 @@ public class BladeTranslator extends BaseVisitor<NNode> {
 
     NBlockStmtNode statements = visitBlockStmt(body);
 
-    FrameDescriptor frameDescriptor = this.frameDescriptor.build();
-    this.frameDescriptor = previousFrameDescriptor;
-    this.state = previousState;
-    this.localScopes = previousLocalScopes;
-
-    return sourceSection(NFunctionStmtNodeGen.create(
-      root,
-      name,
-      frameDescriptor,
+    return new NFunctionRootNode(
+      BladeLanguage.get(null),
+      frameDescriptor.build(),
       new NFunctionBodyNode(statements),
-      parameters.size(),
-      isVariadic ? 1 : 0
-    ), source);
+      name,
+      source
+    ).getCallTarget();
   }
 
   private NFrameMember findFrameMember(String name) {
@@ -621,20 +884,20 @@ public class BladeTranslator extends BaseVisitor<NNode> {
   // State management
   private enum ParserState {TOP_LEVEL, NESTED_TOP_LEVEL, FUNC_DEF}
 
-  private NNode sourceSection(NNode node, Object object) {
-    if(object instanceof AST ast) {
-//      System.out.println("SL = " +ast.startLine+", EL = " +ast.endLine+", SC = " + ast.startColumn + ", EC = " +ast.endColumn);
-      return node.setSourceSection(parser.lexer.source.createSection(
-        ast.startLine, ast.startColumn + 1,
-        ast.endLine, ast.endColumn + 1
-      ));
+  private <T extends NNode> T sourceSection(T node, Object object) {
+    // only offsets are kept; the section is created when something asks for it
+    if (object instanceof AST ast) {
+      int start = source.getLineStartOffset(ast.startLine) + ast.startColumn;
+      int end = source.getLineStartOffset(ast.endLine) + ast.endColumn;
+      node.setSourceSection(start, end - start + 1);
+    } else {
+      node.setSourceSection(0, source.getLineLength(1));
     }
-
-    return node.setSourceSection(parser.lexer.source.createSection(1));
+    return node;
   }
 
   public SourceSection getRootSourceSection() {
-    return parser.lexer.source.createSection(0, parser.lexer.source.getLength());
+    return source.createSection(0, source.getLength());
   }
 
   interface Callback {
@@ -0,0 +1,549 @@
+package org.blade.language.translator;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.bytecode.BytecodeConfig;
+import com.oracle.truffle.api.bytecode.BytecodeLabel;
+import com.oracle.truffle.api.bytecode.BytecodeLocal;
+import com.oracle.truffle.api.source.Source;
+import org.blade.language.BladeLanguage;
+import org.blade.language.nodes.NBytecodeRootNode;
+import org.blade.language.nodes.NBytecodeRootNodeGen;
+import org.blade.language.parser.BaseVisitor;
+import org.blade.language.parser.TokenType;
+import org.blade.language.parser.ast.AST;
+import org.blade.language.parser.ast.Expr;
+import org.blade.language.parser.ast.Stmt;
+import org.blade.language.runtime.BString;
+import org.blade.language.runtime.BladeNil;
+import org.blade.language.runtime.BladeRuntimeError;
+
+import java.util.*;
+
+/**
+ * Translates function bodies into bytecode for {@link NBytecodeRootNode}.
+ * <p>
+ * Only a subset of the language is supported: locals, arguments and globals,
+ * arithmetic and comparisons, properties, function calls, echo and the
+ * structured control flow statements. A visit method returns
+ * <code>true</code> once it has emitted its construct; the <code>null</code>
+ * returned by the {@link BaseVisitor} defaults aborts the translation and the
+ * function falls back to the AST interpreter.
+ */
+public final class BytecodeTranslator extends BaseVisitor<Boolean> {
+  private static final Unsupported UNSUPPORTED = new Unsupported();
+
+  private final NBytecodeRootNodeGen.Builder b;
+  private final Source source;
+  private final int moduleId;
+
+  private final Deque<Map<String, Object>> scopes = new ArrayDeque<>();
+  private final Deque<BytecodeLabel> breakLabels = new ArrayDeque<>();
+  private final Deque<BytecodeLabel> continueLabels = new ArrayDeque<>();
+
+  private BytecodeTranslator(NBytecodeRootNodeGen.Builder b, Source source, int moduleId) {
+    this.b = b;
+    this.source = source;
+    this.moduleId = moduleId;
+  }
+
+  /**
+   * @return the call target of the function or <code>null</code> if its body
+   * uses a construct the bytecode interpreter does not support
+   */
+  public static CallTarget translate(Source source, int moduleId, String name, List<Expr.Identifier> parameters, Stmt.Block body) {
+    try {
+      NBytecodeRootNode root = NBytecodeRootNodeGen.create(BladeLanguage.get(null), BytecodeConfig.DEFAULT, b -> {
+        BytecodeTranslator translator = new BytecodeTranslator(b, source, moduleId);
+
+        b.beginSource(source);
+        b.beginRoot();
+        translator.translateBody(parameters, body);
+        b.endRoot().setName(name);
+        b.endSource();
+      }).getNode(0);
+
+      return root.getCallTarget();
+    } catch (Unsupported e) {
+      return null;
+    }
+  }
+
+  private void translateBody(List<Expr.Identifier> parameters, Stmt.Block body) {
+    // argument 0 is the receiver
+    Map<String, Object> arguments = new HashMap<>();
+    for (int i = 0; i < parameters.size(); i++) {
+      arguments.put(parameters.get(i).token.literal(), i + 1);
+    }
+    scopes.push(arguments);
+
+    b.beginBlock();
+    visitBlockStmt(body);
+
+    b.beginReturn();
+    b.emitLoadConstant(BladeNil.SINGLETON);
+    b.endReturn();
+    b.endBlock();
+  }
+
+  @Override
+  public Boolean visitStmt(Stmt stmt) {
+    if (stmt != null) {
+      emit(stmt, () -> stmt.accept(this));
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitExpr(Expr expr) {
+    return emit(expr, () -> expr.accept(this));
+  }
+
+  @Override
+  public Boolean visitNilExpr(Expr.Nil expr) {
+    b.emitLoadConstant(BladeNil.SINGLETON);
+    return true;
+  }
+
+  @Override
+  public Boolean visitBooleanExpr(Expr.Boolean expr) {
+    b.emitLoadConstant(expr.value);
+    return true;
+  }
+
+  @Override
+  public Boolean visitNumberExpr(Expr.Number expr) {
+    b.emitLoadConstant(BladeTranslator.numberValue(expr.token.literal()));
+    return true;
+  }
+
+  @Override
+  public Boolean visitLiteralExpr(Expr.Literal expr) {
+    b.emitLoadConstant(BString.fromJavaString(expr.token.literal()));
+    return true;
+  }
+
+  @Override
+  public Boolean visitGroupingExpr(Expr.Grouping expr) {
+    return visitExpr(expr.expression);
+  }
+
+  @Override
+  public Boolean visitIdentifierExpr(Expr.Identifier expr) {
+    String name = expr.token.literal();
+    Object member = findMember(name);
+
+    if (member instanceof Integer argument) {
+      b.emitLoadArgument(argument);
+    } else if (member instanceof Local local) {
+      b.emitLoadLocal(local.local());
+    } else {
+      b.beginReadGlobal();
+      emitGlobalScope();
+      b.emitLoadConstant(name);
+      b.endReadGlobal();
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitUnaryExpr(Expr.Unary expr) {
+    switch (expr.op.type()) {
+      case MINUS -> {
+        b.beginNegate();
+        visitExpr(expr.right);
+        b.endNegate();
+      }
+      case BANG -> {
+        b.beginLogicalNot();
+        visitExpr(expr.right);
+        b.endLogicalNot();
+      }
+      default -> throw UNSUPPORTED;
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitBinaryExpr(Expr.Binary expr) {
+    return emitBinary(expr.left, expr.op.type(), expr.right);
+  }
+
+  @Override
+  public Boolean visitLogicalExpr(Expr.Logical expr) {
+    return emitBinary(expr.left, expr.op.type(), expr.right);
+  }
+
+  private Boolean emitBinary(Expr left, TokenType op, Expr right) {
+    beginBinary(op);
+    visitExpr(left);
+    visitExpr(right);
+    endBinary(op);
+    return true;
+  }
+
+  private void beginBinary(TokenType op) {
+    switch (op) {
+      case PLUS -> b.beginAdd();
+      case MINUS -> b.beginSubtract();
+      case MULTIPLY -> b.beginMultiply();
+      case DIVIDE -> b.beginDivide();
+      case FLOOR -> b.beginFloorDivide();
+      case PERCENT -> b.beginModulo();
+      case POW -> b.beginPow();
+      case EQUAL_EQ -> b.beginEqual();
+      case BANG_EQ -> b.beginNotEqual();
+      case LESS -> b.beginLessThan();
+      case LESS_EQ -> b.beginLessThanOrEqual();
+      case GREATER -> b.beginGreaterThan();
+      case GREATER_EQ -> b.beginGreaterThanOrEqual();
+      case AND -> b.beginLogicalAnd();
+      case OR -> b.beginLogicalOr();
+      default -> throw UNSUPPORTED;
+    }
+  }
+
+  private void endBinary(TokenType op) {
+    switch (op) {
+      case PLUS -> b.endAdd();
+      case MINUS -> b.endSubtract();
+      case MULTIPLY -> b.endMultiply();
+      case DIVIDE -> b.endDivide();
+      case FLOOR -> b.endFloorDivide();
+      case PERCENT -> b.endModulo();
+      case POW -> b.endPow();
+      case EQUAL_EQ -> b.endEqual();
+      case BANG_EQ -> b.endNotEqual();
+      case LESS -> b.endLessThan();
+      case LESS_EQ -> b.endLessThanOrEqual();
+      case GREATER -> b.endGreaterThan();
+      case GREATER_EQ -> b.endGreaterThanOrEqual();
+      case AND -> b.endLogicalAnd();
+      case OR -> b.endLogicalOr();
+      default -> throw UNSUPPORTED;
+    }
+  }
+
+  @Override
+  public Boolean visitConditionExpr(Expr.Condition expr) {
+    b.beginConditional();
+    emitCondition(expr.expression);
+    visitExpr(expr.truth);
+    visitExpr(expr.falsy);
+    b.endConditional();
+    return true;
+  }
+
+  @Override
+  public Boolean visitAssignExpr(Expr.Assign expr) {
+    if (!(expr.expression instanceof Expr.Identifier identifier)) {
+      throw UNSUPPORTED;
+    }
+
+    return emitAssign(identifier, () -> visitExpr(expr.value));
+  }
+
+  @Override
+  public Boolean visitCompoundAssignExpr(Expr.CompoundAssign expr) {
+    TokenType op = expr.op.type();
+
+    if (expr.expression instanceof Expr.Identifier identifier) {
+      return emitAssign(identifier, () -> emitBinary(identifier, op, expr.value));
+    } else if (expr.expression instanceof Expr.Get get && !(get.expression instanceof Expr.Parent)) {
+      // the target is kept in a local so that it is evaluated once
+      b.beginBlock();
+      BytecodeLocal target = b.createLocal();
+      b.beginStoreLocal(target);
+      visitExpr(get.expression);
+      b.endStoreLocal();
+
+      b.beginSetProperty();
+      b.emitLoadLocal(target);
+      b.emitLoadConstant(get.name.token.literal());
+      beginBinary(op);
+      b.beginGetProperty();
+      b.emitLoadLocal(target);
+      b.emitLoadConstant(get.name.token.literal());
+      b.endGetProperty();
+      visitExpr(expr.value);
+      endBinary(op);
+      b.endSetProperty();
+      b.endBlock();
+      return true;
+    }
+
+    throw UNSUPPORTED;
+  }
+
+  private Boolean emitAssign(Expr.Identifier identifier, VisitCallback value) {
+    String name = identifier.token.literal();
+    Object member = findMember(name);
+
+    if (member instanceof Integer argument) {
+      b.beginStoreArgument();
+      b.emitLoadConstant(argument);
+      value.run();
+      b.endStoreArgument();
+    } else if (member instanceof Local local) {
+      if (local.constant()) {
+        throw BladeRuntimeError.create("Assignment to constant variable '", name, "'");
+      }
+
+      // assignments are expressions, so the stored value is loaded back
+      b.beginBlock();
+      b.beginStoreLocal(local.local());
+      value.run();
+      b.endStoreLocal();
+      b.emitLoadLocal(local.local());
+      b.endBlock();
+    } else {
+      b.beginWriteGlobal();
+      emitGlobalScope();
+      b.emitLoadConstant(name);
+      value.run();
+      b.endWriteGlobal();
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitCallExpr(Expr.Call expr) {
+    // method calls need the receiver and are left to the AST interpreter
+    if (!(expr.callee instanceof Expr.Identifier)) {
+      throw UNSUPPORTED;
+    }
+
+    b.beginCall();
+    visitExpr(expr.callee);
+    b.emitLoadConstant(BladeNil.SINGLETON);
+    for (Expr arg : expr.args) {
+      visitExpr(arg);
+    }
+    b.endCall();
+    return true;
+  }
+
+  @Override
+  public Boolean visitGetExpr(Expr.Get expr) {
+    if (expr.expression instanceof Expr.Parent) {
+      throw UNSUPPORTED;
+    }
+
+    b.beginGetProperty();
+    visitExpr(expr.expression);
+    b.emitLoadConstant(expr.name.token.literal());
+    b.endGetProperty();
+    return true;
+  }
+
+  @Override
+  public Boolean visitSetExpr(Expr.Set expr) {
+    b.beginSetProperty();
+    visitExpr(expr.expression);
+    b.emitLoadConstant(expr.name.token.literal());
+    visitExpr(expr.value);
+    b.endSetProperty();
+    return true;
+  }
+
+  @Override
+  public Boolean visitEchoStmt(Stmt.Echo stmt) {
+    b.beginEcho();
+    visitExpr(stmt.value);
+    b.endEcho();
+    return true;
+  }
+
+  @Override
+  public Boolean visitExpressionStmt(Stmt.Expression stmt) {
+    return visitExpr(stmt.expression);
+  }
+
+  @Override
+  public Boolean visitVarListStmt(Stmt.VarList varList) {
+    for (Stmt stmt : varList.declarations) {
+      visitStmt(stmt);
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitVarStmt(Stmt.Var stmt) {
+    String name = stmt.name.literal();
+    if (stmt.isConstant && stmt.value == null) {
+      throw BladeRuntimeError.create("Constant '", name, "' not initialized");
+    }
+
+    // the value is translated before the name is declared, as in the AST
+    BytecodeLocal local = b.createLocal();
+    b.beginStoreLocal(local);
+    if (stmt.value != null) {
+      visitExpr(stmt.value);
+    } else {
+      b.emitLoadConstant(BladeNil.SINGLETON);
+    }
+    b.endStoreLocal();
+
+    if (scopes.peek().putIfAbsent(name, new Local(local, stmt.isConstant)) != null) {
+      throw BladeRuntimeError.create("'", name, "' is already declared in this scope");
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitBlockStmt(Stmt.Block stmt) {
+    scopes.push(new HashMap<>());
+    b.beginBlock();
+    for (Stmt statement : stmt.body) {
+      visitStmt(statement);
+    }
+    b.endBlock();
+    scopes.pop();
+    return true;
+  }
+
+  @Override
+  public Boolean visitIfStmt(Stmt.If stmt) {
+    if (stmt.elseBranch == null) {
+      b.beginIfThen();
+      emitCondition(stmt.condition);
+      visitStmt(stmt.thenBranch);
+      b.endIfThen();
+    } else {
+      b.beginIfThenElse();
+      emitCondition(stmt.condition);
+      visitStmt(stmt.thenBranch);
+      visitStmt(stmt.elseBranch);
+      b.endIfThenElse();
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visitWhileStmt(Stmt.While stmt) {
+    emitLoop(null, stmt.condition, null, stmt.body);
+    return true;
+  }
+
+  @Override
+  public Boolean visitIterStmt(Stmt.Iter stmt) {
+    scopes.push(new HashMap<>());
+    emitLoop(stmt.declaration, stmt.condition, stmt.interation, stmt.body);
+    scopes.pop();
+    return true;
+  }
+
+  @Override
+  public Boolean visitBreakStmt(Stmt.Break stmt) {
+    if (breakLabels.isEmpty()) {
+      throw UNSUPPORTED;
+    }
+    b.emitBranch(breakLabels.peek());
+    return true;
+  }
+
+  @Override
+  public Boolean visitContinueStmt(Stmt.Continue stmt) {
+    if (continueLabels.isEmpty()) {
+      throw UNSUPPORTED;
+    }
+    b.emitBranch(continueLabels.peek());
+    return true;
+  }
+
+  @Override
+  public Boolean visitReturnStmt(Stmt.Return stmt) {
+    b.beginReturn();
+    if (stmt.value != null) {
+      visitExpr(stmt.value);
+    } else {
+      b.emitLoadConstant(BladeNil.SINGLETON);
+    }
+    b.endReturn();
+    return true;
+  }
+
+  /**
+   * Only forward branches exist in the bytecode, so <code>continue</code>
+   * jumps to a label at the end of the body and <code>break</code> to one
+   * after the loop.
+   */
+  private void emitLoop(Stmt declaration, Expr condition, Stmt.Expression iteration, Stmt body) {
+    b.beginBlock();
+    if (declaration != null) {
+      visitStmt(declaration);
+    }
+
+    BytecodeLabel breakLabel = b.createLabel();
+    b.beginWhile();
+    if (condition != null) {
+      emitCondition(condition);
+    } else {
+      b.emitLoadConstant(true);
+    }
+
+    b.beginBlock();
+    BytecodeLabel continueLabel = b.createLabel();
+    breakLabels.push(breakLabel);
+    continueLabels.push(continueLabel);
+    visitStmt(body);
+    continueLabels.pop();
+    breakLabels.pop();
+    b.emitLabel(continueLabel);
+    if (iteration != null) {
+      visitStmt(iteration);
+    }
+    b.endBlock();
+
+    b.endWhile();
+    b.emitLabel(breakLabel);
+    b.endBlock();
+  }
+
+  private void emitCondition(Expr condition) {
+    b.beginToBoolean();
+    visitExpr(condition);
+    b.endToBoolean();
+  }
+
+  private void emitGlobalScope() {
+    b.beginGlobalScope();
+    b.emitLoadConstant(moduleId);
+    b.endGlobalScope();
+  }
+
+  private Boolean emit(AST ast, VisitCallback callback) {
+    int start = source.getLineStartOffset(ast.startLine) + ast.startColumn;
+    int end = source.getLineStartOffset(ast.endLine) + ast.endColumn;
+
+    b.beginSourceSection(start, end - start + 1);
+    if (callback.run() == null) {
+      throw UNSUPPORTED;
+    }
+    b.endSourceSection();
+    return true;
+  }
+
+  private Object findMember(String name) {
+    for (Map<String, Object> scope : scopes) {
+      Object member = scope.get(name);
+      if (member != null) {
+        return member;
+      }
+    }
+
+    return null;
+  }
+
+  private record Local(BytecodeLocal local, boolean constant) {
+  }
+
+  interface VisitCallback {
+    Boolean run();
+  }
+
+  private static final class Unsupported extends RuntimeException {
+    Unsupported() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package org.blade.language.translator;
+
+import org.blade.language.parser.BaseVisitor;
+import org.blade.language.parser.ast.AST;
+import org.blade.language.parser.ast.Expr;
+import org.blade.language.parser.ast.Stmt;
+
+import java.util.List;
+
+/**
+ * Finds whether statements may assign a local variable. Declarations and
+ * loop variables of the same name count as writes, so the answer errs on
+ * the side of <code>true</code>. Nested functions and classes are skipped
+ * since their bodies cannot see the locals of the enclosing function.
+ */
+final class LocalWrites extends BaseVisitor<Boolean> {
+  private final String name;
+
+  private LocalWrites(String name) {
+    this.name = name;
+  }
+
+  static boolean isWritten(String name, AST node) {
+    return new LocalWrites(name).scan(node);
+  }
+
+  private boolean scan(AST node) {
+    if (node instanceof Expr expr) {
+      return expr.accept(this) == Boolean.TRUE;
+    } else if (node instanceof Stmt stmt) {
+      return stmt.accept(this) == Boolean.TRUE;
+    }
+    return false;
+  }
+
+  private boolean scan(AST... nodes) {
+    for (AST node : nodes) {
+      if (scan(node)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean scan(List<? extends AST> nodes) {
+    for (AST node : nodes) {
+      if (scan(node)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isTarget(Expr expr) {
+    return expr instanceof Expr.Identifier identifier && identifier.token.literal().equals(name);
+  }
+
+  @Override
+  public Boolean visitAssignExpr(Expr.Assign expr) {
+    return isTarget(expr.expression) || scan(expr.expression, expr.value);
+  }
+
+  @Override
+  public Boolean visitCompoundAssignExpr(Expr.CompoundAssign expr) {
+    return isTarget(expr.expression) || scan(expr.expression, expr.value);
+  }
+
+  @Override
+  public Boolean visitUnaryExpr(Expr.Unary expr) {
+    return scan(expr.right);
+  }
+
+  @Override
+  public Boolean visitBinaryExpr(Expr.Binary expr) {
+    return scan(expr.left, expr.right);
+  }
+
+  @Override
+  public Boolean visitLogicalExpr(Expr.Logical expr) {
+    return scan(expr.left, expr.right);
+  }
+
+  @Override
+  public Boolean visitRangeExpr(Expr.Range expr) {
+    return scan(expr.lower, expr.upper);
+  }
+
+  @Override
+  public Boolean visitGroupingExpr(Expr.Grouping expr) {
+    return scan(expr.expression);
+  }
+
+  @Override
+  public Boolean visitConditionExpr(Expr.Condition expr) {
+    return scan(expr.expression, expr.truth, expr.falsy);
+  }
+
+  @Override
+  public Boolean visitCallExpr(Expr.Call expr) {
+    return scan(expr.callee) || scan(expr.args);
+  }
+
+  @Override
+  public Boolean visitGetExpr(Expr.Get expr) {
+    return scan(expr.expression);
+  }
+
+  @Override
+  public Boolean visitSetExpr(Expr.Set expr) {
+    return scan(expr.expression, expr.value);
+  }
+
+  @Override
+  public Boolean visitIndexExpr(Expr.Index expr) {
+    return scan(expr.callee) || scan(expr.arguments);
+  }
+
+  @Override
+  public Boolean visitArrayExpr(Expr.Array expr) {
+    return scan(expr.items);
+  }
+
+  @Override
+  public Boolean visitDictExpr(Expr.Dict expr) {
+    return scan(expr.keys) || scan(expr.values);
+  }
+
+  @Override
+  public Boolean visitNewExpr(Expr.New expr) {
+    return scan(expr.expression) || scan(expr.arguments);
+  }
+
+  @Override
+  public Boolean visitEchoStmt(Stmt.Echo stmt) {
+    return scan(stmt.value);
+  }
+
+  @Override
+  public Boolean visitExpressionStmt(Stmt.Expression stmt) {
+    return scan(stmt.expression);
+  }
+
+  @Override
+  public Boolean visitIfStmt(Stmt.If stmt) {
+    return scan(stmt.condition, stmt.thenBranch, stmt.elseBranch);
+  }
+
+  @Override
+  public Boolean visitIterStmt(Stmt.Iter stmt) {
+    return scan(stmt.declaration, stmt.condition, stmt.interation, stmt.body);
+  }
+
+  @Override
+  public Boolean visitWhileStmt(Stmt.While stmt) {
+    return scan(stmt.condition, stmt.body);
+  }
+
+  @Override
+  public Boolean visitDoWhileStmt(Stmt.DoWhile stmt) {
+    return scan(stmt.body, stmt.condition);
+  }
+
+  @Override
+  public Boolean visitForStmt(Stmt.For stmt) {
+    for (Expr.Identifier variable : stmt.variables) {
+      if (isTarget(variable)) {
+        return true;
+      }
+    }
+    return scan(stmt.iterable, stmt.body);
+  }
+
+  @Override
+  public Boolean visitRaiseStmt(Stmt.Raise stmt) {
+    return scan(stmt.exception);
+  }
+
+  @Override
+  public Boolean visitReturnStmt(Stmt.Return stmt) {
+    return scan(stmt.value);
+  }
+
+  @Override
+  public Boolean visitAssertStmt(Stmt.Assert stmt) {
+    return scan(stmt.expression, stmt.message);
+  }
+
+  @Override
+  public Boolean visitUsingStmt(Stmt.Using stmt) {
+    return scan(stmt.expression) || scan(stmt.caseLabels) || scan(stmt.caseBodies) || scan(stmt.defaultCase);
+  }
+
+  @Override
+  public Boolean visitCatchStmt(Stmt.Catch stmt) {
+    return scan(stmt.body) || scan(stmt.clauses) || scan(stmt.finallyBody);
+  }
+
+  @Override
+  public Boolean visitCatchClauseStmt(Stmt.CatchClause stmt) {
+    return isTarget(stmt.name) || scan(stmt.body);
+  }
+
+  @Override
+  public Boolean visitBlockStmt(Stmt.Block stmt) {
+    return scan(stmt.body);
+  }
+
+  @Override
+  public Boolean visitAssignStmt(Stmt.Assign stmt) {
+    return isTarget(stmt.expression) || scan(stmt.expression, stmt.value);
+  }
+
+  @Override
+  public Boolean visitVarStmt(Stmt.Var stmt) {
+    return stmt.name.literal().equals(name) || scan(stmt.value);
+  }
+
+  @Override
+  public Boolean visitVarListStmt(Stmt.VarList stmt) {
+    return scan(stmt.declarations);
+  }
+}
@@ -2,6 +2,7 @@ package tools.blade;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -51,7 +52,8 @@ public class GenerateAst {
       "Parent             :",
       "Self               :",
       "Assign             : Expr expression, Expr value",
-      "Anonymous          : Stmt.Function function"
+      "Anonymous          : Stmt.Function function",
+      "CompoundAssign     : Expr expression, Token op, Expr value"
   );
 
   private static final List<String> STMT_DEFINITION = Arrays.asList(
@@ -69,12 +71,13 @@ public class GenerateAst {
       "Assert     : Expr expression, Expr message",
       "Using      : Expr expression, List<Expr> caseLabels, List<Stmt> caseBodies, Stmt defaultCase",
       "Import     : String path, List<Token> elements, boolean all",
-      "Catch      : Block body, Block catchBody, Block finallyBody, Expr.Identifier name",
+      "Catch      : Block body, List<CatchClause> clauses, Block finallyBody",
+      "CatchClause: Expr.Identifier type, Expr.Identifier name, Block body",
       "Block      : List<Stmt> body",
       "Assign     : Expr expression, Token type, Expr value",
       "Var        : Token name, Expr value, boolean isConstant",
-      "Function   : Token name, List<Expr.Identifier> parameters, Stmt.Block body, boolean isVariadic",
-      "Method     : Token name, List<Expr.Identifier> parameters, Stmt.Block body, boolean isVariadic, boolean isStatic",
+      "Function   : Token name, List<Expr.Identifier> parameters, FunctionBody body, boolean isVariadic",
+      "Method     : Token name, List<Expr.Identifier> parameters, FunctionBody body, boolean isVariadic, boolean isStatic",
       "Property   : Token name, Expr value, boolean isStatic, boolean isConstant",
       "Class      : Token name, Expr.Identifier superclass, List<Property> properties, List<Method> methods, List<Method> operators",
       "VarList    : List<Stmt> declarations"
@@ -89,19 +92,29 @@ public class GenerateAst {
     writer.println("// This file was generated by the tools.rem.GenerateAst");
     writer.println("package org.blade.language.parser.ast;");
     writer.println();
+    if (String.join("\n", types).contains("FunctionBody ")) {
+      writer.println("import org.blade.language.parser.FunctionBody;");
+    }
     writer.println("import org.blade.language.parser.Token;");
+    writer.println("import java.io.IOException;");
     writer.println("import java.util.List;");
     writer.println();
     writer.println("public abstract class " + baseName + " extends AST {");
 
+    // Changes whenever the definition changes so that serialized trees of
+    // an older shape are never read back.
+    writer.println("  public static final int SCHEMA = " + String.join("\n", types).hashCode() + ";");
+    writer.println();
+
     // The base accept method.
     writer.println("  public abstract<T> T accept(Visitor<T> visitor);");
 
     defineVisitor(writer, baseName, types);
+    defineReader(writer, baseName, types);
 
     // The AST classes
-    for (String type : types) {
-      String[] brokenType = type.split(":");
+    for (int i = 0; i < types.size(); i++) {
+      String[] brokenType = types.get(i).split(":");
 
       String className = brokenType[0].trim();
 
@@ -109,7 +122,7 @@ public class GenerateAst {
       if (brokenType.length > 1)
         fields = brokenType[1].trim();
 
-      defineType(writer, baseName, className, fields);
+      defineType(writer, baseName, className, fields, i + 1);
     }
 
     writer.println("}");
@@ -128,7 +141,76 @@ public class GenerateAst {
     writer.println("  }");
   }
 
-  private static void defineType(PrintWriter writer, String baseName, String className, String fieldsList) {
+  private static void defineReader(PrintWriter writer, String baseName, List<String> types) {
+    writer.println();
+    writer.println("  public static " + baseName + " read(AstInput in) throws IOException {");
+    writer.println("    int tag = in.readTag();");
+    writer.println("    if (tag == 0) {");
+    writer.println("      return null;");
+    writer.println("    }");
+    writer.println();
+    writer.println("    " + baseName + " node = switch (tag) {");
+    for (int i = 0; i < types.size(); i++) {
+      String[] brokenType = types.get(i).split(":");
+      String className = brokenType[0].trim();
+
+      List<String> arguments = new ArrayList<>();
+      if (brokenType.length > 1 && !brokenType[1].trim().isEmpty()) {
+        for (String field : brokenType[1].trim().split(", ")) {
+          arguments.add(readField(baseName, field.trim().split(" ")[0]));
+        }
+      }
+
+      writer.println("      case " + (i + 1) + " -> new " + className + "(" + String.join(", ", arguments) + ");");
+    }
+    writer.println("      default -> throw new IOException(\"invalid " + baseName + " tag \" + tag);");
+    writer.println("    };");
+    writer.println();
+    writer.println("    in.readPosition(node);");
+    writer.println("    return node;");
+    writer.println("  }");
+  }
+
+  private static String readField(String baseName, String type) {
+    return switch (type) {
+      case "boolean" -> "in.readBoolean()";
+      case "String" -> "in.readString()";
+      case "Token" -> "in.readToken()";
+      case "List<Token>" -> "in.readTokens()";
+      case "FunctionBody" -> "FunctionBody.of((Stmt.Block) Stmt.read(in))";
+      default -> {
+        if (type.startsWith("List<")) {
+          yield "in.readList(" + rootOf(baseName, type.substring(5, type.length() - 1)) + "::read)";
+        }
+
+        String root = rootOf(baseName, type);
+        yield type.equals(root) ? root + ".read(in)" : "(" + type + ") " + root + ".read(in)";
+      }
+    };
+  }
+
+  private static String rootOf(String baseName, String type) {
+    if (type.equals("Expr") || type.startsWith("Expr.")) {
+      return "Expr";
+    } else if (type.equals("Stmt") || type.startsWith("Stmt.")) {
+      return "Stmt";
+    }
+    return baseName;
+  }
+
+  private static String writeField(String type, String name) {
+    return switch (type) {
+      case "boolean" -> "out.writeBoolean(" + name + ");";
+      case "String" -> "out.writeString(" + name + ");";
+      case "Token" -> "out.writeToken(" + name + ");";
+      case "List<Token>" -> "out.writeTokens(" + name + ");";
+      // deferred bodies are parsed before they are written
+      case "FunctionBody" -> "out.writeNode(" + name + ".get());";
+      default -> type.startsWith("List<") ? "out.writeList(" + name + ");" : "out.writeNode(" + name + ");";
+    };
+  }
+
+  private static void defineType(PrintWriter writer, String baseName, String className, String fieldsList, int tag) {
     writer.println();
     writer.println("  public static class " + className + " extends " + baseName + " {");
 
@@ -161,6 +243,19 @@ public class GenerateAst {
     writer.println("      return visitor.visit" + className + baseName + "(this);");
     writer.println("    }");
 
+    // Serialization.
+    writer.println();
+    writer.println("    public void write(AstOutput out) throws IOException {");
+    writer.println("      out.writeTag(" + tag + ");");
+    if (fields != null) {
+      for (String field : fields) {
+        String[] parts = field.trim().split(" ");
+        writer.println("      " + writeField(parts[0], parts[1]));
+      }
+    }
+    writer.println("      out.writePosition(this);");
+    writer.println("    }");
+
     writer.println("  }");
 
     System.out.println(className + " AST class generated.");
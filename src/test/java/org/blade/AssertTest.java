@@ -0,0 +1,75 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AssertTest {
+  private Context context;
+
+  @Before
+  public void setup() {
+    context = Context.create();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void passing_assertions_do_not_evaluate_the_message() {
+    var result = context.eval("blade",
+      """
+        var count = 0
+        def note() {
+          count = count + 1
+          return 'never'
+        }
+        def f(n) {
+          assert n > 0, note()
+          return n * 2
+        }
+        f(2) + f(3) + count"""
+    );
+    assertEquals(10L, result.asLong());
+  }
+
+  @Test
+  public void failing_assertions_raise_with_the_message() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade",
+      """
+        def f(n) {
+          assert n > 0, 'n must be positive'
+          return n
+        }
+        f(-1)"""
+    ));
+    assertTrue(error.isGuestException());
+    assertTrue(error.getMessage().contains("n must be positive"));
+  }
+
+  @Test
+  public void disabled_assertions_are_dropped() {
+    try (Context disabled = Context.newBuilder("blade").option("blade.Assertions", "false").build()) {
+      var result = disabled.eval("blade",
+        """
+          var count = 0
+          def note() {
+            count = count + 1
+            return 'never'
+          }
+          def f(n) {
+            assert n > 0, note()
+            return n
+          }
+          f(-1) + count"""
+      );
+      assertEquals(-1L, result.asLong());
+    }
+  }
+}
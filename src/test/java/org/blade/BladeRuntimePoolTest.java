@@ -0,0 +1,71 @@
+package org.blade;
+
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class BladeRuntimePoolTest {
+  private static final Source SETUP = Source.create("blade", """
+    var calls = 0
+    def handle(n) {
+      calls = calls + 1
+      return n * 10 + calls
+    }
+    """);
+
+  @Test
+  public void leases_start_from_fresh_global_state() throws InterruptedException {
+    try (BladeRuntimePool pool = new BladeRuntimePool(SETUP, 2, "handle")) {
+      for (int i = 0; i < 5; i++) {
+        long result = pool.run(lease -> lease.entryPoint("handle").execute(4).asLong());
+        assertEquals(41L, result);
+      }
+    }
+  }
+
+  @Test
+  public void leases_share_one_engine() throws InterruptedException {
+    try (BladeRuntimePool pool = new BladeRuntimePool(SETUP, 1, "handle")) {
+      try (BladeRuntimePool.Lease first = pool.acquire()) {
+        assertSame(pool.getEngine(), first.getContext().getEngine());
+      }
+      try (BladeRuntimePool.Lease second = pool.acquire()) {
+        assertSame(pool.getEngine(), second.getContext().getEngine());
+      }
+    }
+  }
+
+  @Test
+  public void concurrent_requests_are_served_by_several_preparers() throws Exception {
+    try (
+      BladeRuntimePool pool = new BladeRuntimePool(Map.of(), SETUP, 4, 4, "handle");
+      ExecutorService requests = Executors.newFixedThreadPool(8)
+    ) {
+      List<Future<Long>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(requests.submit(() -> pool.run(lease -> lease.entryPoint("handle").execute(4).asLong())));
+      }
+      for (Future<Long> result : results) {
+        assertEquals(41L, (long) result.get());
+      }
+    }
+  }
+
+  @Test
+  public void a_pool_needs_a_preparer() {
+    assertThrows(IllegalArgumentException.class, () -> new BladeRuntimePool(Map.of(), SETUP, 1, 0, "handle"));
+  }
+
+  @Test
+  public void unknown_entry_points_are_rejected() {
+    assertThrows(IllegalArgumentException.class, () -> new BladeRuntimePool(SETUP, 1, "missing"));
+  }
+}
@@ -0,0 +1,88 @@
+package org.blade;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BladeServerTest {
+  private Path directory;
+  private Path socket;
+  private PrintStream stdout;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("blade-server");
+    socket = directory.resolve("run").resolve("server.sock");
+    Files.writeString(directory.resolve("hello.b"), """
+    echo 'hello from the server'
+    """);
+    Files.writeString(directory.resolve("fail.b"), """
+    raise new ValueError('bad input')
+    """);
+
+    Thread server = new Thread(() -> {
+      try {
+        BladeServer.serve(socket, Map.of());
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }, "blade-server-test");
+    server.setDaemon(true);
+    server.start();
+
+    for (int i = 0; i < 200 && !Files.exists(socket); i++) {
+      Thread.sleep(50);
+    }
+    assertTrue(Files.exists(socket));
+    stdout = System.out;
+  }
+
+  @After
+  public void tearDown() {
+    System.setOut(stdout);
+  }
+
+  private String run(String script, int expectedStatus) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+    try {
+      int status = BladeClient.run(socket, List.of(directory.resolve(script).toString()));
+      assertEquals(expectedStatus, status);
+    } finally {
+      System.setOut(stdout);
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test(timeout = 60000)
+  public void scripts_run_through_the_server() throws IOException {
+    assertEquals("hello from the server", run("hello.b", 0).trim());
+  }
+
+  @Test(timeout = 60000)
+  public void failing_scripts_report_their_status() throws IOException {
+    run("fail.b", 1);
+  }
+
+  @Test
+  public void the_socket_is_private_to_its_owner() throws IOException {
+    if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      return;
+    }
+    assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socket.getParent())));
+    assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socket)));
+  }
+}
@@ -0,0 +1,108 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BytecodeTest {
+  private Context context;
+
+  @Before
+  public void setup() {
+    context = Context.newBuilder("blade")
+      .allowExperimentalOptions(true)
+      .option("blade.Bytecode", "true")
+      .build();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void recursive_functions_run_as_bytecode() {
+    var result = context.eval("blade",
+      """
+        def fib(n) {
+          if n < 2 {
+            return 1
+          }
+          return fib(n - 1) + fib(n - 2)
+        }
+        fib(15)"""
+    );
+    assertEquals(987L, result.asLong());
+  }
+
+  @Test
+  public void loops_break_and_continue_in_bytecode() {
+    var result = context.eval("blade",
+      """
+        def f(n) {
+          var sum = 0
+          iter var i = 0; i < n; i++ {
+            if i % 2 == 0 {
+              continue
+            }
+            if i > 7 {
+              break
+            }
+            sum = sum + i
+          }
+          var j = 0
+          while j < 3 {
+            j = j + 1
+          }
+          return sum * 10 + j
+        }
+        f(100)"""
+    );
+    assertEquals(163L, result.asLong());
+  }
+
+  @Test
+  public void locals_arguments_and_globals_in_bytecode() {
+    var result = context.eval("blade",
+      """
+        var total = 1
+        def f(a, b) {
+          var c = a and b ? 2 : 3
+          b = c * 2.5
+          total = total + b
+          return total
+        }
+        f(true, false)"""
+    );
+    assertEquals(8.5, result.asDouble(), 0.0);
+  }
+
+  @Test
+  public void unsupported_bodies_fall_back_to_the_ast_interpreter() {
+    var result = context.eval("blade",
+      """
+        def f() {
+          var items = [1, 2, 3]
+          return items[1]
+        }
+        f()"""
+    );
+    assertEquals(2L, result.asLong());
+  }
+
+  @Test
+  public void bytecode_raises_the_same_errors() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade",
+      """
+        def f() {
+          return 1 - "a"
+        }
+        f()"""
+    ));
+    assertTrue(error.isGuestException());
+  }
+}
@@ -0,0 +1,85 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompoundAssignmentTest {
+  private Context context;
+
+  @Before
+  public void setup() {
+    context = Context.create();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void locals_and_globals_are_updated_in_place() {
+    var result = context.eval("blade",
+      """
+        var total = 1
+        def f(n) {
+          var sum = 0
+          iter var i = 0; i < n; i++ {
+            sum += i
+          }
+          sum *= 2
+          sum -= 1
+          total += sum
+          return total
+        }
+        f(10)"""
+    );
+    assertEquals(90L, result.asLong());
+  }
+
+  @Test
+  public void indexed_targets_are_evaluated_once() {
+    var result = context.eval("blade",
+      """
+        var calls = 0
+        var items = [1, 2, 3]
+        def list() {
+          calls = calls + 1
+          return items
+        }
+        def index() {
+          calls = calls + 1
+          return 1
+        }
+        list()[index()] += 10
+        items[2]++
+        calls * 100 + items[1] * 10 + items[2]"""
+    );
+    assertEquals(324L, result.asLong());
+  }
+
+  @Test
+  public void property_targets_are_evaluated_once() {
+    var result = context.eval("blade",
+      """
+        class Counter {
+          @new() {
+            self.count = 1
+          }
+        }
+        var calls = 0
+        const counter = new Counter()
+        def get() {
+          calls = calls + 1
+          return counter
+        }
+        get().count += 4
+        get().count--
+        counter.count * 10 + calls"""
+    );
+    assertEquals(42L, result.asLong());
+  }
+}
@@ -0,0 +1,109 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConstantFoldingTest {
+  private Context context;
+
+  @Before
+  public void setup() {
+    context = Context.create();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void folded_expressions_keep_their_runtime_results() {
+    var result = context.eval("blade",
+      """
+        def f() {
+          return [2 * 3 + 1, 7 / 2, -(4 - 6), 'a' + 'b', 1 < 2 and 3]
+        }
+        f()"""
+    );
+    assertEquals(7L, result.getArrayElement(0).asLong());
+    assertEquals(3.5, result.getArrayElement(1).asDouble(), 0.0);
+    assertEquals(2L, result.getArrayElement(2).asLong());
+    assertEquals("ab", result.getArrayElement(3).asString());
+    assertTrue(result.getArrayElement(4).asBoolean());
+  }
+
+  @Test
+  public void local_constants_are_propagated_and_shadowed() {
+    var result = context.eval("blade",
+      """
+        def f(n) {
+          const scale = 10
+          var total = n * scale
+          {
+            var scale = 2
+            total = total + scale
+          }
+          return total + scale
+        }
+        f(3)"""
+    );
+    assertEquals(42L, result.asLong());
+  }
+
+  @Test
+  public void dead_branches_are_removed() {
+    // `self` outside a class fails translation, so this only runs when
+    // the branches are removed before the function is translated
+    var result = context.eval("blade",
+      """
+        def f() {
+          var v = 1
+          if false {
+            v = self
+          } else {
+            v = 2
+          }
+          while 0 {
+            v = self
+          }
+          return v
+        }
+        f()"""
+    );
+    assertEquals(2L, result.asLong());
+  }
+
+  @Test
+  public void live_branches_are_translated() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade",
+      """
+        def f() {
+          var c = false
+          var v = 1
+          if c {
+            v = self
+          }
+          return v
+        }
+        f()"""
+    ));
+    assertTrue(error.getMessage().contains("self"));
+  }
+
+  @Test
+  public void failing_operations_still_fail_at_runtime() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade",
+      """
+        def f() {
+          return 1 - 'a'
+        }
+        f()"""
+    ));
+    assertTrue(error.isGuestException());
+  }
+}
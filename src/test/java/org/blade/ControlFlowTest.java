@@ -239,4 +239,118 @@ public class ControlFlowTest {
     var fibProgramValue = context.parse(fibProgram);
     assertEquals(6765, fibProgramValue.execute().asInt());
   }
+
+  @Test
+  public void counted_loops_step_in_both_directions() {
+    var result = context.eval("blade",
+      """
+        def f(n) {
+          var sum = 0
+          iter var i = 0; i < n; i++ {
+            if i == 2 {
+              continue
+            }
+            if i == 8 {
+              break
+            }
+            sum = sum + i
+          }
+          iter var j = n; j >= 0; j -= 3 {
+            sum = sum + j * 100
+          }
+          return sum
+        }
+        f(10)"""
+    );
+    assertEquals(2226L, result.asLong());
+  }
+
+  @Test
+  public void counted_loops_fall_back_when_values_are_not_integers() {
+    var result = context.eval("blade",
+      """
+        def f(start, limit) {
+          var count = 0
+          iter var i = start; i < limit; i++ {
+            count = count + 1
+          }
+          return count
+        }
+        f(0, 3) * 1000 + f(0, 2.5) * 100 + f(0.5, 3) * 10 + f(0, 3)"""
+    );
+    assertEquals(3333L, result.asLong());
+  }
+
+  @Test
+  public void loops_that_write_their_counter_are_not_counted() {
+    var result = context.eval("blade",
+      """
+        def f() {
+          var visited = 0
+          iter var i = 0; i < 10; i++ {
+            visited = visited + 1
+            i = i + 1
+          }
+          return visited
+        }
+        f()"""
+    );
+    assertEquals(5L, result.asLong());
+  }
+
+  @Test
+  public void using_dispatches_integer_and_string_labels() {
+    context.eval("blade",
+      """
+        def dense(n) {
+          using n {
+            when 1, 2 { return 1 }
+            when 3 { return 3 }
+            when 5 { return 5 }
+            default { return 9 }
+          }
+        }
+        def sparse(n) {
+          using n {
+            when 10 { return 1 }
+            when 100000 { return 2 }
+          }
+          return 0
+        }
+        def name(s) {
+          using s {
+            when 'add' { return 1 }
+            when 'sub', 'neg' { return 2 }
+            default { return 3 }
+          }
+        }"""
+    );
+
+    assertEquals(13599L, context.eval("blade", "dense(2) * 10000 + dense(3) * 1000 + dense(5) * 100 + dense(4) * 10 + dense('x')").asLong());
+    assertEquals(20L, context.eval("blade", "sparse(100000) * 10 + sparse(11)").asLong());
+    assertEquals(213L, context.eval("blade", "name('neg') * 100 + name('add') * 10 + name(7)").asLong());
+  }
+
+  @Test
+  public void using_compares_dynamic_labels_in_order() {
+    var result = context.eval("blade",
+      """
+        var calls = 0
+        def label(v) {
+          calls = calls + 1
+          return v
+        }
+        def f(n) {
+          var result = 0
+          using n {
+            when label(1) { result = 10 }
+            when label(2), 2 { result = 20 }
+            when label(3) { result = 30 }
+          }
+          return result
+        }
+        f(2) + calls"""
+    );
+    assertEquals(22L, result.asLong());
+  }
 }
@@ -0,0 +1,142 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IOTest {
+  private static final String TEXT = "héllo wörld ✓ 😀\nsecond line";
+
+  private Path directory;
+  private Context context;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("blade-io");
+    context = Context.newBuilder("blade").allowIO(IOAccess.ALL).build();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  private String path(String name) {
+    return directory.resolve(name).toString().replace('\\', '/');
+  }
+
+  @Test
+  public void reads_multi_byte_text() throws IOException {
+    Files.writeString(directory.resolve("text.txt"), TEXT, StandardCharsets.UTF_8);
+
+    var result = context.eval("blade", """
+      var file = io.open('%s')
+      var text = io.read(file)
+      io.close(file)
+      text""".formatted(path("text.txt")));
+    assertEquals(TEXT, result.asString());
+  }
+
+  @Test
+  public void reads_bytes_of_multi_byte_text() throws IOException {
+    Files.writeString(directory.resolve("text.txt"), TEXT, StandardCharsets.UTF_8);
+
+    var result = context.eval("blade", """
+      var file = io.open('%s')
+      var bytes = io.read_bytes(file)
+      io.close(file)
+      bytes.length""".formatted(path("text.txt")));
+    assertEquals(TEXT.getBytes(StandardCharsets.UTF_8).length, result.asInt());
+  }
+
+  @Test
+  public void reads_an_empty_file() throws IOException {
+    Files.createFile(directory.resolve("empty.txt"));
+
+    var result = context.eval("blade", """
+      var file = io.open('%s')
+      var text = io.read(file)
+      io.close(file)
+      text.length""".formatted(path("empty.txt")));
+    assertEquals(0, result.asInt());
+  }
+
+  @Test
+  public void reading_a_file_larger_than_an_array_is_an_error() throws IOException {
+    try (var file = new RandomAccessFile(directory.resolve("large.bin").toFile(), "rw")) {
+      // sparse, so no disk space is taken
+      file.setLength(3L * 1024 * 1024 * 1024);
+    }
+
+    try {
+      context.eval("blade", """
+        var file = io.open('%s')
+        io.read_bytes(file)""".formatted(path("large.bin")));
+      fail("expected PolyglotException to be thrown");
+    } catch (PolyglotException e) {
+      assertTrue(e.isGuestException());
+      assertTrue(e.getMessage(), e.getMessage().endsWith("is too large to read at once"));
+    }
+  }
+
+  @Test
+  public void reads_the_lines_of_a_file() throws IOException {
+    Files.writeString(directory.resolve("text.txt"), TEXT, StandardCharsets.UTF_8);
+
+    var result = context.eval("blade", """
+      var file = io.open('%s')
+      var lines = io.lines(file)
+      var text = ''
+      while lines.has_next() {
+        text = text + '[' + lines.next() + ']'
+      }
+      io.close(file)
+      text""".formatted(path("text.txt")));
+    assertEquals("[héllo wörld ✓ 😀][second line]", result.asString());
+  }
+
+  @Test
+  public void writes_multi_byte_text() throws IOException {
+    context.eval("blade", """
+      var file = io.open('%s', 'w')
+      io.write(file, 'héllo wörld ✓ 😀')
+      io.close(file)""".formatted(path("out.txt")));
+
+    assertEquals("héllo wörld ✓ 😀", Files.readString(directory.resolve("out.txt"), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void appends_to_a_file() throws IOException {
+    Files.writeString(directory.resolve("log.txt"), "héllo", StandardCharsets.UTF_8);
+
+    context.eval("blade", """
+      var file = io.open('%s', 'a')
+      io.write(file, ' wörld')
+      io.close(file)""".formatted(path("log.txt")));
+
+    assertEquals("héllo wörld", Files.readString(directory.resolve("log.txt"), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writes_an_empty_file() throws IOException {
+    context.eval("blade", """
+      var file = io.open('%s', 'w')
+      io.write(file, '')
+      io.close(file)""".formatted(path("empty.txt")));
+
+    assertEquals(0, Files.size(directory.resolve("empty.txt")));
+  }
+}
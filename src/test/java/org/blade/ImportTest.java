@@ -0,0 +1,124 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class ImportTest {
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("blade-import");
+    Files.createDirectories(directory.resolve("lib"));
+    Files.writeString(directory.resolve("lib/math.b"), """
+    def square(n) {
+        return n * n
+    }
+    def cube(n) {
+        return n * n * n
+    }
+    """);
+    Files.writeString(directory.resolve("counter.b"), """
+    var hits = 0
+    def hit() {
+        hits = hits + 1
+        return hits
+    }
+    """);
+  }
+
+  private int eval(Context context, String code) throws IOException {
+    File script = directory.resolve("main.b").toFile();
+    Files.writeString(script.toPath(), code);
+    return context.eval(Source.newBuilder("blade", script).build()).asInt();
+  }
+
+  private Context newContext(Engine engine) {
+    return Context.newBuilder("blade").engine(engine).allowIO(IOAccess.ALL).build();
+  }
+
+  @Test
+  public void test_import_module() throws IOException {
+    try (Context context = Context.newBuilder("blade").allowIO(IOAccess.ALL).build()) {
+      assertEquals(9, eval(context, """
+      import lib.math
+      math.square(3)"""));
+    }
+  }
+
+  @Test
+  public void test_import_selected_members() throws IOException {
+    try (Context context = Context.newBuilder("blade").allowIO(IOAccess.ALL).build()) {
+      assertEquals(24, eval(context, """
+      import lib.math { square, cube }
+      square(2) + cube(2) + square(2) + cube(2)"""));
+    }
+  }
+
+  @Test
+  public void test_import_all_members() throws IOException {
+    try (Context context = Context.newBuilder("blade").allowIO(IOAccess.ALL).build()) {
+      assertEquals(27, eval(context, """
+      import lib.math { * }
+      cube(3)"""));
+    }
+  }
+
+  @Test
+  public void test_module_is_evaluated_once_per_context() throws IOException {
+    try (Context context = Context.newBuilder("blade").allowIO(IOAccess.ALL).build()) {
+      assertEquals(2, eval(context, """
+      import counter
+      counter.hit()
+      import counter
+      counter.hit()"""));
+    }
+  }
+
+  @Test
+  public void test_shared_module_state_is_per_context() throws IOException {
+    try (Engine engine = Engine.create()) {
+      for (int i = 0; i < 2; i++) {
+        try (Context context = newContext(engine)) {
+          assertEquals(1, eval(context, """
+          import counter
+          counter.hit()"""));
+        }
+      }
+    }
+  }
+
+  @Test(timeout = 30000)
+  public void a_module_body_can_wait_for_its_threads() throws IOException {
+    Files.writeString(directory.resolve("spawner.b"), """
+    def write() {
+        var file = io.open('%s', 'w')
+        io.write(file, 'done')
+        io.close(file)
+        return 1
+    }
+    def spawn() {
+        return thread.join(thread.spawn(write)) + 1
+    }
+    var result = thread.join(thread.spawn(spawn))
+    """.formatted(directory.resolve("out.txt").toString().replace('\\', '/')));
+
+    try (Context context = Context.newBuilder("blade").allowIO(IOAccess.ALL).allowCreateThread(true).build()) {
+      assertEquals(2, eval(context, """
+      import spawner
+      spawner.result"""));
+    }
+    assertEquals("done", Files.readString(directory.resolve("out.txt")));
+  }
+}
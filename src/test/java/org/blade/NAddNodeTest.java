@@ -53,7 +53,7 @@ public class NAddNodeTest {
       var parseResult = parser.parse();
       assertEquals(1, parseResult.size());
 
-      var visitor = new BladeTranslator(parser, new BladeLanguage().builtinObjects);
+      var visitor = new BladeTranslator(source, new BladeLanguage().builtinObjects);
       var callTarget = new NBlockRootNode(null,
         new NBlockStmtNode(List.of(parseResult.getFirst().accept(visitor))),
         "@.script"
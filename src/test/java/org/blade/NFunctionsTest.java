@@ -1,9 +1,31 @@
 package org.blade;
 
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.source.Source;
+import org.blade.language.BladeLanguage;
+import org.blade.language.nodes.functions.NBuiltinCallExprNode;
+import org.blade.language.nodes.functions.NFunctionRootNode;
+import org.blade.language.parser.Lexer;
+import org.blade.language.parser.Parser;
+import org.blade.language.parser.ast.Stmt;
+import org.blade.language.runtime.BladeContext;
+import org.blade.language.runtime.FunctionObject;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
 import org.junit.Test;
 
+import java.io.OutputStream;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 public class NFunctionsTest {
@@ -47,4 +69,185 @@ public class NFunctionsTest {
 
     assertEquals(15L, result.asLong());
   }
+
+  @Test
+  public void an_unused_function_body_is_never_parsed() {
+    var source = Source.newBuilder(BladeLanguage.ID, """
+      def used() {
+        return 2
+      }
+      def unused() {
+        return 3
+      }
+      used()""", "<script>").build();
+
+    List<Stmt> statements = new Parser(new Lexer(source), true).parse();
+    Stmt.Function used = (Stmt.Function) statements.get(0);
+    Stmt.Function unused = (Stmt.Function) statements.get(1);
+    assertFalse(used.body.isParsed());
+    assertFalse(unused.body.isParsed());
+
+    assertEquals(1, used.body.get().body.size());
+    assertFalse(unused.body.isParsed());
+  }
+
+  @Test
+  public void a_syntax_error_in_a_body_is_raised_on_its_first_call() {
+    var context = Context.create();
+    var result = context.eval("blade", """
+      def inner() { return 2 }
+      def broken() {
+        return )
+      }
+      inner() * 3""");
+    assertEquals(6L, result.asLong());
+
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade", "broken()"));
+    assertTrue(error.isSyntaxError());
+  }
+
+  @Test
+  public void unbalanced_braces_and_invalid_tokens_in_a_body_are_raised_at_once() {
+    var context = Context.create();
+
+    var unbalanced = assertThrows(PolyglotException.class, () -> context.eval("blade", """
+      def unused() {
+        if true {
+          return 1
+      }
+      """));
+    assertTrue(unbalanced.isSyntaxError());
+
+    var token = assertThrows(PolyglotException.class, () -> context.eval("blade", """
+      def unused() {
+        return 'unterminated
+      }
+      1"""));
+    assertTrue(token.isSyntaxError());
+  }
+
+  @Test
+  public void a_call_site_of_a_builtin_can_call_other_functions() {
+    var context = Context.create();
+    var result = context.eval("blade",
+      """
+        def twice(n) {
+          return n * 2
+        }
+        def apply(f, n) {
+          return f(n)
+        }
+        var total = 0
+        iter var i = 0; i < 3; i = i + 1 {
+          total = total + apply(abs, -1) + apply(abs, -1.5)
+        }
+        total + apply(twice, 10)"""
+    );
+
+    assertEquals(27.5, result.asDouble(), 0);
+  }
+
+  @Test
+  public void a_call_of_a_builtin_global_embeds_the_builtin() {
+    var context = Context.create();
+    var result = context.eval("blade", """
+      def positive(n) {
+        return abs(n)
+      }
+      def apply(f, n) {
+        return f(n)
+      }
+      positive(-2) + positive(-3.5) + apply(abs, -1)""");
+
+    assertEquals(6.5, result.asDouble(), 0);
+    assertEquals(1, builtinCalls(context, "positive").size());
+    // a callee that is not a global may be any function
+    assertEquals(0, builtinCalls(context, "apply").size());
+  }
+
+  @Test
+  public void rebinding_a_builtin_restores_its_call_sites() {
+    var context = Context.create();
+    context.eval("blade", """
+      def positive(n) {
+        return abs(n)
+      }
+      def digits(n) {
+        return hex(n)
+      }
+      def twice(n) {
+        return n * 2
+      }
+      positive(-2)
+      digits(255)""");
+    assertEquals(1, builtinCalls(context, "positive").size());
+    assertEquals(1, builtinCalls(context, "digits").size());
+
+    assertEquals(-4L, context.eval("blade", "abs = twice\npositive(-2)").asLong());
+    assertEquals(0, builtinCalls(context, "positive").size());
+
+    assertEquals(255L, context.eval("blade", "def hex(n) { return n }\ndigits(255)").asLong());
+    assertEquals(0, builtinCalls(context, "digits").size());
+  }
+
+  @Test
+  public void variadic_and_mismatched_calls_of_a_builtin_are_dispatched() {
+    var context = Context.newBuilder("blade").out(OutputStream.nullOutputStream()).build();
+    var result = context.eval("blade", """
+      def show(a, b) {
+        return print(a, b)
+      }
+      def none() {
+        return abs()
+      }
+      show(1, 'a')
+      show('b', [2])
+      none()""");
+
+    assertTrue(Double.isNaN(result.asDouble()));
+    assertEquals(0, builtinCalls(context, "show").size());
+    assertEquals(0, builtinCalls(context, "none").size());
+    assertTrue(context.eval("blade", "show(3, nil)").isNull());
+  }
+
+  @Test
+  public void a_method_call_site_of_a_builtin_takes_values_of_any_type() {
+    var context = Context.create();
+    context.eval("blade", """
+      def fill(items, value) {
+        items.append(value)
+        return items
+      }
+      var numbers = fill(fill([], 1), 2.5)
+      var words = fill(fill([], 'a'), 'b')
+      var lists = fill([], [1, 2])""");
+
+    assertEquals(3.5, context.eval("blade", "numbers[0] + numbers[1]").asDouble(), 0);
+    assertEquals("ab", context.eval("blade", "words[0] + words[1]").asString());
+    assertEquals(2L, context.eval("blade", "lists[0].length").asLong());
+    assertEquals(1, directCalls(context, "fill").size());
+  }
+
+  private static List<NBuiltinCallExprNode> builtinCalls(Context context, String function) {
+    return findNodes(context, function, NBuiltinCallExprNode.class);
+  }
+
+  // the direct calls of builtins, which each call site makes through its own node
+  private static List<DirectCallNode> directCalls(Context context, String function) {
+    return findNodes(context, function, DirectCallNode.class).stream()
+      .filter(node -> NFunctionRootNode.of(node.getCallTarget()) != null)
+      .toList();
+  }
+
+  private static <T extends Node> List<T> findNodes(Context context, String function, Class<T> type) {
+    context.enter();
+    try {
+      DynamicObject globalScope = BladeContext.get(null).globalScope;
+      FunctionObject value = (FunctionObject) DynamicObjectLibrary.getUncached().getOrDefault(globalScope, function, null);
+      RootNode root = ((RootCallTarget) value.getCallTarget()).getRootNode();
+      return NodeUtil.findAllNodeInstances(root, type);
+    } finally {
+      context.leave();
+    }
+  }
 }
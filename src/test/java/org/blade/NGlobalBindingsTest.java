@@ -1,6 +1,9 @@
 package org.blade;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.junit.Test;
 
@@ -28,4 +31,34 @@ public class NGlobalBindingsTest {
     Value b = globalBindings.getMember("b");
     assertEquals(5, b.asInt());
   }
+
+  @Test
+  public void a_declaration_evaluated_again_is_an_error() {
+    var engine = Engine.create();
+    var source = Source.create("blade", "var a = 1");
+
+    try (var context = Context.newBuilder("blade").engine(engine).build()) {
+      context.eval(source);
+      try {
+        context.eval(source);
+        fail("expected PolyglotException to be thrown");
+      } catch (PolyglotException e) {
+        assertTrue(e.isGuestException());
+        assertEquals("'a' already declared in this scope", e.getMessage());
+      }
+    }
+
+    // the same declaration is new to another context of the engine
+    try (var context = Context.newBuilder("blade").engine(engine).build()) {
+      context.eval(source);
+      assertEquals(1, context.getBindings("blade").getMember("a").asInt());
+    }
+  }
+
+  @Test
+  public void a_declaration_may_replace_a_builtin() {
+    var context = Context.create();
+    context.eval("blade", "var abs = 3");
+    assertEquals(3, context.getBindings("blade").getMember("abs").asInt());
+  }
 }
@@ -0,0 +1,101 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ParseCacheTest {
+  private Path directory;
+  private Path cache;
+  private Source script;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("blade-parse-cache");
+    cache = directory.resolve("cache");
+
+    Path file = directory.resolve("main.b");
+    Files.writeString(file, """
+    class Point {
+        @new(x, y) {
+            self.x = x
+            self.y = y
+        }
+        sum() {
+            return self.x + self.y
+        }
+    }
+    def total(n) {
+        var result = 0
+        iter var i = 0; i < n; i = i + 1 {
+            if i % 2 == 0 {
+                result = result + new Point(i, 1).sum()
+            } else {
+                result = result - 1
+            }
+        }
+        return result
+    }
+    total(10)""");
+    script = Source.newBuilder("blade", file.toFile()).build();
+  }
+
+  private int eval() {
+    try (Context context = Context.newBuilder("blade")
+      .allowIO(IOAccess.ALL)
+      .option("blade.ParseCache", cache.toString())
+      .build()) {
+      return context.eval(script).asInt();
+    }
+  }
+
+  private List<Path> entries() throws IOException {
+    try (Stream<Path> files = Files.list(cache)) {
+      return files.toList();
+    }
+  }
+
+  @Test
+  public void test_cached_tree_evaluates_like_parsed_tree() throws IOException {
+    assertEquals(20, eval());
+    assertEquals(1, entries().size());
+
+    assertEquals(20, eval());
+    assertEquals(1, entries().size());
+  }
+
+  @Test
+  public void test_corrupt_entry_is_reparsed() throws IOException {
+    assertEquals(20, eval());
+    Files.write(entries().getFirst(), new byte[]{1, 2, 3});
+
+    assertEquals(20, eval());
+  }
+
+  @Test
+  public void test_entry_of_another_version_is_reparsed() throws IOException {
+    assertEquals(20, eval());
+    Path entry = entries().getFirst();
+    byte[] original = Files.readAllBytes(entry);
+
+    // the first character of the version follows the four header ints and
+    // the length of the version
+    byte[] stale = original.clone();
+    stale[18] = (byte) (stale[18] == 'x' ? 'y' : 'x');
+    Files.write(entry, stale);
+
+    assertEquals(20, eval());
+    assertArrayEquals(original, Files.readAllBytes(entry));
+  }
+}
@@ -0,0 +1,60 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class PreloadTest {
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("blade-preload");
+    Files.writeString(directory.resolve("std.b"), """
+    const ANSWER = 42
+    def twice(n) {
+        return n * 2
+    }
+    """);
+    Files.writeString(directory.resolve("helper.b"), """
+    def answer() {
+        return twice(ANSWER)
+    }
+    """);
+  }
+
+  private Context newContext() {
+    return Context.newBuilder("blade")
+      .allowExperimentalOptions(true)
+      .allowIO(IOAccess.ALL)
+      .option("blade.Preload", directory.resolve("std.b").toString())
+      .build();
+  }
+
+  @Test
+  public void preloaded_definitions_are_global() {
+    try (Context context = newContext()) {
+      assertEquals(84L, context.eval("blade", "twice(ANSWER)").asLong());
+    }
+  }
+
+  @Test
+  public void modules_see_preloaded_definitions() throws IOException {
+    try (Context context = newContext()) {
+      File script = directory.resolve("main.b").toFile();
+      Files.writeString(script.toPath(), """
+      import helper
+      helper.answer()""");
+      assertEquals(84L, context.eval(Source.newBuilder("blade", script).build()).asLong());
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SharedEngineTest {
+  private static final Source COUNTER = Source.create("blade", """
+    var n = 0
+    def inc() {
+      n = n + 1
+      return n
+    }
+    inc()
+    inc()""");
+
+  @Test
+  public void call_sites_call_the_function_they_are_given() {
+    try (Context context = Context.create()) {
+      var result = context.eval("blade",
+        """
+          def a() {
+            return 1
+          }
+          def b() {
+            return 2
+          }
+          def apply(f) {
+            return f()
+          }
+          apply(a) * 10 + apply(b)"""
+      );
+      assertEquals(12L, result.asLong());
+    }
+  }
+
+  @Test
+  public void contexts_of_one_engine_do_not_share_state() {
+    try (Engine engine = Engine.create("blade")) {
+      for (int i = 0; i < 3; i++) {
+        try (Context context = Context.newBuilder("blade").engine(engine).build()) {
+          assertEquals(2L, context.eval(COUNTER).asLong());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void contexts_of_one_engine_can_be_open_together() {
+    try (
+      Engine engine = Engine.create("blade");
+      Context first = Context.newBuilder("blade").engine(engine).build();
+      Context second = Context.newBuilder("blade").engine(engine).build()
+    ) {
+      assertEquals(2L, first.eval(COUNTER).asLong());
+      assertEquals(2L, second.eval(COUNTER).asLong());
+      assertEquals(3L, first.eval("blade", "inc()").asLong());
+      assertEquals(3L, second.eval("blade", "inc()").asLong());
+    }
+  }
+
+  @Test
+  public void builtins_are_callable_in_every_context_of_an_engine() {
+    Source source = Source.create("blade", """
+      var list = [1, 2]
+      list.append(abs(-3))
+      var error = new TypeError('bad')
+      list.length * 10 + 'abc'.index_of('c') + error.message.length""");
+
+    try (Engine engine = Engine.create("blade")) {
+      for (int i = 0; i < 2; i++) {
+        try (Context context = Context.newBuilder("blade").engine(engine).build()) {
+          assertEquals(35L, context.eval(source).asLong());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ThreadTest {
+  private Context context;
+
+  @Before
+  public void setup() {
+    context = Context.newBuilder("blade").allowCreateThread(true).build();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void threads_return_their_result_when_joined() {
+    var result = context.eval("blade",
+      """
+        def work() {
+          var sum = 0
+          iter var i = 0; i < 1000; i++ {
+            sum += i
+          }
+          return sum
+        }
+        var a = thread.spawn(work)
+        var b = thread.spawn(work)
+        thread.join(a) + thread.join(b)"""
+    );
+    assertEquals(999000L, result.asLong());
+  }
+
+  @Test
+  public void atomics_and_locks_are_shared_between_threads() {
+    var result = context.eval("blade",
+      """
+        var counter = thread.atomic(0)
+        var lock = thread.lock()
+        var total = 0
+        var items = []
+        def work() {
+          iter var i = 0; i < 500; i++ {
+            thread.add(counter, 1)
+            thread.acquire(lock)
+            total = total + 1
+            thread.release(lock)
+            items.append(i)
+          }
+        }
+        var threads = [thread.spawn(work), thread.spawn(work), thread.spawn(work), thread.spawn(work)]
+        iter var i = 0; i < 4; i++ {
+          thread.join(threads[i])
+        }
+        thread.load(counter) + total + items.length"""
+    );
+    assertEquals(6000L, result.asLong());
+  }
+
+  @Test
+  public void writes_are_not_lost_to_concurrent_appends() {
+    var result = context.eval("blade",
+      """
+        var items = []
+        iter var i = 0; i < 100; i++ {
+          items.append(0)
+        }
+        def append() {
+          iter var i = 0; i < 5000; i++ {
+            items.append(-1)
+          }
+        }
+        def write() {
+          iter var round = 0; round < 50; round++ {
+            iter var i = 0; i < 100; i++ {
+              items[i] += 1
+            }
+          }
+        }
+        var a = thread.spawn(append)
+        var b = thread.spawn(write)
+        thread.join(a)
+        thread.join(b)
+        items"""
+    );
+
+    assertEquals(5100L, result.getArraySize());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(50L, result.getArrayElement(i).asLong());
+    }
+    for (int i = 100; i < 5100; i++) {
+      assertEquals(-1L, result.getArrayElement(i).asLong());
+    }
+  }
+
+  @Test
+  public void errors_raised_in_a_thread_are_raised_by_join() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade",
+      """
+        def work() {
+          raise new Error('failed in thread')
+        }
+        thread.join(thread.spawn(work))"""
+    ));
+    assertTrue(error.isGuestException());
+    assertTrue(error.getMessage().contains("failed in thread"));
+  }
+
+  @Test
+  public void every_join_raises_the_error_of_a_thread() {
+    context.eval("blade",
+      """
+        def work() {
+          raise new Error('failed in thread')
+        }
+        var failed = thread.spawn(work)"""
+    );
+
+    var first = assertThrows(PolyglotException.class, () -> context.eval("blade", "thread.join(failed)"));
+    var second = assertThrows(PolyglotException.class, () -> context.eval("blade", "thread.join(failed)"));
+    assertNotSame(first, second);
+    assertTrue(first.getMessage().contains("failed in thread"));
+    assertTrue(second.getMessage().contains("failed in thread"));
+  }
+
+  @Test(timeout = 30000)
+  public void a_blocked_thread_does_not_keep_a_cancelled_context_open() throws InterruptedException {
+    Context blocked = Context.newBuilder("blade").allowCreateThread(true).build();
+    blocked.eval("blade",
+      """
+        var channel = worker.channel(1)
+        def wait() {
+          return worker.receive(channel)
+        }
+        thread.spawn(wait)"""
+    );
+
+    // closing waits for the thread, which never ends by itself
+    Thread closer = new Thread(blocked::close);
+    closer.start();
+    closer.join(500);
+    assertTrue(closer.isAlive());
+
+    blocked.close(true);
+    closer.join(20000);
+    assertFalse(closer.isAlive());
+  }
+
+  @Test
+  public void spawning_requires_thread_creation_to_be_allowed() {
+    try (Context restricted = Context.create()) {
+      var error = assertThrows(PolyglotException.class, () -> restricted.eval("blade",
+        """
+          def work() { return 1 }
+          thread.spawn(work)"""
+      ));
+      assertTrue(error.isGuestException());
+    }
+  }
+}
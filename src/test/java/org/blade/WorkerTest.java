@@ -0,0 +1,141 @@
+package org.blade;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class WorkerTest {
+  private Path directory;
+  private Context context;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("blade-worker");
+    Files.writeString(directory.resolve("square.b"), """
+    var channels = worker.channels()
+    var jobs = channels[0]
+    var results = channels[1]
+    var job = worker.receive(jobs)
+    while job != nil {
+        worker.send(results, [job[0], job[1] * job[1]])
+        job = worker.receive(jobs)
+    }
+    """);
+    Files.writeString(directory.resolve("fail.b"), """
+    raise new ValueError('bad input')
+    """);
+
+    context = Context.newBuilder("blade").allowIO(IOAccess.ALL).allowCreateThread(true).build();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  private String path(String name) {
+    return directory.resolve(name).toString().replace('\\', '/');
+  }
+
+  @Test
+  public void workers_exchange_copies_through_channels() {
+    var result = context.eval("blade", """
+      var jobs = worker.channel(8)
+      var results = worker.channel(8)
+      var workers = [worker.start('%1$s', [jobs, results]), worker.start('%1$s', [jobs, results])]
+      iter var i = 1; i <= 10; i++ {
+        worker.send(jobs, [i, i])
+      }
+      worker.close(jobs)
+      var total = 0
+      iter var i = 0; i < 10; i++ {
+        total += worker.receive(results)[1]
+      }
+      worker.join(workers[0])
+      worker.join(workers[1])
+      total""".formatted(path("square.b")));
+    assertEquals(385L, result.asLong());
+  }
+
+  @Test(timeout = 10000)
+  public void closing_a_full_channel_does_not_block() {
+    var result = context.eval("blade", """
+      var channel = worker.channel(1)
+      worker.send(channel, 1)
+      worker.close(channel)
+      [worker.receive(channel), worker.receive(channel)]""");
+    assertEquals(1L, result.getArrayElement(0).asLong());
+    assertTrue(result.getArrayElement(1).isNull());
+  }
+
+  @Test(timeout = 10000)
+  public void every_receiver_of_a_closed_channel_returns_nil() {
+    var result = context.eval("blade", """
+      var channel = worker.channel(2)
+      def take() {
+        return worker.receive(channel)
+      }
+      var threads = [thread.spawn(take), thread.spawn(take), thread.spawn(take)]
+      worker.close(channel)
+      [thread.join(threads[0]), thread.join(threads[1]), thread.join(threads[2]), worker.receive(channel)]""");
+    for (int i = 0; i < 4; i++) {
+      assertTrue(result.getArrayElement(i).isNull());
+    }
+  }
+
+  @Test
+  public void sending_to_a_closed_channel_fails() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade", """
+      var channel = worker.channel(1)
+      worker.close(channel)
+      worker.send(channel, 1)"""));
+    assertTrue(error.getMessage().contains("closed channel"));
+  }
+
+  @Test
+  public void only_plain_values_can_be_sent() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade", """
+      def f() {
+        return 1
+      }
+      worker.send(worker.channel(1), f)"""));
+    assertTrue(error.isGuestException());
+  }
+
+  @Test
+  public void cyclic_lists_cannot_be_sent() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade", """
+      var list = [1]
+      list.append([list])
+      worker.send(worker.channel(1), list)"""));
+    assertTrue(error.isGuestException());
+    assertTrue(error.getMessage().contains("contains itself"));
+  }
+
+  @Test
+  public void a_list_nested_twice_is_sent_twice() {
+    var result = context.eval("blade", """
+      var inner = [1, 2]
+      var channel = worker.channel(1)
+      worker.send(channel, [inner, inner])
+      var copy = worker.receive(channel)
+      copy[0][1] + copy[1][1]""");
+    assertEquals(4L, result.asLong());
+  }
+
+  @Test
+  public void worker_errors_are_raised_by_join() {
+    var error = assertThrows(PolyglotException.class, () -> context.eval("blade", """
+      worker.join(worker.start('%s', nil))""".formatted(path("fail.b"))));
+    assertTrue(error.getMessage().contains("bad input"));
+  }
+}
@@ -0,0 +1,27 @@
+var b = bytes(8)
+b.write_int32(0, 258)
+echo b.read_int32(0)
+echo b[2]
+echo b[3]
+
+b.write_int32(4, -2, true)
+echo b.read_int32(4, true)
+echo b.read_uint8(4)
+
+var tail = b.slice(4)
+echo tail.length
+echo tail.read_int32(0, true)
+tail[0] = 1
+echo b[4]
+
+echo bytes('hé').length
+echo b
+
+b[1] = 255
+echo b[1]
+try {
+  b[0] = 300
+} catch ValueError as e {
+  echo e.message
+}
+echo b[0]
@@ -0,0 +1,8 @@
+echo io
+
+try {
+  io.open('tests/io-sandbox.b')
+  echo 'opened'
+} catch Error as e {
+  echo 'file access denied'
+}
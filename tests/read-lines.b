@@ -0,0 +1,6 @@
+var lines = read_lines()
+while lines.has_next() {
+  echo lines.next()
+}
+echo lines.has_next()
+echo lines.next()
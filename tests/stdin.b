@@ -0,0 +1,4 @@
+echo readline()
+echo readline()
+echo read_all()
+echo readline()
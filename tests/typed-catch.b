@@ -0,0 +1,33 @@
+class NotFoundError < ValueError {}
+
+def find(key) {
+  raise new NotFoundError('no such key: ' + key)
+}
+
+try {
+  find('name')
+} catch TypeError as e {
+  echo 'type error'
+} catch ValueError as e {
+  echo 'value error: ' + e.message
+}
+
+try {
+  try {
+    raise new TypeError('bad type')
+  } catch ValueError as e {
+    echo 'not reached'
+  } finally {
+    echo 'inner finally'
+  }
+} catch Error as e {
+  echo e.message
+}
+
+try {
+  raise new ArgumentError('bad argument')
+} catch TypeError as e {
+  echo 'not reached'
+} catch e {
+  echo e.message
+}